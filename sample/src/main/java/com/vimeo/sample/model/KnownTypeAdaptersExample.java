@@ -5,6 +5,9 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.DoubleList;
+import com.vimeo.stag.IntList;
+import com.vimeo.stag.LongList;
 import com.vimeo.stag.UseStag;
 
 
@@ -22,4 +25,13 @@ public class KnownTypeAdaptersExample {
 
     @SerializedName("jsonPrimitive")
     public JsonPrimitive mJsonPrimitive;
+
+    @SerializedName("intList")
+    public IntList mIntList;
+
+    @SerializedName("longList")
+    public LongList mLongList;
+
+    @SerializedName("doubleList")
+    public DoubleList mDoubleList;
 }
@@ -0,0 +1,31 @@
+package com.vimeo.sample.model;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.LazyValue;
+import com.vimeo.stag.UseStag;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model whose fields, except the name, are
+ * only decoded when they are accessed.
+ */
+@UseStag
+public class LazyValueExample {
+
+    @SerializedName("name")
+    public String mName;
+
+    @SerializedName("user")
+    public LazyValue<User> mUser;
+
+    @SerializedName("videos")
+    public LazyValue<List<Video>> mVideos;
+
+    @SerializedName("metadata")
+    public LazyValue<Map<String, Object>> mMetadata;
+
+    @SerializedName("count")
+    public LazyValue<Integer> mCount;
+}
@@ -0,0 +1,41 @@
+package com.vimeo.sample.model;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+/**
+ * Model whose JSON names exercise the matching of the
+ * names read: names of different lengths, names of the
+ * same length that only differ by some characters, and
+ * alternate names.
+ */
+@UseStag
+public class NameMatcherExample {
+
+    @SerializedName("a")
+    public int mA;
+
+    @SerializedName("b")
+    public int mB;
+
+    @SerializedName("ab")
+    public int mAb;
+
+    @SerializedName("abc")
+    public int mAbc;
+
+    @SerializedName("abd")
+    public int mAbd;
+
+    @SerializedName("bbc")
+    public int mBbc;
+
+    @SerializedName("acb")
+    public int mAcb;
+
+    @SerializedName(value = "name", alternate = {"n", "full_name", "nama"})
+    public String mName;
+
+    @SerializedName(value = "identifier", alternate = {"id"})
+    public long mIdentifier;
+}
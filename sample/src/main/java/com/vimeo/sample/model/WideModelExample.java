@@ -0,0 +1,1117 @@
+package com.vimeo.sample.model;
+
+import com.google.gson.annotations.SerializedName;
+import com.vimeo.stag.UseStag;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Model with so many fields that its type adapter reads,
+ * matches the names of and checks the non null fields in
+ * groups, each handled by a helper method of its own.
+ */
+@UseStag
+public class WideModelExample {
+
+    @SerializedName("field_0")
+    public int mField0;
+
+    @NotNull
+    @SerializedName("field_1")
+    public String mField1;
+
+    @SerializedName("field_2")
+    public long mField2;
+
+    @NotNull
+    @SerializedName("field_3")
+    public Boolean mField3;
+
+    @NotNull
+    @SerializedName("field_4")
+    public Double mField4;
+
+    @NotNull
+    @SerializedName("field_5")
+    public List<String> mField5;
+
+    @SerializedName("field_6")
+    public int mField6;
+
+    @NotNull
+    @SerializedName(value = "field_7", alternate = {"alternate_field_7"})
+    public String mField7;
+
+    @SerializedName("field_8")
+    public long mField8;
+
+    @NotNull
+    @SerializedName("field_9")
+    public Boolean mField9;
+
+    @NotNull
+    @SerializedName("field_10")
+    public Double mField10;
+
+    @NotNull
+    @SerializedName("field_11")
+    public List<String> mField11;
+
+    @SerializedName("field_12")
+    public int mField12;
+
+    @NotNull
+    @SerializedName("field_13")
+    public String mField13;
+
+    @SerializedName("field_14")
+    public long mField14;
+
+    @NotNull
+    @SerializedName("field_15")
+    public Boolean mField15;
+
+    @NotNull
+    @SerializedName("field_16")
+    public Double mField16;
+
+    @NotNull
+    @SerializedName(value = "field_17", alternate = {"alternate_field_17"})
+    public List<String> mField17;
+
+    @SerializedName("field_18")
+    public int mField18;
+
+    @NotNull
+    @SerializedName("field_19")
+    public String mField19;
+
+    @SerializedName("field_20")
+    public long mField20;
+
+    @NotNull
+    @SerializedName("field_21")
+    public Boolean mField21;
+
+    @NotNull
+    @SerializedName("field_22")
+    public Double mField22;
+
+    @NotNull
+    @SerializedName("field_23")
+    public List<String> mField23;
+
+    @SerializedName("field_24")
+    public int mField24;
+
+    @NotNull
+    @SerializedName("field_25")
+    public String mField25;
+
+    @SerializedName("field_26")
+    public long mField26;
+
+    @NotNull
+    @SerializedName(value = "field_27", alternate = {"alternate_field_27"})
+    public Boolean mField27;
+
+    @NotNull
+    @SerializedName("field_28")
+    public Double mField28;
+
+    @NotNull
+    @SerializedName("field_29")
+    public List<String> mField29;
+
+    @SerializedName("field_30")
+    public int mField30;
+
+    @NotNull
+    @SerializedName("field_31")
+    public String mField31;
+
+    @SerializedName("field_32")
+    public long mField32;
+
+    @NotNull
+    @SerializedName("field_33")
+    public Boolean mField33;
+
+    @NotNull
+    @SerializedName("field_34")
+    public Double mField34;
+
+    @NotNull
+    @SerializedName("field_35")
+    public List<String> mField35;
+
+    @SerializedName("field_36")
+    public int mField36;
+
+    @NotNull
+    @SerializedName(value = "field_37", alternate = {"alternate_field_37"})
+    public String mField37;
+
+    @SerializedName("field_38")
+    public long mField38;
+
+    @NotNull
+    @SerializedName("field_39")
+    public Boolean mField39;
+
+    @NotNull
+    @SerializedName("field_40")
+    public Double mField40;
+
+    @NotNull
+    @SerializedName("field_41")
+    public List<String> mField41;
+
+    @SerializedName("field_42")
+    public int mField42;
+
+    @NotNull
+    @SerializedName("field_43")
+    public String mField43;
+
+    @SerializedName("field_44")
+    public long mField44;
+
+    @NotNull
+    @SerializedName("field_45")
+    public Boolean mField45;
+
+    @NotNull
+    @SerializedName("field_46")
+    public Double mField46;
+
+    @NotNull
+    @SerializedName(value = "field_47", alternate = {"alternate_field_47"})
+    public List<String> mField47;
+
+    @SerializedName("field_48")
+    public int mField48;
+
+    @NotNull
+    @SerializedName("field_49")
+    public String mField49;
+
+    @SerializedName("field_50")
+    public long mField50;
+
+    @NotNull
+    @SerializedName("field_51")
+    public Boolean mField51;
+
+    @NotNull
+    @SerializedName("field_52")
+    public Double mField52;
+
+    @NotNull
+    @SerializedName("field_53")
+    public List<String> mField53;
+
+    @SerializedName("field_54")
+    public int mField54;
+
+    @NotNull
+    @SerializedName("field_55")
+    public String mField55;
+
+    @SerializedName("field_56")
+    public long mField56;
+
+    @NotNull
+    @SerializedName(value = "field_57", alternate = {"alternate_field_57"})
+    public Boolean mField57;
+
+    @NotNull
+    @SerializedName("field_58")
+    public Double mField58;
+
+    @NotNull
+    @SerializedName("field_59")
+    public List<String> mField59;
+
+    @SerializedName("field_60")
+    public int mField60;
+
+    @NotNull
+    @SerializedName("field_61")
+    public String mField61;
+
+    @SerializedName("field_62")
+    public long mField62;
+
+    @NotNull
+    @SerializedName("field_63")
+    public Boolean mField63;
+
+    @NotNull
+    @SerializedName("field_64")
+    public Double mField64;
+
+    @NotNull
+    @SerializedName("field_65")
+    public List<String> mField65;
+
+    @SerializedName("field_66")
+    public int mField66;
+
+    @NotNull
+    @SerializedName(value = "field_67", alternate = {"alternate_field_67"})
+    public String mField67;
+
+    @SerializedName("field_68")
+    public long mField68;
+
+    @NotNull
+    @SerializedName("field_69")
+    public Boolean mField69;
+
+    @NotNull
+    @SerializedName("field_70")
+    public Double mField70;
+
+    @NotNull
+    @SerializedName("field_71")
+    public List<String> mField71;
+
+    @SerializedName("field_72")
+    public int mField72;
+
+    @NotNull
+    @SerializedName("field_73")
+    public String mField73;
+
+    @SerializedName("field_74")
+    public long mField74;
+
+    @NotNull
+    @SerializedName("field_75")
+    public Boolean mField75;
+
+    @NotNull
+    @SerializedName("field_76")
+    public Double mField76;
+
+    @NotNull
+    @SerializedName(value = "field_77", alternate = {"alternate_field_77"})
+    public List<String> mField77;
+
+    @SerializedName("field_78")
+    public int mField78;
+
+    @NotNull
+    @SerializedName("field_79")
+    public String mField79;
+
+    @SerializedName("field_80")
+    public long mField80;
+
+    @NotNull
+    @SerializedName("field_81")
+    public Boolean mField81;
+
+    @NotNull
+    @SerializedName("field_82")
+    public Double mField82;
+
+    @NotNull
+    @SerializedName("field_83")
+    public List<String> mField83;
+
+    @SerializedName("field_84")
+    public int mField84;
+
+    @NotNull
+    @SerializedName("field_85")
+    public String mField85;
+
+    @SerializedName("field_86")
+    public long mField86;
+
+    @NotNull
+    @SerializedName(value = "field_87", alternate = {"alternate_field_87"})
+    public Boolean mField87;
+
+    @NotNull
+    @SerializedName("field_88")
+    public Double mField88;
+
+    @NotNull
+    @SerializedName("field_89")
+    public List<String> mField89;
+
+    @SerializedName("field_90")
+    public int mField90;
+
+    @NotNull
+    @SerializedName("field_91")
+    public String mField91;
+
+    @SerializedName("field_92")
+    public long mField92;
+
+    @NotNull
+    @SerializedName("field_93")
+    public Boolean mField93;
+
+    @NotNull
+    @SerializedName("field_94")
+    public Double mField94;
+
+    @NotNull
+    @SerializedName("field_95")
+    public List<String> mField95;
+
+    @SerializedName("field_96")
+    public int mField96;
+
+    @NotNull
+    @SerializedName(value = "field_97", alternate = {"alternate_field_97"})
+    public String mField97;
+
+    @SerializedName("field_98")
+    public long mField98;
+
+    @NotNull
+    @SerializedName("field_99")
+    public Boolean mField99;
+
+    @NotNull
+    @SerializedName("field_100")
+    public Double mField100;
+
+    @NotNull
+    @SerializedName("field_101")
+    public List<String> mField101;
+
+    @SerializedName("field_102")
+    public int mField102;
+
+    @NotNull
+    @SerializedName("field_103")
+    public String mField103;
+
+    @SerializedName("field_104")
+    public long mField104;
+
+    @NotNull
+    @SerializedName("field_105")
+    public Boolean mField105;
+
+    @NotNull
+    @SerializedName("field_106")
+    public Double mField106;
+
+    @NotNull
+    @SerializedName(value = "field_107", alternate = {"alternate_field_107"})
+    public List<String> mField107;
+
+    @SerializedName("field_108")
+    public int mField108;
+
+    @NotNull
+    @SerializedName("field_109")
+    public String mField109;
+
+    @SerializedName("field_110")
+    public long mField110;
+
+    @NotNull
+    @SerializedName("field_111")
+    public Boolean mField111;
+
+    @NotNull
+    @SerializedName("field_112")
+    public Double mField112;
+
+    @NotNull
+    @SerializedName("field_113")
+    public List<String> mField113;
+
+    @SerializedName("field_114")
+    public int mField114;
+
+    @NotNull
+    @SerializedName("field_115")
+    public String mField115;
+
+    @SerializedName("field_116")
+    public long mField116;
+
+    @NotNull
+    @SerializedName(value = "field_117", alternate = {"alternate_field_117"})
+    public Boolean mField117;
+
+    @NotNull
+    @SerializedName("field_118")
+    public Double mField118;
+
+    @NotNull
+    @SerializedName("field_119")
+    public List<String> mField119;
+
+    @SerializedName("field_120")
+    public int mField120;
+
+    @NotNull
+    @SerializedName("field_121")
+    public String mField121;
+
+    @SerializedName("field_122")
+    public long mField122;
+
+    @NotNull
+    @SerializedName("field_123")
+    public Boolean mField123;
+
+    @NotNull
+    @SerializedName("field_124")
+    public Double mField124;
+
+    @NotNull
+    @SerializedName("field_125")
+    public List<String> mField125;
+
+    @SerializedName("field_126")
+    public int mField126;
+
+    @NotNull
+    @SerializedName(value = "field_127", alternate = {"alternate_field_127"})
+    public String mField127;
+
+    @SerializedName("field_128")
+    public long mField128;
+
+    @NotNull
+    @SerializedName("field_129")
+    public Boolean mField129;
+
+    @NotNull
+    @SerializedName("field_130")
+    public Double mField130;
+
+    @NotNull
+    @SerializedName("field_131")
+    public List<String> mField131;
+
+    @SerializedName("field_132")
+    public int mField132;
+
+    @NotNull
+    @SerializedName("field_133")
+    public String mField133;
+
+    @SerializedName("field_134")
+    public long mField134;
+
+    @NotNull
+    @SerializedName("field_135")
+    public Boolean mField135;
+
+    @NotNull
+    @SerializedName("field_136")
+    public Double mField136;
+
+    @NotNull
+    @SerializedName(value = "field_137", alternate = {"alternate_field_137"})
+    public List<String> mField137;
+
+    @SerializedName("field_138")
+    public int mField138;
+
+    @NotNull
+    @SerializedName("field_139")
+    public String mField139;
+
+    @SerializedName("field_140")
+    public long mField140;
+
+    @NotNull
+    @SerializedName("field_141")
+    public Boolean mField141;
+
+    @NotNull
+    @SerializedName("field_142")
+    public Double mField142;
+
+    @NotNull
+    @SerializedName("field_143")
+    public List<String> mField143;
+
+    @SerializedName("field_144")
+    public int mField144;
+
+    @NotNull
+    @SerializedName("field_145")
+    public String mField145;
+
+    @SerializedName("field_146")
+    public long mField146;
+
+    @NotNull
+    @SerializedName(value = "field_147", alternate = {"alternate_field_147"})
+    public Boolean mField147;
+
+    @NotNull
+    @SerializedName("field_148")
+    public Double mField148;
+
+    @NotNull
+    @SerializedName("field_149")
+    public List<String> mField149;
+
+    @SerializedName("field_150")
+    public int mField150;
+
+    @NotNull
+    @SerializedName("field_151")
+    public String mField151;
+
+    @SerializedName("field_152")
+    public long mField152;
+
+    @NotNull
+    @SerializedName("field_153")
+    public Boolean mField153;
+
+    @NotNull
+    @SerializedName("field_154")
+    public Double mField154;
+
+    @NotNull
+    @SerializedName("field_155")
+    public List<String> mField155;
+
+    @SerializedName("field_156")
+    public int mField156;
+
+    @NotNull
+    @SerializedName(value = "field_157", alternate = {"alternate_field_157"})
+    public String mField157;
+
+    @SerializedName("field_158")
+    public long mField158;
+
+    @NotNull
+    @SerializedName("field_159")
+    public Boolean mField159;
+
+    @NotNull
+    @SerializedName("field_160")
+    public Double mField160;
+
+    @NotNull
+    @SerializedName("field_161")
+    public List<String> mField161;
+
+    @SerializedName("field_162")
+    public int mField162;
+
+    @NotNull
+    @SerializedName("field_163")
+    public String mField163;
+
+    @SerializedName("field_164")
+    public long mField164;
+
+    @NotNull
+    @SerializedName("field_165")
+    public Boolean mField165;
+
+    @NotNull
+    @SerializedName("field_166")
+    public Double mField166;
+
+    @NotNull
+    @SerializedName(value = "field_167", alternate = {"alternate_field_167"})
+    public List<String> mField167;
+
+    @SerializedName("field_168")
+    public int mField168;
+
+    @NotNull
+    @SerializedName("field_169")
+    public String mField169;
+
+    @SerializedName("field_170")
+    public long mField170;
+
+    @NotNull
+    @SerializedName("field_171")
+    public Boolean mField171;
+
+    @NotNull
+    @SerializedName("field_172")
+    public Double mField172;
+
+    @NotNull
+    @SerializedName("field_173")
+    public List<String> mField173;
+
+    @SerializedName("field_174")
+    public int mField174;
+
+    @NotNull
+    @SerializedName("field_175")
+    public String mField175;
+
+    @SerializedName("field_176")
+    public long mField176;
+
+    @NotNull
+    @SerializedName(value = "field_177", alternate = {"alternate_field_177"})
+    public Boolean mField177;
+
+    @NotNull
+    @SerializedName("field_178")
+    public Double mField178;
+
+    @NotNull
+    @SerializedName("field_179")
+    public List<String> mField179;
+
+    @SerializedName("field_180")
+    public int mField180;
+
+    @NotNull
+    @SerializedName("field_181")
+    public String mField181;
+
+    @SerializedName("field_182")
+    public long mField182;
+
+    @NotNull
+    @SerializedName("field_183")
+    public Boolean mField183;
+
+    @NotNull
+    @SerializedName("field_184")
+    public Double mField184;
+
+    @NotNull
+    @SerializedName("field_185")
+    public List<String> mField185;
+
+    @SerializedName("field_186")
+    public int mField186;
+
+    @NotNull
+    @SerializedName(value = "field_187", alternate = {"alternate_field_187"})
+    public String mField187;
+
+    @SerializedName("field_188")
+    public long mField188;
+
+    @NotNull
+    @SerializedName("field_189")
+    public Boolean mField189;
+
+    @NotNull
+    @SerializedName("field_190")
+    public Double mField190;
+
+    @NotNull
+    @SerializedName("field_191")
+    public List<String> mField191;
+
+    @SerializedName("field_192")
+    public int mField192;
+
+    @NotNull
+    @SerializedName("field_193")
+    public String mField193;
+
+    @SerializedName("field_194")
+    public long mField194;
+
+    @NotNull
+    @SerializedName("field_195")
+    public Boolean mField195;
+
+    @NotNull
+    @SerializedName("field_196")
+    public Double mField196;
+
+    @NotNull
+    @SerializedName(value = "field_197", alternate = {"alternate_field_197"})
+    public List<String> mField197;
+
+    @SerializedName("field_198")
+    public int mField198;
+
+    @NotNull
+    @SerializedName("field_199")
+    public String mField199;
+
+    @SerializedName("field_200")
+    public long mField200;
+
+    @NotNull
+    @SerializedName("field_201")
+    public Boolean mField201;
+
+    @NotNull
+    @SerializedName("field_202")
+    public Double mField202;
+
+    @NotNull
+    @SerializedName("field_203")
+    public List<String> mField203;
+
+    @SerializedName("field_204")
+    public int mField204;
+
+    @NotNull
+    @SerializedName("field_205")
+    public String mField205;
+
+    @SerializedName("field_206")
+    public long mField206;
+
+    @NotNull
+    @SerializedName(value = "field_207", alternate = {"alternate_field_207"})
+    public Boolean mField207;
+
+    @NotNull
+    @SerializedName("field_208")
+    public Double mField208;
+
+    @NotNull
+    @SerializedName("field_209")
+    public List<String> mField209;
+
+    @SerializedName("field_210")
+    public int mField210;
+
+    @NotNull
+    @SerializedName("field_211")
+    public String mField211;
+
+    @SerializedName("field_212")
+    public long mField212;
+
+    @NotNull
+    @SerializedName("field_213")
+    public Boolean mField213;
+
+    @NotNull
+    @SerializedName("field_214")
+    public Double mField214;
+
+    @NotNull
+    @SerializedName("field_215")
+    public List<String> mField215;
+
+    @SerializedName("field_216")
+    public int mField216;
+
+    @NotNull
+    @SerializedName(value = "field_217", alternate = {"alternate_field_217"})
+    public String mField217;
+
+    @SerializedName("field_218")
+    public long mField218;
+
+    @NotNull
+    @SerializedName("field_219")
+    public Boolean mField219;
+
+    @NotNull
+    @SerializedName("field_220")
+    public Double mField220;
+
+    @NotNull
+    @SerializedName("field_221")
+    public List<String> mField221;
+
+    @SerializedName("field_222")
+    public int mField222;
+
+    @NotNull
+    @SerializedName("field_223")
+    public String mField223;
+
+    @SerializedName("field_224")
+    public long mField224;
+
+    @NotNull
+    @SerializedName("field_225")
+    public Boolean mField225;
+
+    @NotNull
+    @SerializedName("field_226")
+    public Double mField226;
+
+    @NotNull
+    @SerializedName(value = "field_227", alternate = {"alternate_field_227"})
+    public List<String> mField227;
+
+    @SerializedName("field_228")
+    public int mField228;
+
+    @NotNull
+    @SerializedName("field_229")
+    public String mField229;
+
+    @SerializedName("field_230")
+    public long mField230;
+
+    @NotNull
+    @SerializedName("field_231")
+    public Boolean mField231;
+
+    @NotNull
+    @SerializedName("field_232")
+    public Double mField232;
+
+    @NotNull
+    @SerializedName("field_233")
+    public List<String> mField233;
+
+    @SerializedName("field_234")
+    public int mField234;
+
+    @NotNull
+    @SerializedName("field_235")
+    public String mField235;
+
+    @SerializedName("field_236")
+    public long mField236;
+
+    @NotNull
+    @SerializedName(value = "field_237", alternate = {"alternate_field_237"})
+    public Boolean mField237;
+
+    @NotNull
+    @SerializedName("field_238")
+    public Double mField238;
+
+    @NotNull
+    @SerializedName("field_239")
+    public List<String> mField239;
+
+    @SerializedName("field_240")
+    public int mField240;
+
+    @NotNull
+    @SerializedName("field_241")
+    public String mField241;
+
+    @SerializedName("field_242")
+    public long mField242;
+
+    @NotNull
+    @SerializedName("field_243")
+    public Boolean mField243;
+
+    @NotNull
+    @SerializedName("field_244")
+    public Double mField244;
+
+    @NotNull
+    @SerializedName("field_245")
+    public List<String> mField245;
+
+    @SerializedName("field_246")
+    public int mField246;
+
+    @NotNull
+    @SerializedName(value = "field_247", alternate = {"alternate_field_247"})
+    public String mField247;
+
+    @SerializedName("field_248")
+    public long mField248;
+
+    @NotNull
+    @SerializedName("field_249")
+    public Boolean mField249;
+
+    @NotNull
+    @SerializedName("field_250")
+    public Double mField250;
+
+    @NotNull
+    @SerializedName("field_251")
+    public List<String> mField251;
+
+    @SerializedName("field_252")
+    public int mField252;
+
+    @NotNull
+    @SerializedName("field_253")
+    public String mField253;
+
+    @SerializedName("field_254")
+    public long mField254;
+
+    @NotNull
+    @SerializedName("field_255")
+    public Boolean mField255;
+
+    @NotNull
+    @SerializedName("field_256")
+    public Double mField256;
+
+    @NotNull
+    @SerializedName(value = "field_257", alternate = {"alternate_field_257"})
+    public List<String> mField257;
+
+    @SerializedName("field_258")
+    public int mField258;
+
+    @NotNull
+    @SerializedName("field_259")
+    public String mField259;
+
+    @SerializedName("field_260")
+    public long mField260;
+
+    @NotNull
+    @SerializedName("field_261")
+    public Boolean mField261;
+
+    @NotNull
+    @SerializedName("field_262")
+    public Double mField262;
+
+    @NotNull
+    @SerializedName("field_263")
+    public List<String> mField263;
+
+    @SerializedName("field_264")
+    public int mField264;
+
+    @NotNull
+    @SerializedName("field_265")
+    public String mField265;
+
+    @SerializedName("field_266")
+    public long mField266;
+
+    @NotNull
+    @SerializedName(value = "field_267", alternate = {"alternate_field_267"})
+    public Boolean mField267;
+
+    @NotNull
+    @SerializedName("field_268")
+    public Double mField268;
+
+    @NotNull
+    @SerializedName("field_269")
+    public List<String> mField269;
+
+    @SerializedName("field_270")
+    public int mField270;
+
+    @NotNull
+    @SerializedName("field_271")
+    public String mField271;
+
+    @SerializedName("field_272")
+    public long mField272;
+
+    @NotNull
+    @SerializedName("field_273")
+    public Boolean mField273;
+
+    @NotNull
+    @SerializedName("field_274")
+    public Double mField274;
+
+    @NotNull
+    @SerializedName("field_275")
+    public List<String> mField275;
+
+    @SerializedName("field_276")
+    public int mField276;
+
+    @NotNull
+    @SerializedName(value = "field_277", alternate = {"alternate_field_277"})
+    public String mField277;
+
+    @SerializedName("field_278")
+    public long mField278;
+
+    @NotNull
+    @SerializedName("field_279")
+    public Boolean mField279;
+
+    @NotNull
+    @SerializedName("field_280")
+    public Double mField280;
+
+    @NotNull
+    @SerializedName("field_281")
+    public List<String> mField281;
+
+    @SerializedName("field_282")
+    public int mField282;
+
+    @NotNull
+    @SerializedName("field_283")
+    public String mField283;
+
+    @SerializedName("field_284")
+    public long mField284;
+
+    @NotNull
+    @SerializedName("field_285")
+    public Boolean mField285;
+
+    @NotNull
+    @SerializedName("field_286")
+    public Double mField286;
+
+    @NotNull
+    @SerializedName(value = "field_287", alternate = {"alternate_field_287"})
+    public List<String> mField287;
+
+    @SerializedName("field_288")
+    public int mField288;
+
+    @NotNull
+    @SerializedName("field_289")
+    public String mField289;
+
+    @SerializedName("field_290")
+    public long mField290;
+
+    @NotNull
+    @SerializedName("field_291")
+    public Boolean mField291;
+
+    @NotNull
+    @SerializedName("field_292")
+    public Double mField292;
+
+    @NotNull
+    @SerializedName("field_293")
+    public List<String> mField293;
+
+    @SerializedName("field_294")
+    public int mField294;
+
+    @NotNull
+    @SerializedName("field_295")
+    public String mField295;
+
+    @SerializedName("field_296")
+    public long mField296;
+
+    @NotNull
+    @SerializedName(value = "field_297", alternate = {"alternate_field_297"})
+    public Boolean mField297;
+
+    @NotNull
+    @SerializedName("field_298")
+    public Double mField298;
+
+    @NotNull
+    @SerializedName("field_299")
+    public List<String> mField299;
+}
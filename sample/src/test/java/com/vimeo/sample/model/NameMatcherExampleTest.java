@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.sample.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.vimeo.sample.stag.generated.Stag;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NameMatcherExampleTest {
+
+    private static final Gson STAG_GSON = new GsonBuilder().registerTypeAdapterFactory(new Stag.Factory()).create();
+    private static final Gson REFLECTIVE_GSON = new Gson();
+
+    @Test
+    public void testNames_areMatchedAcrossLengths() throws Exception {
+        NameMatcherExample example = read("{\"a\":1,\"b\":2,\"ab\":3,\"abc\":4,\"abd\":5,\"bbc\":6,\"acb\":7," +
+                                          "\"name\":\"name\",\"identifier\":8}");
+
+        assertEquals(1, example.mA);
+        assertEquals(2, example.mB);
+        assertEquals(3, example.mAb);
+        assertEquals(4, example.mAbc);
+        assertEquals(5, example.mAbd);
+        assertEquals(6, example.mBbc);
+        assertEquals(7, example.mAcb);
+        assertEquals("name", example.mName);
+        assertEquals(8, example.mIdentifier);
+    }
+
+    @Test
+    public void testNamesOfSameLength_areMatchedToTheirOwnFields() throws Exception {
+        NameMatcherExample example = read("{\"acb\":1,\"bbc\":2,\"abd\":3,\"abc\":4}");
+
+        assertEquals(4, example.mAbc);
+        assertEquals(3, example.mAbd);
+        assertEquals(2, example.mBbc);
+        assertEquals(1, example.mAcb);
+        assertEquals(0, example.mA);
+        assertEquals(0, example.mAb);
+    }
+
+    @Test
+    public void testAlternateNames_areMatched() throws Exception {
+        assertEquals("n", read("{\"n\":\"n\"}").mName);
+        assertEquals("full_name", read("{\"full_name\":\"full_name\"}").mName);
+        assertEquals("nama", read("{\"nama\":\"nama\"}").mName);
+        assertEquals(9, read("{\"id\":9}").mIdentifier);
+
+        // Like Gson, the last of the names of a field that is read wins
+        assertEquals("n", read("{\"name\":\"name\",\"n\":\"n\"}").mName);
+        assertEquals("name", read("{\"n\":\"n\",\"name\":\"name\"}").mName);
+    }
+
+    @Test
+    public void testUnknownNames_areSkipped() throws Exception {
+        NameMatcherExample example = read("{\"\":1,\"c\":2,\"aa\":3,\"abe\":4,\"abcd\":5,\"nam\":\"nam\"," +
+                                          "\"names\":\"names\",\"Name\":\"Name\",\"identifiers\":6," +
+                                          "\"x\":{\"a\":[1,2]},\"a\":10}");
+
+        assertEquals(10, example.mA);
+        assertEquals(0, example.mB);
+        assertEquals(0, example.mAb);
+        assertEquals(0, example.mAbc);
+        assertEquals(0, example.mAbd);
+        assertNull(example.mName);
+        assertEquals(0, example.mIdentifier);
+    }
+
+    @Test
+    public void testRoundTrip_matchesReflectiveGson() throws Exception {
+        String json = "{\"a\":1,\"b\":2,\"ab\":3,\"abc\":4,\"abd\":5,\"bbc\":6,\"acb\":7,\"full_name\":\"name\"," +
+                      "\"id\":8,\"abe\":9}";
+
+        NameMatcherExample stagExample = read(json);
+        NameMatcherExample reflectiveExample = REFLECTIVE_GSON.fromJson(json, NameMatcherExample.class);
+
+        assertEquals(REFLECTIVE_GSON.toJson(reflectiveExample), REFLECTIVE_GSON.toJson(stagExample));
+        assertEquals(REFLECTIVE_GSON.toJson(reflectiveExample), STAG_GSON.toJson(reflectiveExample));
+    }
+
+    private static NameMatcherExample read(String json) {
+        return STAG_GSON.fromJson(json, NameMatcherExample.class);
+    }
+}
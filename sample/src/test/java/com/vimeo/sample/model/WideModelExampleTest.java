@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.sample.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.vimeo.sample.stag.generated.Stag;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * The type adapter of {@link WideModelExample} reads its fields, matches their names and checks
+ * the non null ones in helper methods, so every field is checked here to catch a helper which
+ * handles the wrong range of fields.
+ */
+public class WideModelExampleTest {
+
+    private static final Gson STAG_GSON = new GsonBuilder().registerTypeAdapterFactory(new Stag.Factory()).create();
+    private static final Gson REFLECTIVE_GSON = new Gson();
+
+    @Test
+    public void testRoundTrip_keepsEveryField() throws Exception {
+        WideModelExample example = newExample();
+        JsonObject expected = newExampleJson();
+
+        String json = STAG_GSON.toJson(example);
+        assertEquals(expected, REFLECTIVE_GSON.fromJson(json, JsonObject.class));
+
+        WideModelExample read = STAG_GSON.fromJson(json, WideModelExample.class);
+        assertEquals(expected, REFLECTIVE_GSON.toJsonTree(read));
+    }
+
+    @Test
+    public void testAlternateNames_areMatched() throws Exception {
+        JsonObject expected = newExampleJson();
+        JsonObject json = newExampleJson();
+        for (int idx = 7; idx < getFields().length; idx += 10) {
+            json.add("alternate_field_" + idx, json.remove("field_" + idx));
+        }
+
+        WideModelExample read = STAG_GSON.fromJson(json, WideModelExample.class);
+        assertEquals(expected, REFLECTIVE_GSON.toJsonTree(read));
+    }
+
+    @Test
+    public void testMissingNonNullFields_failToRead() throws Exception {
+        int checkedFields = 0;
+        for (Field field : getFields()) {
+            // The annotation is not retained at runtime, but every field of an object type has it
+            if (field.getType().isPrimitive()) {
+                continue;
+            }
+            checkedFields++;
+            String name = field.getAnnotation(com.google.gson.annotations.SerializedName.class).value();
+            JsonObject missingField = newExampleJson();
+            missingField.remove(name);
+            try {
+                STAG_GSON.fromJson(missingField, WideModelExample.class);
+                fail(name + " is not checked");
+            } catch (JsonSyntaxException expected) {
+            }
+        }
+        assertEquals(200, checkedFields);
+    }
+
+    @NotNull
+    private static Field[] getFields() {
+        return WideModelExample.class.getDeclaredFields();
+    }
+
+    @NotNull
+    private static JsonObject newExampleJson() throws Exception {
+        return REFLECTIVE_GSON.toJsonTree(newExample()).getAsJsonObject();
+    }
+
+    /**
+     * Returns an example whose fields each hold a value of their own.
+     */
+    @NotNull
+    private static WideModelExample newExample() throws Exception {
+        WideModelExample example = new WideModelExample();
+        int idx = 0;
+        for (Field field : getFields()) {
+            Class<?> type = field.getType();
+            if (type == int.class) {
+                field.setInt(example, idx);
+            } else if (type == long.class) {
+                field.setLong(example, idx * 1000000000000L);
+            } else if (type == String.class) {
+                field.set(example, "value " + idx);
+            } else if (type == Boolean.class) {
+                field.set(example, idx % 3 == 0);
+            } else if (type == Double.class) {
+                field.set(example, idx + 0.5);
+            } else {
+                field.set(example, Collections.singletonList("item " + idx));
+            }
+            idx++;
+        }
+        return example;
+    }
+}
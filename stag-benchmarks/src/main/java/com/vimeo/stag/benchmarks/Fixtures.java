@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.benchmarks;
+
+import android.support.v4.util.ArrayMap;
+
+import com.vimeo.sample.model.ClassWithArrayTypes;
+import com.vimeo.sample.model.ClassWithMapTypes;
+import com.vimeo.sample.model.Paging;
+import com.vimeo.sample.model.RecursiveClass;
+import com.vimeo.sample.model.Stats;
+import com.vimeo.sample.model.User;
+import com.vimeo.sample.model.Video;
+import com.vimeo.sample.model.VideoList;
+import com.vimeo.sample.model1.Data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Builds the model objects the benchmarks serialize, and whose JSON they
+ * deserialize. The models are deterministic, so that every run, and every
+ * Gson configuration, works on the same data.
+ */
+final class Fixtures {
+
+    /**
+     * The number of elements in the collections of the models.
+     */
+    static final int COLLECTION_SIZE = 20;
+
+    /**
+     * The depth of the nested {@link RecursiveClass} instances.
+     */
+    static final int RECURSION_DEPTH = 5;
+
+    private Fixtures() {
+        throw new UnsupportedOperationException("This class is not instantiable");
+    }
+
+    @NotNull
+    static User createUser(int index) {
+        User user = new User();
+        user.mName = "User " + index;
+        user.mLocation = "New York, NY";
+        return user;
+    }
+
+    @NotNull
+    static Stats createStats(int index) {
+        Stats stats = new Stats();
+        stats.mPlays = 1000 * index + 7;
+        return stats;
+    }
+
+    @NotNull
+    static Video createVideo(int index) {
+        Video video = new Video();
+        video.mUser = createUser(index);
+        video.mLink = "https://vimeo.com/" + (100000 + index);
+        video.mName = "Video \"" + index + "\"";
+        // Whole seconds, since the default date format drops the milliseconds
+        video.mCreatedTime = new Date(1480000000000L + index * 1000L);
+        video.mStats = createStats(index);
+
+        Data data = new Data();
+        data.size = index;
+        data.name = "data " + index;
+
+        com.vimeo.sample.model1.Video video1 = new com.vimeo.sample.model1.Video();
+        video1.mUser = video.mUser;
+        video1.mLink = video.mLink;
+        video1.mData = data;
+        video.video = video1;
+        return video;
+    }
+
+    @NotNull
+    static VideoList createVideoList() {
+        VideoList videoList = new VideoList();
+        videoList.page = 1;
+        videoList.paging = new Paging();
+        videoList.paging.first = "/videos?page=1";
+        videoList.data = new ArrayList<>();
+        for (int n = 0; n < COLLECTION_SIZE; n++) {
+            videoList.data.add(createVideo(n));
+        }
+        return videoList;
+    }
+
+    @NotNull
+    static ClassWithMapTypes createClassWithMapTypes() {
+        ClassWithMapTypes model = new ClassWithMapTypes();
+        model.videoHashMap = new HashMap<>();
+        model.stringIntegerMap = new LinkedHashMap<>();
+        model.integerStringMap = new HashMap<>();
+        model.complexTypeMap = new HashMap<>();
+        model.mapOfLists = new HashMap<>();
+        model.arrayMap = new ArrayMap<>();
+        for (int n = 0; n < COLLECTION_SIZE; n++) {
+            model.videoHashMap.put("video" + n, createVideo(n));
+            model.stringIntegerMap.put("key" + n, n);
+            model.integerStringMap.put(n, "value" + n);
+            model.complexTypeMap.put(createVideo(n), "value" + n);
+            model.mapOfLists.put("list" + n, Arrays.asList(createVideo(n), createVideo(n + 1)));
+            model.arrayMap.put("key" + n, "value" + n);
+        }
+        return model;
+    }
+
+    @NotNull
+    static ClassWithArrayTypes createClassWithArrayTypes() {
+        ClassWithArrayTypes model = new ClassWithArrayTypes();
+        List<String> stringList = new ArrayList<>();
+        List<Integer> integerCollection = new ArrayList<>();
+        ArrayList<Long> longArrayList = new ArrayList<>();
+        for (int n = 0; n < COLLECTION_SIZE; n++) {
+            stringList.add("string" + n);
+            integerCollection.add(n * 31);
+            longArrayList.add(n * 1000000007L);
+        }
+        model.stringList = stringList;
+        model.integerCollection = integerCollection;
+        model.longArrayList = longArrayList;
+        return model;
+    }
+
+    @NotNull
+    static RecursiveClass createRecursiveClass(int depth) {
+        RecursiveClass model = new RecursiveClass();
+        model.checkSum = "checksum" + depth;
+        model.integerObject = depth;
+        model.stringNativeArray = new String[COLLECTION_SIZE];
+        model.integerArray = new ArrayList<>();
+        model.collection = new ArrayList<>();
+        model.nativeIntegerArray = new int[COLLECTION_SIZE];
+        model.integerNativeArray = new Integer[COLLECTION_SIZE];
+        model.objectNativeArray = new Stats[COLLECTION_SIZE];
+        for (int n = 0; n < COLLECTION_SIZE; n++) {
+            model.stringNativeArray[n] = "string" + n;
+            model.integerArray.add(n);
+            model.collection.add(n * 2);
+            model.nativeIntegerArray[n] = n * 3;
+            model.integerNativeArray[n] = n * 4;
+            model.objectNativeArray[n] = createStats(n);
+        }
+        if (depth > 1) {
+            model.innerSum = createRecursiveClass(depth - 1);
+        }
+        return model;
+    }
+}
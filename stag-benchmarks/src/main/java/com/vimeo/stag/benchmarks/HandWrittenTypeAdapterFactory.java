@@ -0,0 +1,833 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.benchmarks;
+
+import android.support.v4.util.ArrayMap;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.vimeo.sample.model.ClassWithArrayTypes;
+import com.vimeo.sample.model.ClassWithMapTypes;
+import com.vimeo.sample.model.Paging;
+import com.vimeo.sample.model.RecursiveClass;
+import com.vimeo.sample.model.Stats;
+import com.vimeo.sample.model.User;
+import com.vimeo.sample.model.Video;
+import com.vimeo.sample.model.VideoList;
+import com.vimeo.sample.model1.Data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The baseline the generated adapters are measured against: the TypeAdapters
+ * a developer would write by hand for the benchmarked models, without Stag.
+ * <p>
+ * Fields are matched with a String switch, lists and arrays are read and written
+ * in place, and the maps are delegated to the adapters Gson provides for them, as
+ * writing a map adapter by hand is rarely worth the trouble.
+ */
+final class HandWrittenTypeAdapterFactory implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == User.class) {
+            return (TypeAdapter<T>) new UserTypeAdapter();
+        } else if (rawType == Stats.class) {
+            return (TypeAdapter<T>) new StatsTypeAdapter();
+        } else if (rawType == Paging.class) {
+            return (TypeAdapter<T>) new PagingTypeAdapter();
+        } else if (rawType == Data.class) {
+            return (TypeAdapter<T>) new DataTypeAdapter();
+        } else if (rawType == com.vimeo.sample.model1.Video.class) {
+            return (TypeAdapter<T>) new Video1TypeAdapter(gson);
+        } else if (rawType == Video.class) {
+            return (TypeAdapter<T>) new VideoTypeAdapter(gson);
+        } else if (rawType == VideoList.class) {
+            return (TypeAdapter<T>) new VideoListTypeAdapter(gson);
+        } else if (rawType == ClassWithMapTypes.class) {
+            return (TypeAdapter<T>) new ClassWithMapTypesTypeAdapter(gson);
+        } else if (rawType == ClassWithArrayTypes.class) {
+            return (TypeAdapter<T>) new ClassWithArrayTypesTypeAdapter();
+        } else if (rawType == RecursiveClass.class) {
+            return (TypeAdapter<T>) new RecursiveClassTypeAdapter(gson);
+        }
+        return null;
+    }
+
+    /**
+     * Returns true and consumes the value if the next token is a JSON null,
+     * in which case the field keeps its default value.
+     */
+    static boolean skipNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static final class UserTypeAdapter extends TypeAdapter<User> {
+
+        @Override
+        public void write(JsonWriter writer, User value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.mName != null) {
+                writer.name("name").value(value.mName);
+            }
+            if (value.mLocation != null) {
+                writer.name("location").value(value.mLocation);
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public User read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            User user = new User();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "name":
+                        user.mName = reader.nextString();
+                        break;
+                    case "location":
+                        user.mLocation = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return user;
+        }
+    }
+
+    private static final class StatsTypeAdapter extends TypeAdapter<Stats> {
+
+        @Override
+        public void write(JsonWriter writer, Stats value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            writer.name("plays").value(value.mPlays);
+            writer.endObject();
+        }
+
+        @Override
+        public Stats read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            Stats stats = new Stats();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "plays":
+                        stats.mPlays = reader.nextInt();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return stats;
+        }
+    }
+
+    private static final class PagingTypeAdapter extends TypeAdapter<Paging> {
+
+        @Override
+        public void write(JsonWriter writer, Paging value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.first != null) {
+                writer.name("first").value(value.first);
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public Paging read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            Paging paging = new Paging();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "first":
+                        paging.first = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return paging;
+        }
+    }
+
+    private static final class DataTypeAdapter extends TypeAdapter<Data> {
+
+        @Override
+        public void write(JsonWriter writer, Data value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            writer.name("size").value(value.size);
+            if (value.name != null) {
+                writer.name("name").value(value.name);
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public Data read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            Data data = new Data();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "size":
+                        data.size = reader.nextInt();
+                        break;
+                    case "name":
+                        data.name = reader.nextString();
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return data;
+        }
+    }
+
+    private static final class Video1TypeAdapter extends TypeAdapter<com.vimeo.sample.model1.Video> {
+
+        private final TypeAdapter<User> mUserTypeAdapter;
+        private final TypeAdapter<Data> mDataTypeAdapter;
+
+        Video1TypeAdapter(Gson gson) {
+            mUserTypeAdapter = gson.getAdapter(User.class);
+            mDataTypeAdapter = gson.getAdapter(Data.class);
+        }
+
+        @Override
+        public void write(JsonWriter writer, com.vimeo.sample.model1.Video value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.mUser != null) {
+                writer.name("user");
+                mUserTypeAdapter.write(writer, value.mUser);
+            }
+            if (value.mLink != null) {
+                writer.name("link").value(value.mLink);
+            }
+            if (value.mData != null) {
+                writer.name("mData");
+                mDataTypeAdapter.write(writer, value.mData);
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public com.vimeo.sample.model1.Video read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            com.vimeo.sample.model1.Video video = new com.vimeo.sample.model1.Video();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "user":
+                        video.mUser = mUserTypeAdapter.read(reader);
+                        break;
+                    case "link":
+                        video.mLink = reader.nextString();
+                        break;
+                    case "mData":
+                        video.mData = mDataTypeAdapter.read(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return video;
+        }
+    }
+
+    private static final class VideoTypeAdapter extends TypeAdapter<Video> {
+
+        private final TypeAdapter<User> mUserTypeAdapter;
+        private final TypeAdapter<com.vimeo.sample.model1.Video> mVideo1TypeAdapter;
+        private final TypeAdapter<Date> mDateTypeAdapter;
+        private final TypeAdapter<Stats> mStatsTypeAdapter;
+
+        VideoTypeAdapter(Gson gson) {
+            mUserTypeAdapter = gson.getAdapter(User.class);
+            mVideo1TypeAdapter = gson.getAdapter(com.vimeo.sample.model1.Video.class);
+            mDateTypeAdapter = gson.getAdapter(Date.class);
+            mStatsTypeAdapter = gson.getAdapter(Stats.class);
+        }
+
+        @Override
+        public void write(JsonWriter writer, Video value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.mUser != null) {
+                writer.name("user");
+                mUserTypeAdapter.write(writer, value.mUser);
+            }
+            if (value.mLink != null) {
+                writer.name("link").value(value.mLink);
+            }
+            if (value.video != null) {
+                writer.name("video");
+                mVideo1TypeAdapter.write(writer, value.video);
+            }
+            if (value.mName != null) {
+                writer.name("name").value(value.mName);
+            }
+            if (value.mCreatedTime != null) {
+                writer.name("created_time");
+                mDateTypeAdapter.write(writer, value.mCreatedTime);
+            }
+            if (value.mStats != null) {
+                writer.name("stats");
+                mStatsTypeAdapter.write(writer, value.mStats);
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public Video read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            Video video = new Video();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "user":
+                        video.mUser = mUserTypeAdapter.read(reader);
+                        break;
+                    case "link":
+                        video.mLink = reader.nextString();
+                        break;
+                    case "video":
+                        video.video = mVideo1TypeAdapter.read(reader);
+                        break;
+                    case "name":
+                        video.mName = reader.nextString();
+                        break;
+                    case "created_time":
+                        video.mCreatedTime = mDateTypeAdapter.read(reader);
+                        break;
+                    case "stats":
+                        video.mStats = mStatsTypeAdapter.read(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return video;
+        }
+    }
+
+    private static final class VideoListTypeAdapter extends TypeAdapter<VideoList> {
+
+        private final TypeAdapter<Paging> mPagingTypeAdapter;
+        private final TypeAdapter<Video> mVideoTypeAdapter;
+
+        VideoListTypeAdapter(Gson gson) {
+            mPagingTypeAdapter = gson.getAdapter(Paging.class);
+            mVideoTypeAdapter = gson.getAdapter(Video.class);
+        }
+
+        @Override
+        public void write(JsonWriter writer, VideoList value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            writer.name("page").value(value.page);
+            if (value.paging != null) {
+                writer.name("paging");
+                mPagingTypeAdapter.write(writer, value.paging);
+            }
+            if (value.data != null) {
+                writer.name("data");
+                writer.beginArray();
+                for (Video video : value.data) {
+                    mVideoTypeAdapter.write(writer, video);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public VideoList read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            VideoList videoList = new VideoList();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "page":
+                        videoList.page = reader.nextInt();
+                        break;
+                    case "paging":
+                        videoList.paging = mPagingTypeAdapter.read(reader);
+                        break;
+                    case "data":
+                        ArrayList<Video> data = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            data.add(mVideoTypeAdapter.read(reader));
+                        }
+                        reader.endArray();
+                        videoList.data = data;
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return videoList;
+        }
+    }
+
+    private static final class ClassWithMapTypesTypeAdapter extends TypeAdapter<ClassWithMapTypes> {
+
+        private final TypeAdapter<HashMap<String, Video>> mVideoHashMapTypeAdapter;
+        private final TypeAdapter<LinkedHashMap<String, Integer>> mStringIntegerMapTypeAdapter;
+        private final TypeAdapter<Map<Integer, String>> mIntegerStringMapTypeAdapter;
+        private final TypeAdapter<Map<Video, String>> mComplexTypeMapTypeAdapter;
+        private final TypeAdapter<Map<String, List<Video>>> mMapOfListsTypeAdapter;
+        private final TypeAdapter<ArrayMap<String, String>> mArrayMapTypeAdapter;
+
+        ClassWithMapTypesTypeAdapter(Gson gson) {
+            mVideoHashMapTypeAdapter = gson.getAdapter(new TypeToken<HashMap<String, Video>>() {});
+            mStringIntegerMapTypeAdapter = gson.getAdapter(new TypeToken<LinkedHashMap<String, Integer>>() {});
+            mIntegerStringMapTypeAdapter = gson.getAdapter(new TypeToken<Map<Integer, String>>() {});
+            mComplexTypeMapTypeAdapter = gson.getAdapter(new TypeToken<Map<Video, String>>() {});
+            mMapOfListsTypeAdapter = gson.getAdapter(new TypeToken<Map<String, List<Video>>>() {});
+            mArrayMapTypeAdapter = gson.getAdapter(new TypeToken<ArrayMap<String, String>>() {});
+        }
+
+        @Override
+        public void write(JsonWriter writer, ClassWithMapTypes value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.videoHashMap != null) {
+                writer.name("videoHashMap");
+                mVideoHashMapTypeAdapter.write(writer, value.videoHashMap);
+            }
+            if (value.stringIntegerMap != null) {
+                writer.name("stringIntegerMap");
+                mStringIntegerMapTypeAdapter.write(writer, value.stringIntegerMap);
+            }
+            if (value.integerStringMap != null) {
+                writer.name("integerStringMap");
+                mIntegerStringMapTypeAdapter.write(writer, value.integerStringMap);
+            }
+            if (value.complexTypeMap != null) {
+                writer.name("complexTypeMap");
+                mComplexTypeMapTypeAdapter.write(writer, value.complexTypeMap);
+            }
+            if (value.mapOfLists != null) {
+                writer.name("mapOfLists");
+                mMapOfListsTypeAdapter.write(writer, value.mapOfLists);
+            }
+            if (value.arrayMap != null) {
+                writer.name("arrayMap");
+                mArrayMapTypeAdapter.write(writer, value.arrayMap);
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public ClassWithMapTypes read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            ClassWithMapTypes model = new ClassWithMapTypes();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "videoHashMap":
+                        model.videoHashMap = mVideoHashMapTypeAdapter.read(reader);
+                        break;
+                    case "stringIntegerMap":
+                        model.stringIntegerMap = mStringIntegerMapTypeAdapter.read(reader);
+                        break;
+                    case "integerStringMap":
+                        model.integerStringMap = mIntegerStringMapTypeAdapter.read(reader);
+                        break;
+                    case "complexTypeMap":
+                        model.complexTypeMap = mComplexTypeMapTypeAdapter.read(reader);
+                        break;
+                    case "mapOfLists":
+                        model.mapOfLists = mMapOfListsTypeAdapter.read(reader);
+                        break;
+                    case "arrayMap":
+                        model.arrayMap = mArrayMapTypeAdapter.read(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return model;
+        }
+    }
+
+    private static final class ClassWithArrayTypesTypeAdapter extends TypeAdapter<ClassWithArrayTypes> {
+
+        @Override
+        public void write(JsonWriter writer, ClassWithArrayTypes value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.stringList != null) {
+                writer.name("stringList");
+                writer.beginArray();
+                for (String item : value.stringList) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.integerCollection != null) {
+                writer.name("integerCollection");
+                writer.beginArray();
+                for (Integer item : value.integerCollection) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.longArrayList != null) {
+                writer.name("longArrayList");
+                writer.beginArray();
+                for (Long item : value.longArrayList) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public ClassWithArrayTypes read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            ClassWithArrayTypes model = new ClassWithArrayTypes();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "stringList":
+                        List<String> stringList = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            stringList.add(skipNull(reader) ? null : reader.nextString());
+                        }
+                        reader.endArray();
+                        model.stringList = stringList;
+                        break;
+                    case "integerCollection":
+                        Collection<Integer> integerCollection = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            integerCollection.add(skipNull(reader) ? null : reader.nextInt());
+                        }
+                        reader.endArray();
+                        model.integerCollection = integerCollection;
+                        break;
+                    case "longArrayList":
+                        ArrayList<Long> longArrayList = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            longArrayList.add(skipNull(reader) ? null : reader.nextLong());
+                        }
+                        reader.endArray();
+                        model.longArrayList = longArrayList;
+                        break;
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return model;
+        }
+    }
+
+    private static final class RecursiveClassTypeAdapter extends TypeAdapter<RecursiveClass> {
+
+        private final TypeAdapter<Stats> mStatsTypeAdapter;
+
+        RecursiveClassTypeAdapter(Gson gson) {
+            mStatsTypeAdapter = gson.getAdapter(Stats.class);
+        }
+
+        @Override
+        public void write(JsonWriter writer, RecursiveClass value) throws IOException {
+            if (value == null) {
+                writer.nullValue();
+                return;
+            }
+            writer.beginObject();
+            if (value.checkSum != null) {
+                writer.name("checkSum").value(value.checkSum);
+            }
+            if (value.stringNativeArray != null) {
+                writer.name("stringNativeArray");
+                writer.beginArray();
+                for (String item : value.stringNativeArray) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.integerObject != null) {
+                writer.name("integerObject").value(value.integerObject);
+            }
+            if (value.integerArray != null) {
+                writer.name("integerArray");
+                writer.beginArray();
+                for (Integer item : value.integerArray) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.collection != null) {
+                writer.name("collection");
+                writer.beginArray();
+                for (Integer item : value.collection) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.nativeIntegerArray != null) {
+                writer.name("nativeIntegerArray");
+                writer.beginArray();
+                for (int item : value.nativeIntegerArray) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.innerSum != null) {
+                writer.name("innerSum");
+                write(writer, value.innerSum);
+            }
+            if (value.integerNativeArray != null) {
+                writer.name("integerNativeArray");
+                writer.beginArray();
+                for (Integer item : value.integerNativeArray) {
+                    writer.value(item);
+                }
+                writer.endArray();
+            }
+            if (value.objectNativeArray != null) {
+                writer.name("objectNativeArray");
+                writer.beginArray();
+                for (Stats item : value.objectNativeArray) {
+                    mStatsTypeAdapter.write(writer, item);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
+        @Override
+        public RecursiveClass read(JsonReader reader) throws IOException {
+            if (skipNull(reader)) {
+                return null;
+            }
+            RecursiveClass model = new RecursiveClass();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) {
+                    continue;
+                }
+                switch (name) {
+                    case "checkSum":
+                        model.checkSum = reader.nextString();
+                        break;
+                    case "stringNativeArray": {
+                        List<String> items = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            items.add(skipNull(reader) ? null : reader.nextString());
+                        }
+                        reader.endArray();
+                        model.stringNativeArray = items.toArray(new String[items.size()]);
+                        break;
+                    }
+                    case "integerObject":
+                        model.integerObject = reader.nextInt();
+                        break;
+                    case "integerArray":
+                        model.integerArray = readIntegerList(reader);
+                        break;
+                    case "collection":
+                        model.collection = readIntegerList(reader);
+                        break;
+                    case "nativeIntegerArray": {
+                        List<Integer> items = readIntegerList(reader);
+                        int[] array = new int[items.size()];
+                        for (int n = 0; n < array.length; n++) {
+                            array[n] = items.get(n);
+                        }
+                        model.nativeIntegerArray = array;
+                        break;
+                    }
+                    case "innerSum":
+                        model.innerSum = read(reader);
+                        break;
+                    case "integerNativeArray": {
+                        List<Integer> items = readIntegerList(reader);
+                        model.integerNativeArray = items.toArray(new Integer[items.size()]);
+                        break;
+                    }
+                    case "objectNativeArray": {
+                        List<Stats> items = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            items.add(mStatsTypeAdapter.read(reader));
+                        }
+                        reader.endArray();
+                        model.objectNativeArray = items.toArray(new Stats[items.size()]);
+                        break;
+                    }
+                    default:
+                        reader.skipValue();
+                        break;
+                }
+            }
+            reader.endObject();
+            return model;
+        }
+
+        private static List<Integer> readIntegerList(JsonReader reader) throws IOException {
+            List<Integer> items = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                items.add(skipNull(reader) ? null : reader.nextInt());
+            }
+            reader.endArray();
+            return items;
+        }
+    }
+}
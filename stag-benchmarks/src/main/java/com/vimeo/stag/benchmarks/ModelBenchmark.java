@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.vimeo.stag.benchmarks.generated.Stag;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read and write throughput of the TypeAdapter of a model,
+ * for each of the ways Gson can obtain one:
+ * <ul>
+ * <li>{@value #STAG}: the adapter generated by Stag, through the generated {@link Stag.Factory}</li>
+ * <li>{@value #REFLECTIVE}: the reflective adapter Gson creates by default</li>
+ * <li>{@value #HAND_WRITTEN}: the adapter of {@link HandWrittenTypeAdapterFactory}</li>
+ * </ul>
+ * All of them read the same JSON, which is written by the reflective adapter.
+ * Run with the gc profiler to also report the allocation rate.
+ *
+ * @param <T> the type of the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class ModelBenchmark<T> {
+
+    static final String STAG = "stag";
+    static final String REFLECTIVE = "reflective";
+    static final String HAND_WRITTEN = "handwritten";
+
+    @Param({STAG, REFLECTIVE, HAND_WRITTEN})
+    public String adapter;
+
+    private TypeAdapter<T> mTypeAdapter;
+    private T mModel;
+    private String mJson;
+
+    /**
+     * Creates the Gson instance providing the adapters to benchmark.
+     * Complex map keys are enabled for the reflective and hand-written
+     * adapters, as Stag always writes them as arrays of entries.
+     */
+    @NotNull
+    static Gson createGson(@NotNull String adapter) {
+        switch (adapter) {
+            case STAG:
+                return new GsonBuilder().registerTypeAdapterFactory(new Stag.Factory()).create();
+            case REFLECTIVE:
+                return new GsonBuilder().enableComplexMapKeySerialization().create();
+            case HAND_WRITTEN:
+                return new GsonBuilder().enableComplexMapKeySerialization()
+                        .registerTypeAdapterFactory(new HandWrittenTypeAdapterFactory())
+                        .create();
+            default:
+                throw new IllegalArgumentException("Unknown adapter: " + adapter);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        mModel = createModel();
+        mTypeAdapter = createGson(adapter).getAdapter(getType());
+        mJson = createGson(REFLECTIVE).getAdapter(getType()).toJson(mModel);
+    }
+
+    @Benchmark
+    public T read() throws IOException {
+        return mTypeAdapter.fromJson(mJson);
+    }
+
+    @Benchmark
+    public String write() {
+        return mTypeAdapter.toJson(mModel);
+    }
+
+    /**
+     * The type of the benchmarked model.
+     */
+    @NotNull
+    abstract TypeToken<T> getType();
+
+    /**
+     * Creates the model instance which is written, and whose JSON is read.
+     */
+    @NotNull
+    abstract T createModel();
+}
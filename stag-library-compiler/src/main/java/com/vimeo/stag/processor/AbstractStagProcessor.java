@@ -0,0 +1,252 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import com.vimeo.stag.UseStag;
+import com.vimeo.stag.processor.generators.AdapterGenerator;
+import com.vimeo.stag.processor.generators.EnumTypeAdapterGenerator;
+import com.vimeo.stag.processor.generators.StagGenerator;
+import com.vimeo.stag.processor.generators.TypeAdapterGenerator;
+import com.vimeo.stag.processor.generators.TypeTokenConstantsGenerator;
+import com.vimeo.stag.processor.generators.model.ClassInfo;
+import com.vimeo.stag.processor.generators.model.SupportedTypesModel;
+import com.vimeo.stag.processor.utils.DebugLog;
+import com.vimeo.stag.processor.utils.ElementUtils;
+import com.vimeo.stag.processor.utils.FileGenUtils;
+import com.vimeo.stag.processor.utils.KnownTypeAdapterFactoriesUtils;
+import com.vimeo.stag.processor.utils.ProcessingException;
+import com.vimeo.stag.processor.utils.TypeUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * The processing shared by the {@link StagAdapterProcessor}, which generates the type adapters of
+ * the models annotated with {@link UseStag} one by one, and the {@link StagProcessor}, which
+ * generates the files aggregating all the models, along with the type adapters which do not
+ * belong to a single annotated model.
+ * <p>
+ * Both processors analyze all the models of the round, as the code generated for each model
+ * depends on the other models only through the names derived from their qualified names.
+ */
+abstract class AbstractStagProcessor extends AbstractProcessor {
+
+    private static final String OPTION_PACKAGE_NAME = "stagGeneratedPackageName";
+    private static final String OPTION_COMPACT_OBJECTS = "stagCompactObjects";
+    private static final String DEFAULT_GENERATED_PACKAGE_NAME = "com.vimeo.stag.generated";
+    private final boolean mIsolating;
+    private boolean mHasBeenProcessed;
+
+    /**
+     * @param isolating true if the processor generates the type adapters of the annotated models,
+     *                  false if it generates everything else.
+     */
+    AbstractStagProcessor(boolean isolating) {
+        mIsolating = isolating;
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> set = new HashSet<>();
+        set.add(UseStag.class.getCanonicalName());
+        return set;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        Set<String> set = new HashSet<>();
+        set.add(OPTION_PACKAGE_NAME);
+        set.add(OPTION_COMPACT_OBJECTS);
+        return set;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.RELEASE_7;
+    }
+
+    /**
+     * Returns true if the type adapter of the element is generated by the {@link StagAdapterProcessor},
+     * i.e. if the element is declared by a root element of the round annotated with {@link UseStag},
+     * from which alone the type adapter is generated.
+     */
+    private static boolean isIsolated(@NotNull Element element, @NotNull Set<? extends Element> rootElements) {
+        Element topLevelElement = ElementUtils.getTopLevelElement(element);
+        return null != topLevelElement.getAnnotation(UseStag.class) && rootElements.contains(topLevelElement);
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // The annotations are not claimed, as both processors process them
+        if (roundEnv.processingOver()) {
+            return false;
+        }
+
+        Set<? extends Element> stagElements = roundEnv.getElementsAnnotatedWith(UseStag.class);
+        if (mHasBeenProcessed) {
+            /*
+             * The Stag.Factory of the module was generated in an earlier round, and cannot be
+             * generated again to include the models generated by other processors since.
+             */
+            if (!mIsolating) {
+                for (Element element : stagElements) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                                                             "No type adapter is generated for this class, which " +
+                                                             "was generated after the models processed by Stag " +
+                                                             "in an earlier round", element);
+                }
+            }
+            return false;
+        }
+        if (stagElements.isEmpty()) {
+            // The models of the module may be generated by other processors in a later round
+            return false;
+        }
+
+        String packageName = processingEnv.getOptions().get(OPTION_PACKAGE_NAME);
+        if (packageName == null || packageName.isEmpty()) {
+            packageName = DEFAULT_GENERATED_PACKAGE_NAME;
+        }
+
+        boolean compactObjects = Boolean.parseBoolean(processingEnv.getOptions().get(OPTION_COMPACT_OBJECTS));
+
+        TypeUtils.initialize(processingEnv.getTypeUtils());
+        ElementUtils.initialize(processingEnv.getElementUtils());
+        SupportedTypesModel.getInstance().initialize();
+
+        DebugLog.log("\nBeginning @UseStag annotation processing\n");
+
+        mHasBeenProcessed = true;
+
+        Set<? extends Element> rootElements = roundEnv.getRootElements();
+        for (Element rootElement : rootElements) {
+            if (rootElement.getAnnotation(UseStag.class) != null) {
+                SupportedTypesModel.getInstance().getSupportedType(rootElement.asType());
+            }
+        }
+
+        Filer filer = processingEnv.getFiler();
+        try {
+            Set<TypeMirror> mSupportedTypes = SupportedTypesModel.getInstance().getSupportedTypesMirror();
+            if (!mIsolating) {
+                try {
+                    mSupportedTypes.addAll(
+                            KnownTypeAdapterFactoriesUtils.loadKnownTypes(processingEnv, packageName));
+                } catch (Exception ignored) {
+                }
+            }
+
+            StagGenerator adapterGenerator = new StagGenerator(packageName, filer, mSupportedTypes,
+                                                               rootElements, compactObjects);
+            TypeTokenConstantsGenerator typeTokenConstantsGenerator =
+                    new TypeTokenConstantsGenerator(filer, packageName);
+
+            boolean hasErrors = false;
+            Set<Element> list = SupportedTypesModel.getInstance().getSupportedElements();
+            for (Element element : list) {
+                if ((TypeUtils.isConcreteType(element) || TypeUtils.isParameterizedType(element)) &&
+                    !TypeUtils.isAbstract(element)) {
+                    boolean isolated = isIsolated(element, rootElements);
+                    if (mIsolating && !isolated) {
+                        continue;
+                    }
+                    ClassInfo classInfo = new ClassInfo(element.asType());
+                    AdapterGenerator independentAdapter =
+                            element.getKind() == ElementKind.ENUM ? new EnumTypeAdapterGenerator(classInfo,
+                                                                                                 element) : new TypeAdapterGenerator(
+                                    classInfo);
+                    TypeSpec typeAdapterSpec;
+                    try {
+                        // The aggregating processor still generates the adapters to collect their getters
+                        typeAdapterSpec = independentAdapter.getTypeAdapterSpec(typeTokenConstantsGenerator,
+                                                                                adapterGenerator);
+                    } catch (ProcessingException e) {
+                        // The error is reported by the processor which writes the type adapter
+                        if (mIsolating == isolated) {
+                            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(),
+                                                                     e.getElement());
+                        }
+                        hasErrors = true;
+                        continue;
+                    }
+                    if (mIsolating == isolated) {
+                        // Each adapter originates from its model only, which lets the build track them
+                        typeAdapterSpec = typeAdapterSpec.toBuilder().addOriginatingElement(element).build();
+                        JavaFile javaFile = JavaFile.builder(classInfo.getPackageName(), typeAdapterSpec).build();
+                        FileGenUtils.writeToFile(javaFile, filer);
+                    }
+                }
+            }
+            if (mIsolating) {
+                return false;
+            }
+            if (hasErrors) {
+                // The compilation fails anyway, and the files left would only add errors of their own
+                return false;
+            }
+
+            // The parameterizations of the generic models used by the adapters get adapters of their own
+            for (DeclaredType specializedType : adapterGenerator.closeSpecializedTypes()) {
+                ClassInfo classInfo = new ClassInfo(specializedType);
+                TypeSpec typeAdapterSpec = new TypeAdapterGenerator(
+                        classInfo, adapterGenerator.getSpecializedTypeAdapterClassName(specializedType))
+                        .getTypeAdapterSpec(typeTokenConstantsGenerator, adapterGenerator)
+                        .toBuilder()
+                        .addOriginatingElement(specializedType.asElement())
+                        .build();
+                JavaFile javaFile = JavaFile.builder(classInfo.getPackageName(), typeAdapterSpec).build();
+                FileGenUtils.writeToFile(javaFile, filer);
+            }
+
+            // The aggregated files originate from all the supported types
+            Set<Element> supportedElements = SupportedTypesModel.getInstance().getSupportedElements();
+            adapterGenerator.generateTypeAdapterFactory(packageName, supportedElements);
+            typeTokenConstantsGenerator.generateTypeTokenConstants(supportedElements);
+            KnownTypeAdapterFactoriesUtils.writeKnownTypes(processingEnv, packageName, mSupportedTypes,
+                                                           supportedElements);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        DebugLog.log("\nSuccessfully processed @UseStag annotations\n");
+
+        return false;
+    }
+}
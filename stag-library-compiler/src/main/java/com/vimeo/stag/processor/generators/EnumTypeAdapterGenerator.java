@@ -34,13 +34,16 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.vimeo.stag.StringValueTypeAdapter;
 import com.vimeo.stag.processor.generators.model.ClassInfo;
 import com.vimeo.stag.processor.utils.FileGenUtils;
 
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.lang.model.element.Element;
@@ -50,6 +53,10 @@ import javax.lang.model.type.TypeMirror;
 
 public class EnumTypeAdapterGenerator extends AdapterGenerator {
 
+    private static final String FIELD_CONSTANT_NAMES = "CONSTANT_NAMES";
+    private static final String METHOD_GET_CONSTANT_INDEX = "getConstantIndex";
+    private static final String METHOD_TO_STRING_VALUE = "toStringValue";
+
     @NotNull
     private final ClassInfo mInfo;
 
@@ -71,12 +78,24 @@ public class EnumTypeAdapterGenerator extends AdapterGenerator {
                 .addAnnotation(Override.class)
                 .addException(IOException.class);
 
-        builder.addStatement("writer.value(object == null ? null : CONSTANT_TO_NAME.get(object))");
+        builder.addStatement("writer.value(" + METHOD_TO_STRING_VALUE + "(object))");
+        return builder.build();
+    }
+
+    @NotNull
+    private static MethodSpec getToStringValueMethodSpec(@NotNull TypeName typeName) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(METHOD_TO_STRING_VALUE)
+                .addParameter(typeName, "object")
+                .returns(String.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(Override.class);
+
+        builder.addStatement("return object == null ? null : " + FIELD_CONSTANT_NAMES + "[object.ordinal()]");
         return builder.build();
     }
 
     @NotNull
-    private static MethodSpec getReadMethodSpec(@NotNull TypeName typeName) {
+    private static MethodSpec getReadMethodSpec(@NotNull TypeName typeName, @NotNull List<Element> constants) {
         MethodSpec.Builder builder = MethodSpec.methodBuilder("read")
                 .addParameter(JsonReader.class, "reader")
                 .returns(typeName)
@@ -88,7 +107,14 @@ public class EnumTypeAdapterGenerator extends AdapterGenerator {
         builder.addStatement("reader.nextNull()");
         builder.addStatement("return null");
         builder.endControlFlow();
-        builder.addStatement("return NAME_TO_CONSTANT.get(reader.nextString())");
+        builder.beginControlFlow("switch (" + METHOD_GET_CONSTANT_INDEX + "(reader.nextString()))");
+        for (int idx = 0; idx < constants.size(); idx++) {
+            builder.addCode("case " + idx + ":\n$>");
+            builder.addStatement("return " + typeName + "." + constants.get(idx).getSimpleName() + "$<");
+        }
+        builder.addCode("default:\n$>");
+        builder.addStatement("return null$<");
+        builder.endControlFlow();
         return builder.build();
     }
 
@@ -114,62 +140,51 @@ public class EnumTypeAdapterGenerator extends AdapterGenerator {
         String className = FileGenUtils.unescapeEscapedString(mInfo.getTypeAdapterClassName());
         TypeSpec.Builder adapterBuilder = TypeSpec.classBuilder(className)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .superclass(ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeVariableName));
+                .superclass(ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeVariableName))
+                .addSuperinterface(
+                        ParameterizedTypeName.get(ClassName.get(StringValueTypeAdapter.class), typeVariableName));
 
-
-        Map<String, Element> nameToConstant = new HashMap<>();
-        Map<Element, String> constantToName = new HashMap<>();
+        List<Element> constants = new ArrayList<>();
+        Map<String, Integer> nameToConstantIndex = new LinkedHashMap<>();
+        CodeBlock.Builder staticBlockBuilder = CodeBlock.builder();
+        staticBlockBuilder.addStatement(FIELD_CONSTANT_NAMES + " = new String[" + typeVariableName + ".values().length]");
 
         for (Element enclosingElement : mElement.getEnclosedElements()) {
             if (enclosingElement.getKind() == ElementKind.ENUM_CONSTANT) {
                 String name = getJsonName(enclosingElement);
-                nameToConstant.put(name, enclosingElement);
-                constantToName.put(enclosingElement, name);
+                int index = constants.size();
+                constants.add(enclosingElement);
+                nameToConstantIndex.put(name, index);
+                staticBlockBuilder.addStatement(
+                        FIELD_CONSTANT_NAMES + "[" + typeVariableName + "." + enclosingElement.getSimpleName() +
+                        ".ordinal()] = $S", name);
 
                 String[] alternateJsonNames = getAlternateJsonNames(enclosingElement);
                 if (alternateJsonNames != null && alternateJsonNames.length > 0) {
                     for (String alternate : alternateJsonNames) {
-                        nameToConstant.put(alternate, enclosingElement);
+                        nameToConstantIndex.put(alternate, index);
                     }
                 }
             }
         }
 
         MethodSpec writeMethod = getWriteMethodSpec(typeVariableName);
-        MethodSpec readMethod = getReadMethodSpec(typeVariableName);
+        MethodSpec readMethod = getReadMethodSpec(typeVariableName, constants);
 
-        TypeName typeName =
-                ParameterizedTypeName.get(ClassName.get(HashMap.class), TypeVariableName.get(String.class),
-                                          TypeVariableName.get(typeMirror));
-        adapterBuilder.addField(typeName, "NAME_TO_CONSTANT", Modifier.PRIVATE, Modifier.STATIC,
+        /*
+         * The names are written by looking them up by the ordinal of the constant, and read by
+         * matching them with a generated switch, rather than looking them up in maps.
+         */
+        adapterBuilder.addField(String[].class, FIELD_CONSTANT_NAMES, Modifier.PRIVATE, Modifier.STATIC,
                                 Modifier.FINAL);
-
-        typeName = ParameterizedTypeName.get(ClassName.get(HashMap.class), TypeVariableName.get(typeMirror),
-                                             TypeVariableName.get(String.class));
-        adapterBuilder.addField(typeName, "CONSTANT_TO_NAME", Modifier.PRIVATE, Modifier.STATIC,
-                                Modifier.FINAL);
-
-        CodeBlock.Builder staticBlockBuilder = CodeBlock.builder();
-        staticBlockBuilder.addStatement("NAME_TO_CONSTANT = new HashMap<>(" + nameToConstant.size() + ")");
-        for (Map.Entry<String, Element> entry : nameToConstant.entrySet()) {
-            staticBlockBuilder.addStatement(
-                    "NAME_TO_CONSTANT.put(\"" + entry.getKey() + "\", " + typeVariableName + "." +
-                    entry.getValue().getSimpleName().toString() + ")");
-        }
-
-        staticBlockBuilder.add("\n");
-        staticBlockBuilder.addStatement("CONSTANT_TO_NAME = new HashMap<>(" + constantToName.size() + ")");
-        for (Map.Entry<Element, String> entry : constantToName.entrySet()) {
-            staticBlockBuilder.addStatement("CONSTANT_TO_NAME.put(" + typeVariableName + "." +
-                                            entry.getKey().getSimpleName().toString() + ", \"" +
-                                            entry.getValue() + "\")");
-        }
-
         adapterBuilder.addStaticBlock(staticBlockBuilder.build());
 
         adapterBuilder.addMethod(constructorBuilder.build());
         adapterBuilder.addMethod(writeMethod);
+        adapterBuilder.addMethod(getToStringValueMethodSpec(typeVariableName));
         adapterBuilder.addMethod(readMethod);
+        adapterBuilder.addMethods(
+                NameMatcherGenerator.getNameMatcherMethodSpecs(METHOD_GET_CONSTANT_INDEX, nameToConstantIndex));
 
         return adapterBuilder.build();
     }
@@ -5,25 +5,17 @@ import com.vimeo.stag.UseStag;
 import com.vimeo.stag.processor.generators.model.ClassInfo;
 import com.vimeo.stag.processor.utils.ElementUtils;
 import com.vimeo.stag.processor.utils.FileGenUtils;
-import com.vimeo.stag.processor.utils.TypeUtils;
 
 import org.jetbrains.annotations.NotNull;
-
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import org.jetbrains.annotations.Nullable;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
-import javax.lang.model.type.DeclaredType;
-import javax.lang.model.type.TypeMirror;
 
 public class ExternalAdapterInfo {
 
-    @NotNull
-    private final static Set<String> sCheckedClasses = new HashSet<>();
     @NotNull
     final Element mExternalClassType;
     @NotNull
@@ -39,68 +31,75 @@ public class ExternalAdapterInfo {
     }
 
     /**
-     * Add adapters for the external models.
+     * Returns the adapter of the external model, which is a model annotated with @UseStag whose type
+     * adapter was generated along with the Stag.Factory of another module, or null if the type is not
+     * such a model. This only depends on the model and its generated type adapter, so it holds for
+     * every model referencing it.
      *
-     * @param stagFactoryGeneratedName stagFactoryGeneratedName
-     * @param typeMirror               typeMirror
-     * @param externalAdapterInfoSet   externalAdapterInfoSet
+     * @param stagFactoryGeneratedName the qualified name of the Stag.Factory of this module.
+     * @param typeElement              the element of the model.
      */
-    public static void addExternalAdapters(@NotNull String stagFactoryGeneratedName,
-                                           @NotNull TypeMirror typeMirror,
-                                           @NotNull Set<ExternalAdapterInfo> externalAdapterInfoSet) {
-        if (!TypeUtils.isSupportedPrimitive(typeMirror.toString()) && typeMirror instanceof DeclaredType) {
-            DeclaredType declaredType = (DeclaredType) typeMirror;
-            Element typeElement = declaredType.asElement();
-            UseStag useStag = null != typeElement ? typeElement.getAnnotation(UseStag.class) : null;
-            /*
-             * Make sure the external model is annotated with @UseStag
-             */
-            if (null != useStag) {
-                ClassInfo classInfo = new ClassInfo(typeElement.asType());
-                String classAdapterName =
-                        FileGenUtils.unescapeEscapedString(classInfo.getTypeAdapterQualifiedClassName());
-                if (!sCheckedClasses.contains(classAdapterName)) {
-                    sCheckedClasses.add(classAdapterName);
-                    TypeElement adapterTypeElement =
-                            ElementUtils.getTypeElementFromQualifiedName(classAdapterName);
-                    if (null != adapterTypeElement) {
-                        for (Element adapterEnclosedElement : adapterTypeElement.getEnclosedElements()) {
-                            if (adapterEnclosedElement instanceof ExecutableElement) {
-                                ExecutableElement executableElement =
-                                        ((ExecutableElement) adapterEnclosedElement);
-                                Name name = executableElement.getSimpleName();
-                                if (name.contentEquals("<init>") &&
-                                        executableElement.getParameters().size() >= 2 &&
-                                        !stagFactoryGeneratedName.equals(
-                                                executableElement.getParameters().get(1).asType().toString())) {
-                                    ExternalAdapterInfo result =
-                                            new ExternalAdapterInfo(typeElement, adapterTypeElement,
-                                                    executableElement);
-                                    sCheckedClasses.add(classAdapterName);
-                                    externalAdapterInfoSet.add(result);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
-            if (null != typeArguments) {
-                for (TypeMirror typeArgument : typeArguments) {
-                    addExternalAdapters(stagFactoryGeneratedName, typeArgument, externalAdapterInfoSet);
+    @Nullable
+    static ExternalAdapterInfo getExternalAdapterInfo(@NotNull String stagFactoryGeneratedName,
+                                                      @NotNull Element typeElement) {
+        if (null == typeElement.getAnnotation(UseStag.class)) {
+            return null;
+        }
+        TypeElement adapterTypeElement = getAdapterTypeElement(typeElement);
+        ExecutableElement adapterConstructor = getAdapterConstructor(adapterTypeElement);
+        if (null == adapterConstructor ||
+            stagFactoryGeneratedName.equals(adapterConstructor.getParameters().get(1).asType().toString())) {
+            return null;
+        }
+        return new ExternalAdapterInfo(typeElement, adapterTypeElement, adapterConstructor);
+    }
+
+    /**
+     * Returns the element of the type adapter already generated for the model, which is either
+     * compiled or generated in an earlier round, or null if there is none.
+     */
+    @Nullable
+    static TypeElement getAdapterTypeElement(@NotNull Element typeElement) {
+        ClassInfo classInfo = new ClassInfo(typeElement.asType());
+        return ElementUtils.getTypeElementFromQualifiedName(
+                FileGenUtils.unescapeEscapedString(classInfo.getTypeAdapterQualifiedClassName()));
+    }
+
+    /**
+     * Returns the constructor of the generated type adapter, which takes the {@link com.google.gson.Gson}
+     * instance and the Stag.Factory the type adapter was generated with, or null if there is none.
+     */
+    @Nullable
+    static ExecutableElement getAdapterConstructor(@Nullable TypeElement adapterTypeElement) {
+        if (null == adapterTypeElement) {
+            return null;
+        }
+        for (Element adapterEnclosedElement : adapterTypeElement.getEnclosedElements()) {
+            if (adapterEnclosedElement instanceof ExecutableElement) {
+                ExecutableElement executableElement = ((ExecutableElement) adapterEnclosedElement);
+                Name name = executableElement.getSimpleName();
+                if (name.contentEquals("<init>") && executableElement.getParameters().size() >= 2) {
+                    return executableElement;
                 }
             }
         }
+        return null;
     }
 
+    /**
+     * Returns the code creating the type adapter. The type arguments, such as {@code <String>},
+     * parameterize the type adapter of a generic model, along with the type adapters of the
+     * type arguments passed to its constructor, so that it is not created as a raw type.
+     */
     @NotNull
-    String getInitializer(@NotNull String gsonVariableName, @NotNull String concatenatedTypeAdapters) {
+    String getInitializer(@NotNull String gsonVariableName, @NotNull String typeArguments,
+                          @NotNull String concatenatedTypeAdapters) {
         int paramsSize = mAdapterConstructor.getParameters().size();
         if (paramsSize == 2) {
             return "new " + FileGenUtils.escapeStringForCodeBlock(mAdapterType.toString()) + "(" +
                     gsonVariableName + ", " + getFactoryInitializer() + ")";
         } else {
-            return "new " + FileGenUtils.escapeStringForCodeBlock(mAdapterType.toString()) + "(" +
+            return "new " + FileGenUtils.escapeStringForCodeBlock(mAdapterType.toString()) + typeArguments + "(" +
                     gsonVariableName + ", " + getFactoryInitializer() + concatenatedTypeAdapters + ")";
         }
     }
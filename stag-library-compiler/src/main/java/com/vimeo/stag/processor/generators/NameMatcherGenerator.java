@@ -0,0 +1,271 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor.generators;
+
+import com.squareup.javapoet.MethodSpec;
+import com.vimeo.stag.processor.utils.MethodSizeUtils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.lang.model.element.Modifier;
+
+/**
+ * Generates a method which maps a JSON name to the index of the
+ * member or enum constant it stands for, returning {@code -1} for
+ * unknown names.
+ * <p>
+ * Rather than switching on the name, which hashes every character
+ * of the freshly read name before comparing it to the matching case,
+ * the generated method switches on the length of the name and then
+ * on the characters which tell the candidate names apart, until a
+ * single candidate remains, which is then compared once.
+ * <p>
+ * With many names, the cases of the switches which would make the
+ * method too large to be compiled by the JIT are moved to helper methods.
+ */
+final class NameMatcherGenerator {
+
+    // The estimated bytecode sizes of the generated code
+    private static final int SWITCH_SIZE = 24;
+    private static final int SWITCH_CASE_SIZE = 8;
+    private static final int CANDIDATE_SIZE = 20;
+    private static final int HELPER_CALL_SIZE = 8;
+
+    private NameMatcherGenerator() {
+        throw new UnsupportedOperationException("This class is not instantiable");
+    }
+
+    /**
+     * Returns a private static method with the provided name, which takes the
+     * String {@code name} and returns the index it is mapped to, or {@code -1},
+     * followed by the helper methods it calls, if any.
+     *
+     * @param methodName  the name of the generated method. The helper methods are
+     *                    named after it, followed by a number.
+     * @param nameIndices the names to match, mapped to the index returned for them.
+     *                    Several names may be mapped to the same index.
+     * @return the method specs of the matcher.
+     */
+    @NotNull
+    static List<MethodSpec> getNameMatcherMethodSpecs(@NotNull String methodName,
+                                                      @NotNull Map<String, Integer> nameIndices) {
+        Map<Integer, List<String>> namesByLength = new TreeMap<>();
+        for (String name : nameIndices.keySet()) {
+            List<String> names = namesByLength.get(name.length());
+            if (null == names) {
+                names = new ArrayList<>();
+                namesByLength.put(name.length(), names);
+            }
+            names.add(name);
+        }
+        Map<String, List<String>> namesByLabel = new LinkedHashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : namesByLength.entrySet()) {
+            namesByLabel.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+
+        List<MethodSpec> methods = new ArrayList<>();
+        methods.add(null);
+        MethodSpec.Builder builder = getMethodBuilder(methodName);
+        builder.beginControlFlow("switch (name.length())");
+        addCases(builder, namesByLabel, nameIndices, methodName, methods);
+        builder.endControlFlow();
+        methods.set(0, builder.build());
+        return methods;
+    }
+
+    @NotNull
+    private static MethodSpec.Builder getMethodBuilder(@NotNull String methodName) {
+        return MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(String.class, "name")
+                .returns(int.class);
+    }
+
+    /**
+     * Adds the cases of a switch, with the candidates matched by each of the case labels, followed
+     * by the default case. If the switch is estimated to be too large, the largest cases are moved
+     * to helper methods until it is not.
+     */
+    private static void addCases(@NotNull MethodSpec.Builder builder,
+                                 @NotNull final Map<String, List<String>> candidatesByLabel,
+                                 @NotNull Map<String, Integer> nameIndices, @NotNull String methodName,
+                                 @NotNull List<MethodSpec> methods) {
+        final Map<String, Integer> sizes = new LinkedHashMap<>();
+        int size = SWITCH_SIZE;
+        for (Map.Entry<String, List<String>> entry : candidatesByLabel.entrySet()) {
+            int caseSize = getEstimatedSize(entry.getValue());
+            sizes.put(entry.getKey(), caseSize);
+            size += SWITCH_CASE_SIZE + caseSize;
+        }
+
+        Set<String> helperLabels = new HashSet<>();
+        if (size > MethodSizeUtils.MAX_METHOD_SIZE) {
+            List<String> labels = new ArrayList<>(candidatesByLabel.keySet());
+            Collections.sort(labels, new Comparator<String>() {
+                @Override
+                public int compare(String first, String second) {
+                    return sizes.get(second).compareTo(sizes.get(first));
+                }
+            });
+            for (String label : labels) {
+                if (size <= MethodSizeUtils.MAX_METHOD_SIZE) {
+                    break;
+                }
+                helperLabels.add(label);
+                size -= sizes.get(label) - HELPER_CALL_SIZE;
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : candidatesByLabel.entrySet()) {
+            builder.addCode("case $L:\n$>", entry.getKey());
+            if (helperLabels.contains(entry.getKey())) {
+                builder.addStatement("return $L(name)", addHelperMethod(entry.getValue(), nameIndices, methodName,
+                                                                          methods));
+            } else {
+                addMatcherCode(builder, entry.getValue(), nameIndices, methodName, methods);
+            }
+            builder.addCode("$<");
+        }
+        builder.addCode("default:\n$>");
+        builder.addStatement("return -1$<");
+    }
+
+    /**
+     * Adds a helper method matching the name against the candidates, which all have the same
+     * length, and returns its name.
+     */
+    @NotNull
+    private static String addHelperMethod(@NotNull List<String> candidates, @NotNull Map<String, Integer> nameIndices,
+                                          @NotNull String methodName, @NotNull List<MethodSpec> methods) {
+        int index = methods.size();
+        String helperName = methodName + index;
+        methods.add(null);
+        MethodSpec.Builder builder = getMethodBuilder(helperName);
+        addMatcherCode(builder, candidates, nameIndices, methodName, methods);
+        methods.set(index, builder.build());
+        return helperName;
+    }
+
+    /**
+     * Adds the code matching the name against the candidates, which all have the same length.
+     * The generated code always returns.
+     */
+    private static void addMatcherCode(@NotNull MethodSpec.Builder builder, @NotNull List<String> candidates,
+                                       @NotNull Map<String, Integer> nameIndices, @NotNull String methodName,
+                                       @NotNull List<MethodSpec> methods) {
+        if (candidates.size() == 1) {
+            String candidate = candidates.get(0);
+            builder.addStatement("return $S.equals(name) ? $L : -1", candidate, nameIndices.get(candidate));
+            return;
+        }
+
+        int position = getMostSelectivePosition(candidates);
+        Map<String, List<String>> candidatesByLabel = new LinkedHashMap<>();
+        for (Map.Entry<Character, List<String>> entry : getCandidatesByChar(candidates, position).entrySet()) {
+            candidatesByLabel.put(getCharLiteral(entry.getKey()), entry.getValue());
+        }
+
+        builder.beginControlFlow("switch (name.charAt($L))", position);
+        addCases(builder, candidatesByLabel, nameIndices, methodName, methods);
+        builder.endControlFlow();
+    }
+
+    /**
+     * Returns the estimated bytecode size of the code generated by {@link #addMatcherCode}
+     * for the candidates, if none of its cases are moved to helper methods.
+     */
+    private static int getEstimatedSize(@NotNull List<String> candidates) {
+        if (candidates.size() == 1) {
+            return CANDIDATE_SIZE;
+        }
+        int size = SWITCH_SIZE;
+        for (List<String> charCandidates : getCandidatesByChar(candidates, getMostSelectivePosition(candidates))
+                .values()) {
+            size += SWITCH_CASE_SIZE + getEstimatedSize(charCandidates);
+        }
+        return size;
+    }
+
+    /**
+     * Groups the candidates by their character at the position, in the order of the candidates.
+     */
+    @NotNull
+    private static Map<Character, List<String>> getCandidatesByChar(@NotNull List<String> candidates, int position) {
+        Map<Character, List<String>> candidatesByChar = new LinkedHashMap<>();
+        for (String candidate : candidates) {
+            char c = candidate.charAt(position);
+            List<String> charCandidates = candidatesByChar.get(c);
+            if (null == charCandidates) {
+                charCandidates = new ArrayList<>();
+                candidatesByChar.put(c, charCandidates);
+            }
+            charCandidates.add(candidate);
+        }
+        return candidatesByChar;
+    }
+
+    /**
+     * Returns the position at which the candidates have the most distinct characters. Since the
+     * candidates are distinct and have the same length, that is always at least two characters.
+     */
+    private static int getMostSelectivePosition(@NotNull List<String> candidates) {
+        int length = candidates.get(0).length();
+        int bestPosition = 0;
+        int bestCount = 0;
+        Set<Character> characters = new HashSet<>();
+        for (int position = 0; position < length; position++) {
+            characters.clear();
+            for (String candidate : candidates) {
+                characters.add(candidate.charAt(position));
+            }
+            if (characters.size() > bestCount) {
+                bestCount = characters.size();
+                bestPosition = position;
+            }
+        }
+        return bestPosition;
+    }
+
+    /**
+     * Returns the character as a char literal if it is printable ASCII,
+     * or as its numeric value otherwise, which is also a valid case label.
+     */
+    @NotNull
+    private static String getCharLiteral(char c) {
+        if (c >= ' ' && c <= '~' && c != '\'' && c != '\\') {
+            return "'" + c + "'";
+        }
+        return String.valueOf((int) c);
+    }
+}
@@ -29,6 +29,7 @@ import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -36,31 +37,41 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
+import com.vimeo.stag.UseStag;
 import com.vimeo.stag.processor.generators.model.AnnotatedClass;
 import com.vimeo.stag.processor.generators.model.ClassInfo;
 import com.vimeo.stag.processor.generators.model.SupportedTypesModel;
+import com.vimeo.stag.processor.utils.ElementUtils;
 import com.vimeo.stag.processor.utils.FileGenUtils;
 import com.vimeo.stag.processor.utils.KnownTypeAdapterUtils;
-import com.vimeo.stag.processor.utils.Preconditions;
 import com.vimeo.stag.processor.utils.TypeUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.annotation.processing.Filer;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
@@ -74,6 +85,34 @@ public class StagGenerator {
     @NotNull
     private final static HashMap<String, GenericClassInfo> KNOWN_COLLECTION_GENERIC_CLASSES = new HashMap<>();
     private static final String TYPE_ADAPTER_SUFFIX = "TypeAdapter";
+    private static final String FIELD_KNOWN_TYPE_INDICES = "KNOWN_TYPE_INDICES";
+    private static final String FIELD_TYPE_ADAPTERS = "mTypeAdapters";
+    private static final String FIELD_DUPLICATE_TYPE_ADAPTER_COUNT = "mDuplicateTypeAdapterCount";
+    private static final String METHOD_GET_TYPE_ADAPTER = "getTypeAdapter";
+    private static final String METHOD_PUBLISH_TYPE_ADAPTER = "publishTypeAdapter";
+    private static final String CLASS_SHARD = "Shard";
+    private static final String FIELD_KNOWN_PACKAGES = "KNOWN_PACKAGES";
+    private static final String FIELD_SHARDS = "mShards";
+    private static final String FIELD_STAG_FACTORY = "mStagFactory";
+    private static final String METHOD_GET_SHARD = "getShard";
+    private static final String FIELD_PARAMETERIZED_TYPE_ADAPTERS = "mParameterizedTypeAdapters";
+    private static final String METHOD_GET_PARAMETERIZED_TYPE_ADAPTER = "getParameterizedTypeAdapter";
+    private static final String METHOD_PUBLISH_PARAMETERIZED_TYPE_ADAPTER = "publishParameterizedTypeAdapter";
+    /**
+     * The number of known classes handled by each of the generated create methods. A parameterized
+     * class takes at most a couple of hundred bytes of bytecode to create, so this keeps every method
+     * well below the HotSpot limit of 8000 bytes, above which methods are never compiled.
+     */
+    private static final int KNOWN_TYPE_GROUP_SIZE = 32;
+    /**
+     * The number of known classes registered in the index table by each generated static method.
+     */
+    private static final int KNOWN_TYPE_REGISTRATION_GROUP_SIZE = 256;
+    /**
+     * The number of known classes above which the factory is split into shards, which is also the
+     * average number of known classes in each shard. Below it, the factory is a single class.
+     */
+    private static final int KNOWN_TYPES_PER_SHARD = 512;
 
     static {
         KNOWN_MAP_GENERIC_CLASSES.put(Map.class.getName(), new GenericClassInfo(2, false));
@@ -90,7 +129,7 @@ public class StagGenerator {
     @NotNull
     private final List<ClassInfo> mKnownClasses;
     @NotNull
-    private final HashMap<String, String> mFieldNameMap = new HashMap<>();
+    private final HashSet<String> mKnownClassNames = new HashSet<>();
     @NotNull
     private final HashMap<String, String> mUnknownAdapterFieldMap = new HashMap<>();
     @NotNull
@@ -100,90 +139,52 @@ public class StagGenerator {
     @NotNull
     private final String mGeneratedPackageName;
     @NotNull
-    private final Set<TypeMirror> mKnownTypes;
+    private final String mGeneratedFactoryName;
+    @NotNull
+    private final Set<Element> mRootElements;
+    @NotNull
+    private final HashMap<String, Boolean> mKnownTypes = new HashMap<>();
     @NotNull
-    private final Map<String, ExternalAdapterInfo> mExternalSupportedAdapters;
+    private final HashMap<String, ExternalAdapterInfo> mExternalSupportedAdapters = new HashMap<>();
     @NotNull
     private final HashMap<String, String> mKnownAdapterFieldMap = new HashMap<>();
     @NotNull
     private final HashMap<String, String> mKnownFieldToMethodNameMap = new HashMap<>();
+    @NotNull
+    private final HashMap<String, Integer> mKnownClassShards = new HashMap<>();
+    @NotNull
+    private final LinkedHashMap<String, DeclaredType> mSpecializedTypes = new LinkedHashMap<>();
+    @NotNull
+    private final HashMap<String, String> mSpecializedAdapterNames = new HashMap<>();
+    private final boolean mCompactObjects;
+    private final int mShardCount;
+    private boolean mSpecializedTypesClosed;
 
+    /**
+     * @param knownTypes   the types registered by the {@code Stag.Factory}.
+     * @param rootElements the root elements of the round, whose models have their type
+     *                     adapters generated along with the factory.
+     */
     public StagGenerator(@NotNull String generatedPackageName, @NotNull Filer filer,
-                         @NotNull Set<TypeMirror> knownTypes,
-                         @NotNull Set<ExternalAdapterInfo> externalSupportedAdapters) {
+                         @NotNull Set<TypeMirror> knownTypes, @NotNull Set<? extends Element> rootElements,
+                         boolean compactObjects) {
         mFiler = filer;
-        mKnownTypes = knownTypes;
+        mCompactObjects = compactObjects;
         mGeneratedPackageName = generatedPackageName;
+        mGeneratedFactoryName = getGeneratedFactoryClassAndPackage(generatedPackageName);
+        mRootElements = new HashSet<>(rootElements);
         mKnownClasses = new ArrayList<>(knownTypes.size());
-        mExternalSupportedAdapters = new HashMap<>(externalSupportedAdapters.size());
 
-        Map<String, ClassInfo> knownFieldNames = new HashMap<>(knownTypes.size());
-        Map<String, List<ClassInfo>> clashingClassNames = new HashMap<>(knownTypes.size());
-        Set<ClassInfo> genericClasses = new HashSet<>();
         for (TypeMirror knownType : knownTypes) {
-            if (!TypeUtils.isAbstract(knownType)) {
-                String adapterFactoryMethodName = null;
-                ClassInfo classInfo = new ClassInfo(knownType);
-                List<? extends TypeMirror> typeArguments = classInfo.getTypeArguments();
-                if (null == typeArguments || typeArguments.isEmpty()) {
-                    adapterFactoryMethodName = classInfo.getTypeAdapterClassName();
-                    ClassInfo clashingClass = knownFieldNames.get(adapterFactoryMethodName);
-                    if (null != clashingClass) {
-                        List<ClassInfo> classInfoList = clashingClassNames.get(adapterFactoryMethodName);
-                        if (null == classInfoList) {
-                            classInfoList = new ArrayList<>();
-                            classInfoList.add(clashingClass);
-                            clashingClassNames.put(adapterFactoryMethodName, classInfoList);
-                        }
-                        classInfoList.add(classInfo);
-                    } else {
-                        knownFieldNames.put(adapterFactoryMethodName, classInfo);
-                    }
-                } else {
-                    genericClasses.add(classInfo);
-                }
-                mKnownClasses.add(classInfo);
-                mFieldNameMap.put(knownType.toString(), adapterFactoryMethodName);
-            }
-        }
-
-        //Resolve names for clashing classes
-        for (Map.Entry<String, List<ClassInfo>> entry : clashingClassNames.entrySet()) {
-            String adapterFactoryMethodName = entry.getKey();
-            for (ClassInfo classInfo : entry.getValue()) {
-                StringBuilder newAdapterName = new StringBuilder();
-                for (String path : classInfo.getPackageName().split("\\.")) {
-                    newAdapterName.append(Character.toUpperCase(path.charAt(0)));
-                    if (path.length() > 1) {
-                        newAdapterName.append(path.substring(1));
-                    }
-                }
-                newAdapterName.append(adapterFactoryMethodName);
-                mFieldNameMap.put(classInfo.getType().toString(), newAdapterName.toString());
+            if (!TypeUtils.isAbstract(knownType) && mKnownClassNames.add(knownType.toString())) {
+                mKnownClasses.add(new ClassInfo(knownType));
             }
         }
 
-        for (ExternalAdapterInfo entry : externalSupportedAdapters) {
-            TypeMirror externalType = entry.mExternalClassType.asType();
-            mExternalSupportedAdapters.put(externalType.toString(), entry);
-        }
-
-        for (ClassInfo knownGenericType : genericClasses) {
-            List<? extends TypeMirror> typeArguments = knownGenericType.getTypeArguments();
-            AnnotatedClass annotatedClass =
-                    SupportedTypesModel.getInstance().getSupportedType(knownGenericType.getType());
-            Map<Element, TypeMirror> memberVariables = annotatedClass.getMemberVariables();
-            boolean hasUnknownTypeFields = false;
-            for (TypeMirror type : memberVariables.values()) {
-                if (!checkKnownAdapters(type)) {
-                    hasUnknownTypeFields = true;
-                    break;
-                }
-            }
-
-            Preconditions.checkNotNull(typeArguments);
-            mGenericClassInfo.put(knownGenericType.getType().toString(),
-                                  new GenericClassInfo(typeArguments.size(), hasUnknownTypeFields));
+        mShardCount = Math.max(1, (mKnownClasses.size() + KNOWN_TYPES_PER_SHARD - 1) / KNOWN_TYPES_PER_SHARD);
+        for (ClassInfo classInfo : mKnownClasses) {
+            mKnownClassShards.put(classInfo.getType().toString(),
+                                  getShardIndex(classInfo.getBinaryName().hashCode()));
         }
     }
 
@@ -232,8 +233,38 @@ public class StagGenerator {
         return result;
     }
 
+    /**
+     * Returns true if the type is a model whose type adapter is created by the {@code Stag.Factory}
+     * of this module, which is a model that is not abstract, declared by a class annotated with
+     * {@link UseStag}, and either compiled along with the factory or whose type adapter was generated
+     * with a factory of the same name, such as by an earlier compilation of the module.
+     * <p>
+     * Like the names of the getters and of the type tokens, this only depends on the model itself,
+     * so that the type adapter of each model can be generated without the other models.
+     */
     boolean isKnownType(@NotNull TypeMirror mirror) {
-        return mKnownTypes.contains(mirror);
+        if (!(mirror instanceof DeclaredType)) {
+            return false;
+        }
+        Element element = ((DeclaredType) mirror).asElement();
+        String key = element.asType().toString();
+        Boolean isKnownType = mKnownTypes.get(key);
+        if (null == isKnownType) {
+            isKnownType = false;
+            Element topLevelElement = ElementUtils.getTopLevelElement(element);
+            if (!TypeUtils.isAbstract(element) && null != topLevelElement.getAnnotation(UseStag.class)) {
+                if (mRootElements.contains(topLevelElement)) {
+                    isKnownType = true;
+                } else {
+                    ExecutableElement adapterConstructor = ExternalAdapterInfo.getAdapterConstructor(
+                            ExternalAdapterInfo.getAdapterTypeElement(element));
+                    isKnownType = null != adapterConstructor && mGeneratedFactoryName.equals(
+                            adapterConstructor.getParameters().get(1).asType().toString());
+                }
+            }
+            mKnownTypes.put(key, isKnownType);
+        }
+        return isKnownType;
     }
 
     private boolean checkKnownAdapters(@NotNull TypeMirror typeMirror) {
@@ -248,10 +279,11 @@ public class StagGenerator {
         if (typeMirror instanceof DeclaredType) {
             DeclaredType declaredType = ((DeclaredType) typeMirror);
             Element outerClassType = declaredType.asElement();
-            if (!mFieldNameMap.containsKey(outerClassType.asType().toString()) &&
+            if (!isKnownType(declaredType) &&
                 !KNOWN_COLLECTION_GENERIC_CLASSES.containsKey(outerClassType.toString()) &&
                 !KNOWN_MAP_GENERIC_CLASSES.containsKey(outerClassType.toString()) &&
-                !mExternalSupportedAdapters.containsKey(typeMirror.toString())) {
+                !TypeUtils.isLazyValue(typeMirror) &&
+                null == getExternalSupportedAdapter(typeMirror)) {
                 return false;
             }
 
@@ -264,31 +296,93 @@ public class StagGenerator {
             return true;
         }
 
-        return mFieldNameMap.get(typeMirror.toString()) != null;
+        return false;
     }
 
+    /**
+     * Returns how the type adapter of the generic model is created, or null if the type is not the
+     * type of a generic model, such as {@code GenericClass<T>}.
+     */
     @Nullable
     GenericClassInfo getGenericClassInfo(@NotNull TypeMirror typeMirror) {
-        return mGenericClassInfo.get(typeMirror.toString());
+        String key = typeMirror.toString();
+        if (mGenericClassInfo.containsKey(key)) {
+            return mGenericClassInfo.get(key);
+        }
+
+        GenericClassInfo genericClassInfo = null;
+        if (typeMirror instanceof DeclaredType && !TypeUtils.isAbstract(typeMirror) &&
+            !((DeclaredType) typeMirror).getTypeArguments().isEmpty() &&
+            key.equals(((DeclaredType) typeMirror).asElement().asType().toString())) {
+            AnnotatedClass annotatedClass = SupportedTypesModel.getInstance().getSupportedType(typeMirror);
+            boolean hasUnknownTypeFields = false;
+            for (TypeMirror type : annotatedClass.getMemberVariables().values()) {
+                if (!checkKnownAdapters(type)) {
+                    hasUnknownTypeFields = true;
+                    break;
+                }
+            }
+            genericClassInfo = new GenericClassInfo(((DeclaredType) typeMirror).getTypeArguments().size(),
+                                                    hasUnknownTypeFields);
+        }
+        mGenericClassInfo.put(key, genericClassInfo);
+        return genericClassInfo;
     }
 
+    /**
+     * Returns the name of the getter of the type adapter of the model, less its get prefix, or null
+     * if the type is not a model of this module which is not generic. The model is then registered
+     * by the {@code Stag.Factory}, if it was not already.
+     */
     @Nullable
     String getClassAdapterFactoryMethod(@NotNull TypeMirror fieldType) {
-        return TypeUtils.isConcreteType(fieldType) ? mFieldNameMap.get(fieldType.toString()) : null;
+        if (!TypeUtils.isConcreteType(fieldType) || !(fieldType instanceof DeclaredType) ||
+            !((TypeElement) ((DeclaredType) fieldType).asElement()).getTypeParameters().isEmpty() ||
+            !isKnownType(fieldType)) {
+            return null;
+        }
+        if (mKnownClassNames.add(fieldType.toString())) {
+            ClassInfo classInfo = new ClassInfo(fieldType);
+            mKnownClasses.add(classInfo);
+            mKnownClassShards.put(fieldType.toString(), getShardIndex(classInfo.getBinaryName().hashCode()));
+        }
+        return getClassAdapterFactoryMethodName(new ClassInfo(fieldType));
+    }
+
+    /**
+     * Returns the name of the getter of the type adapter of the model, less its get prefix, which is
+     * derived from the qualified name of the model, such as {@code ComVimeoSampleVideo$TypeAdapter}.
+     */
+    @NotNull
+    private static String getClassAdapterFactoryMethodName(@NotNull ClassInfo classInfo) {
+        StringBuilder name = new StringBuilder();
+        for (String path : classInfo.getPackageName().split("\\.")) {
+            if (!path.isEmpty()) {
+                name.append(Character.toUpperCase(path.charAt(0))).append(path.substring(1));
+            }
+        }
+        return name.append(classInfo.getTypeAdapterClassName()).toString();
     }
 
     /**
      * Generates the public API in the form of the {@code Stag.Factory} type adapter factory
      * for the annotated classes.
      *
+     * @param generatedPackageName the package of the factory.
+     * @param originatingElements  the elements of all the supported types, which the factory
+     *                             is generated from.
      * @throws IOException throws an exception
      *                     if we are unable to write the file
      *                     to the filesystem.
      */
-    public void generateTypeAdapterFactory(@NotNull String generatedPackageName) throws IOException {
+    public void generateTypeAdapterFactory(@NotNull String generatedPackageName,
+                                           @NotNull Set<Element> originatingElements) throws IOException {
         TypeSpec.Builder adaptersBuilder =
                 TypeSpec.classBuilder(CLASS_STAG).addModifiers(Modifier.PUBLIC, Modifier.FINAL);
         adaptersBuilder.addType(getAdapterFactorySpec());
+        for (Element element : originatingElements) {
+            adaptersBuilder.addOriginatingElement(element);
+        }
 
         JavaFile javaFile = JavaFile.builder(generatedPackageName, adaptersBuilder.build()).build();
         FileGenUtils.writeToFile(javaFile, mFiler);
@@ -296,90 +390,294 @@ public class StagGenerator {
 
     @NotNull
     private TypeSpec getAdapterFactorySpec() {
-        TypeVariableName genericTypeName = TypeVariableName.get("T");
-
         TypeSpec.Builder adapterFactoryBuilder = TypeSpec.classBuilder(CLASS_TYPE_ADAPTER_FACTORY)
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                 .addSuperinterface(TypeAdapterFactory.class);
 
-        MethodSpec.Builder createMethodBuilder = MethodSpec.methodBuilder("create")
+        MethodSpec.Builder createMethodBuilder = getCreateMethodBuilder()
                 .addModifiers(Modifier.PUBLIC)
-                .addAnnotation(Override.class)
-                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
-                                       .addMember("value", "\"unchecked\"")
-                                       .build())
+                .addAnnotation(Override.class);
+
+        addDuplicateTypeAdapterCount(adapterFactoryBuilder);
+
+        if (mShardCount == 1) {
+            int typeAdapterCount = addTypeAdapters(adapterFactoryBuilder, createMethodBuilder, mKnownClasses,
+                                                   mUnknownClasses, mKnownAdapterFieldMap, true);
+            adapterFactoryBuilder.addMethod(createMethodBuilder.build());
+            addTypeAdapterCache(adapterFactoryBuilder, typeAdapterCount, FIELD_DUPLICATE_TYPE_ADAPTER_COUNT);
+            return adapterFactoryBuilder.build();
+        }
+
+        /*
+         * With many known classes, the type adapters are split by the hash of their type into shards,
+         * which are classes of their own, created the first time one of their type adapters is needed.
+         * Only the shards which are used are loaded, and no generated class grows beyond the size of a
+         * shard. The factory itself only dispatches to the shards, and returns null for the classes
+         * outside of the packages of the known classes without loading any shard.
+         */
+        List<List<ClassInfo>> knownClasses = new ArrayList<>(mShardCount);
+        List<List<ClassInfo>> unknownClasses = new ArrayList<>(mShardCount);
+        List<Map<String, String>> knownAdapterFields = new ArrayList<>(mShardCount);
+        for (int shardIdx = 0; shardIdx < mShardCount; shardIdx++) {
+            knownClasses.add(new ArrayList<ClassInfo>());
+            unknownClasses.add(new ArrayList<ClassInfo>());
+            knownAdapterFields.add(new HashMap<String, String>());
+        }
+        Set<String> knownPackages = new TreeSet<>();
+        for (ClassInfo classInfo : mKnownClasses) {
+            knownClasses.get(getShardIndex(classInfo.getType().toString())).add(classInfo);
+            String binaryName = classInfo.getBinaryName();
+            knownPackages.add(binaryName.substring(0, Math.max(0, binaryName.lastIndexOf('.'))));
+        }
+        for (ClassInfo classInfo : mUnknownClasses) {
+            unknownClasses.get(getShardIndex(classInfo.getType().toString())).add(classInfo);
+        }
+        for (Map.Entry<String, String> entry : mKnownAdapterFieldMap.entrySet()) {
+            knownAdapterFields.get(getShardIndex(entry.getKey())).put(entry.getKey(), entry.getValue());
+        }
+
+        TypeName packagesTypeName = ParameterizedTypeName.get(HashSet.class, String.class);
+        adapterFactoryBuilder.addField(
+                FieldSpec.builder(packagesTypeName, FIELD_KNOWN_PACKAGES, Modifier.PRIVATE, Modifier.STATIC,
+                                  Modifier.FINAL)
+                        .initializer("new HashSet<>($L)", (int) (knownPackages.size() / 0.75f) + 1)
+                        .build());
+        CodeBlock.Builder staticBlockBuilder = CodeBlock.builder();
+        for (String knownPackage : knownPackages) {
+            staticBlockBuilder.addStatement(FIELD_KNOWN_PACKAGES + ".add($S)", knownPackage);
+        }
+        adapterFactoryBuilder.addStaticBlock(staticBlockBuilder.build());
+
+        TypeName shardsTypeName = ParameterizedTypeName.get(AtomicReferenceArray.class, Object.class);
+        adapterFactoryBuilder.addField(
+                FieldSpec.builder(shardsTypeName, FIELD_SHARDS, Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T<>($L)", AtomicReferenceArray.class, mShardCount)
+                        .build());
+
+        createMethodBuilder.addStatement("String name = clazz.getName()");
+        createMethodBuilder.beginControlFlow("if (!" + FIELD_KNOWN_PACKAGES +
+                                             ".contains(name.substring(0, Math.max(0, name.lastIndexOf('.')))))");
+        createMethodBuilder.addStatement("return null");
+        createMethodBuilder.endControlFlow();
+        createMethodBuilder.beginControlFlow("switch ((name.hashCode() & Integer.MAX_VALUE) % " + mShardCount + ")");
+
+        ClassName factoryClassName = ClassName.get(mGeneratedPackageName, CLASS_STAG, CLASS_TYPE_ADAPTER_FACTORY);
+        for (int shardIdx = 0; shardIdx < mShardCount; shardIdx++) {
+            ClassName shardClassName = factoryClassName.nestedClass(CLASS_SHARD + shardIdx);
+            TypeSpec.Builder shardBuilder = TypeSpec.classBuilder(shardClassName.simpleName())
+                    .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addField(factoryClassName, FIELD_STAG_FACTORY, Modifier.PRIVATE, Modifier.FINAL)
+                    .addMethod(MethodSpec.constructorBuilder()
+                                       .addModifiers(Modifier.PRIVATE)
+                                       .addParameter(factoryClassName, "stagFactory")
+                                       .addStatement("this." + FIELD_STAG_FACTORY + " = stagFactory")
+                                       .build());
+
+            MethodSpec.Builder shardCreateMethodBuilder = getCreateMethodBuilder();
+            int typeAdapterCount = addTypeAdapters(shardBuilder, shardCreateMethodBuilder,
+                                                   knownClasses.get(shardIdx), unknownClasses.get(shardIdx),
+                                                   knownAdapterFields.get(shardIdx), false);
+            shardBuilder.addMethod(shardCreateMethodBuilder.build());
+            addTypeAdapterCache(shardBuilder, typeAdapterCount,
+                                FIELD_STAG_FACTORY + "." + FIELD_DUPLICATE_TYPE_ADAPTER_COUNT);
+            TypeSpec shardSpec = shardBuilder.build();
+            adapterFactoryBuilder.addType(shardSpec);
+
+            // The getters of the shard are called through the factory, which loads the shard when needed
+            for (MethodSpec methodSpec : shardSpec.methodSpecs) {
+                if (methodSpec.modifiers.contains(Modifier.PUBLIC) && methodSpec.parameters.size() == 1 &&
+                    methodSpec.parameters.get(0).type.equals(ClassName.get(Gson.class))) {
+                    adapterFactoryBuilder.addMethod(
+                            MethodSpec.methodBuilder(methodSpec.name)
+                                    .addModifiers(Modifier.PUBLIC)
+                                    .addParameter(Gson.class, "gson")
+                                    .returns(methodSpec.returnType)
+                                    .addStatement("return " + METHOD_GET_SHARD + shardIdx + "().$L(gson)",
+                                                  methodSpec.name)
+                                    .build());
+                }
+            }
+
+            adapterFactoryBuilder.addMethod(
+                    MethodSpec.methodBuilder(METHOD_GET_SHARD + shardIdx)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(shardClassName)
+                            .addStatement("$T shard = ($T) " + FIELD_SHARDS + ".get($L)", shardClassName,
+                                          shardClassName, shardIdx)
+                            .beginControlFlow("if (null == shard)")
+                            .addStatement("shard = new $T(this)", shardClassName)
+                            .beginControlFlow("if (!" + FIELD_SHARDS + ".compareAndSet($L, null, shard))", shardIdx)
+                            .addStatement("shard = ($T) " + FIELD_SHARDS + ".get($L)", shardClassName, shardIdx)
+                            .endControlFlow()
+                            .endControlFlow()
+                            .addStatement("return shard")
+                            .build());
+
+            createMethodBuilder.addCode("case " + shardIdx + ":\n");
+            createMethodBuilder.addStatement("$>return " + METHOD_GET_SHARD + shardIdx + "().create(gson, type)$<");
+        }
+
+        createMethodBuilder.endControlFlow();
+        createMethodBuilder.addStatement("return null");
+        adapterFactoryBuilder.addMethod(createMethodBuilder.build());
+
+        return adapterFactoryBuilder.build();
+    }
+
+    /**
+     * Returns the builder of a create method, which {@link #addTypeAdapters} completes.
+     */
+    @NotNull
+    private static MethodSpec.Builder getCreateMethodBuilder() {
+        TypeVariableName genericTypeName = TypeVariableName.get("T");
+        TypeName typeAdapterTypeName = ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), genericTypeName);
+        TypeName typeTokenTypeName = ParameterizedTypeName.get(ClassName.get(TypeToken.class), genericTypeName);
+        return MethodSpec.methodBuilder("create")
                 .addTypeVariable(genericTypeName)
-                .returns(ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), genericTypeName))
+                .returns(typeAdapterTypeName)
                 .addParameter(Gson.class, "gson")
-                .addParameter(ParameterizedTypeName.get(ClassName.get(TypeToken.class), genericTypeName),
-                              "type")
+                .addParameter(typeTokenTypeName, "type")
                 .addStatement("Class<? super T> clazz = type.getRawType()");
+    }
+
+    /**
+     * Adds the getters of the type adapters of the provided classes and fields to the builder, and
+     * the creation of the type adapters of the known classes to the create method.
+     *
+     * @param isFactory true if the builder is the one of the {@code Stag.Factory}, false if it is the
+     *                  one of a shard of the factory.
+     * @return the number of type adapters cached by the getters.
+     */
+    private int addTypeAdapters(@NotNull TypeSpec.Builder adapterFactoryBuilder,
+                                @NotNull MethodSpec.Builder createMethodBuilder,
+                                @NotNull List<ClassInfo> knownClasses, @NotNull List<ClassInfo> unknownClasses,
+                                @NotNull Map<String, String> knownAdapterFieldMap, boolean isFactory) {
+        TypeVariableName genericTypeName = TypeVariableName.get("T");
+        TypeName typeAdapterTypeName = ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), genericTypeName);
+        TypeName typeTokenTypeName = ParameterizedTypeName.get(ClassName.get(TypeToken.class), genericTypeName);
+        TypeName rawClassTypeName =
+                ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.supertypeOf(genericTypeName));
+        String factoryReference = isFactory ? "this" : FIELD_STAG_FACTORY;
+
+        /*
+         * The known classes are dispatched through a table of the class names to their index, and
+         * then through a switch on the index, rather than comparing the class against every known
+         * class. The switch is split into groups of methods, so that none of the generated methods
+         * grows beyond the size that the JIT is willing to compile, regardless of the number of
+         * known classes. The table is keyed by the name rather than the class itself so that the
+         * model classes are only loaded once they are actually requested.
+         */
+        TypeName indicesTypeName = ParameterizedTypeName.get(HashMap.class, String.class, Integer.class);
+        adapterFactoryBuilder.addField(
+                FieldSpec.builder(indicesTypeName, FIELD_KNOWN_TYPE_INDICES, Modifier.PRIVATE, Modifier.STATIC,
+                                  Modifier.FINAL)
+                        .initializer("new HashMap<>($L)", (int) (knownClasses.size() / 0.75f) + 1)
+                        .build());
+        CodeBlock.Builder staticBlockBuilder = CodeBlock.builder();
+
+        createMethodBuilder.addStatement("Integer index = " + FIELD_KNOWN_TYPE_INDICES + ".get(clazz.getName())");
+        createMethodBuilder.beginControlFlow("if (null == index)");
+        createMethodBuilder.addStatement("return null");
+        createMethodBuilder.endControlFlow();
+        createMethodBuilder.beginControlFlow("switch (index / " + KNOWN_TYPE_GROUP_SIZE + ")");
+
+        MethodSpec.Builder registerMethodBuilder = null;
+        MethodSpec.Builder createGroupMethodBuilder = null;
+        int typeAdapterCount = 0;
+        boolean hasParameterizedClasses = false;
 
         /*
          * Iterate through all the registered known classes, and map the classes to its corresponding type adapters.
          */
-        for (ClassInfo classInfo : mKnownClasses) {
+        for (int classIdx = 0; classIdx < knownClasses.size(); classIdx++) {
+            ClassInfo classInfo = knownClasses.get(classIdx);
+
+            if (classIdx % KNOWN_TYPE_REGISTRATION_GROUP_SIZE == 0) {
+                if (null != registerMethodBuilder) {
+                    adapterFactoryBuilder.addMethod(registerMethodBuilder.build());
+                }
+                String registerMethodName = "registerKnownTypes" + classIdx / KNOWN_TYPE_REGISTRATION_GROUP_SIZE;
+                registerMethodBuilder = MethodSpec.methodBuilder(registerMethodName)
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC);
+                staticBlockBuilder.addStatement(registerMethodName + "()");
+            }
+            registerMethodBuilder.addStatement(FIELD_KNOWN_TYPE_INDICES + ".put($S, $L)", classInfo.getBinaryName(),
+                                               classIdx);
+
+            if (classIdx % KNOWN_TYPE_GROUP_SIZE == 0) {
+                if (null != createGroupMethodBuilder) {
+                    addCreateGroupMethod(adapterFactoryBuilder, createGroupMethodBuilder);
+                }
+                String createGroupMethodName = "createKnownTypeGroup" + classIdx / KNOWN_TYPE_GROUP_SIZE;
+                createGroupMethodBuilder = MethodSpec.methodBuilder(createGroupMethodName)
+                        .addModifiers(Modifier.PRIVATE)
+                        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                               .addMember("value", "\"unchecked\"")
+                                               .build())
+                        .addTypeVariable(genericTypeName)
+                        .returns(typeAdapterTypeName)
+                        .addParameter(Gson.class, "gson")
+                        .addParameter(typeTokenTypeName, "type")
+                        .addParameter(rawClassTypeName, "clazz")
+                        .addParameter(int.class, "index")
+                        .beginControlFlow("switch (index)");
+                createMethodBuilder.addCode("case " + classIdx / KNOWN_TYPE_GROUP_SIZE + ":\n");
+                createMethodBuilder.addStatement("$>return " + createGroupMethodName + "(gson, type, clazz, index)$<");
+            }
+
+            createGroupMethodBuilder.addCode("case " + classIdx + ":\n$>");
+            createGroupMethodBuilder.beginControlFlow(
+                    "if (clazz == " + classInfo.getClassAndPackage() + ".class)");
+
             String qualifiedTypeAdapterName = classInfo.getTypeAdapterQualifiedClassName();
             List<? extends TypeMirror> typeArguments = classInfo.getTypeArguments();
             if (null == typeArguments || typeArguments.isEmpty()) {
                 /*
                  *  This is used to generate the code if the class does not have any type arguments, or it is not parameterized.
                  */
-                String variableName = mFieldNameMap.get(classInfo.getType().toString());
+                String variableName = getClassAdapterFactoryMethodName(classInfo);
                 TypeName typeName = TypeVariableName.get(classInfo.getType());
                 TypeName parameterizedTypeName =
                         ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeName);
-                String fieldName = "m" + variableName;
-                FieldSpec.Builder fieldSpecBuilder = FieldSpec.builder(parameterizedTypeName,
-                                                                       FileGenUtils.unescapeEscapedString(
-                                                                               fieldName), Modifier.PRIVATE);
-                adapterFactoryBuilder.addField(fieldSpecBuilder.build());
                 String getAdapterFactoryMethodName = "get" + variableName;
-                //Build a getter method
-                MethodSpec.Builder getAdapterMethodBuilder = MethodSpec.methodBuilder(
-                        FileGenUtils.unescapeEscapedString(getAdapterFactoryMethodName))
-                        .addModifiers(Modifier.PUBLIC)
-                        .addParameter(Gson.class, "gson")
-                        .returns(parameterizedTypeName);
+                addTypeAdapterGetter(adapterFactoryBuilder, getAdapterFactoryMethodName, parameterizedTypeName,
+                                     "new " + qualifiedTypeAdapterName + "(gson, " + factoryReference + ")",
+                                     typeAdapterCount++, false);
 
-                getAdapterMethodBuilder.beginControlFlow("if (null == " + fieldName + ")");
-                getAdapterMethodBuilder.addStatement(
-                        fieldName + " = new " + qualifiedTypeAdapterName + "(gson, this)");
-                getAdapterMethodBuilder.endControlFlow();
-                getAdapterMethodBuilder.addStatement("return " + fieldName);
-                adapterFactoryBuilder.addMethod(getAdapterMethodBuilder.build());
-
-                createMethodBuilder.beginControlFlow(
-                        "if (clazz == " + classInfo.getClassAndPackage() + ".class)");
-                createMethodBuilder.addStatement(
+                createGroupMethodBuilder.addStatement(
                         "return (TypeAdapter<T>) " + getAdapterFactoryMethodName + "(gson)");
-                createMethodBuilder.endControlFlow();
-                createMethodBuilder.addCode("\n");
             } else {
 
-                GenericClassInfo genericClassInfo = mGenericClassInfo.get(classInfo.getType().toString());
+                GenericClassInfo genericClassInfo = getGenericClassInfo(classInfo.getType());
                 boolean hasUnknownTypes =
                         null != genericClassInfo && genericClassInfo.mHasUnknownVarTypeFields;
 
                 /*
                  *  This is used to generate the code if the class has type arguments, or it is parameterized.
+                 *  The type adapter is created once for each parameterization of the class, and then
+                 *  taken from the cache keyed by the type.
                  */
-                createMethodBuilder.beginControlFlow(
-                        "if (clazz == " + classInfo.getClassAndPackage() + ".class)");
-                createMethodBuilder.addStatement("java.lang.reflect.Type parameters = type.getType()");
-                createMethodBuilder.beginControlFlow(
+                hasParameterizedClasses = true;
+                createGroupMethodBuilder.addStatement("java.lang.reflect.Type parameters = type.getType()");
+                createGroupMethodBuilder.addStatement("TypeAdapter<T> parameterizedTypeAdapter = " +
+                                                      METHOD_GET_PARAMETERIZED_TYPE_ADAPTER + "(parameters)");
+                createGroupMethodBuilder.beginControlFlow("if (null != parameterizedTypeAdapter)");
+                createGroupMethodBuilder.addStatement("return parameterizedTypeAdapter");
+                createGroupMethodBuilder.endControlFlow();
+                createGroupMethodBuilder.beginControlFlow(
                         "if (parameters instanceof java.lang.reflect.ParameterizedType)");
-                createMethodBuilder.addStatement(
+                createGroupMethodBuilder.addStatement(
                         "java.lang.reflect.ParameterizedType parameterizedType = (java.lang.reflect.ParameterizedType) parameters");
-                createMethodBuilder.addStatement(
+                createGroupMethodBuilder.addStatement(
                         "java.lang.reflect.Type[] parametersType = parameterizedType.getActualTypeArguments()");
-                String statement = "return (TypeAdapter<T>) new " + qualifiedTypeAdapterName + "(gson, this";
+                String statement = "parameterizedTypeAdapter = (TypeAdapter<T>) new " + qualifiedTypeAdapterName +
+                                   "(gson, " + factoryReference;
 
                 for (int idx = 0; idx < typeArguments.size(); idx++) {
                     if (!hasUnknownTypes) {
-                        createMethodBuilder.addStatement("TypeAdapter typeAdapter" + idx +
-                                                         " = gson.getAdapter(TypeToken.get(parametersType[" +
-                                                         idx + "]))");
+                        createGroupMethodBuilder.addStatement("TypeAdapter typeAdapter" + idx +
+                                                              " = gson.getAdapter(TypeToken.get(parametersType[" +
+                                                              idx + "]))");
                         statement += ", typeAdapter" + idx;
                     } else {
                         statement += ", parametersType[" + idx + "]";
@@ -387,13 +685,14 @@ public class StagGenerator {
                 }
 
                 statement += ")";
-                createMethodBuilder.addStatement(statement);
-                createMethodBuilder.endControlFlow();
-                createMethodBuilder.beginControlFlow("else");
-                createMethodBuilder.addStatement("TypeToken objectToken = TypeToken.get(Object.class)");
-                statement = "return (TypeAdapter<T>) new " + qualifiedTypeAdapterName + "(gson, this";
+                createGroupMethodBuilder.addStatement(statement);
+                createGroupMethodBuilder.endControlFlow();
+                createGroupMethodBuilder.beginControlFlow("else");
+                createGroupMethodBuilder.addStatement("TypeToken objectToken = TypeToken.get(Object.class)");
+                statement = "parameterizedTypeAdapter = (TypeAdapter<T>) new " + qualifiedTypeAdapterName +
+                            "(gson, " + factoryReference;
                 if (!hasUnknownTypes) {
-                    createMethodBuilder.addStatement(
+                    createGroupMethodBuilder.addStatement(
                             "TypeAdapter typeAdapter = gson.getAdapter(objectToken)");
                 }
                 for (int idx = 0; idx < typeArguments.size(); idx++) {
@@ -405,79 +704,272 @@ public class StagGenerator {
 
                 }
                 statement += ")";
-                createMethodBuilder.addStatement(statement);
-                createMethodBuilder.endControlFlow();
-                createMethodBuilder.endControlFlow();
-                createMethodBuilder.addCode("\n");
+                createGroupMethodBuilder.addStatement(statement);
+                createGroupMethodBuilder.endControlFlow();
+                createGroupMethodBuilder.addStatement("return " + METHOD_PUBLISH_PARAMETERIZED_TYPE_ADAPTER +
+                                                      "(parameters, parameterizedTypeAdapter)");
             }
+
+            createGroupMethodBuilder.endControlFlow();
+            createGroupMethodBuilder.addStatement("break$<");
+        }
+
+        if (null != registerMethodBuilder) {
+            adapterFactoryBuilder.addMethod(registerMethodBuilder.build());
+        }
+        if (null != createGroupMethodBuilder) {
+            addCreateGroupMethod(adapterFactoryBuilder, createGroupMethodBuilder);
+        }
+        adapterFactoryBuilder.addStaticBlock(staticBlockBuilder.build());
+        createMethodBuilder.endControlFlow();
+        if (hasParameterizedClasses) {
+            addParameterizedTypeAdapterCache(adapterFactoryBuilder, isFactory ? FIELD_DUPLICATE_TYPE_ADAPTER_COUNT :
+                    FIELD_STAG_FACTORY + "." + FIELD_DUPLICATE_TYPE_ADAPTER_COUNT);
         }
 
         /*
          * Iterate through all the registered unknown classes, and map the classes to its corresponding type adapters.
          */
-        for (ClassInfo classInfo : mUnknownClasses) {
+        for (ClassInfo classInfo : unknownClasses) {
             String variableName = mUnknownAdapterFieldMap.get(classInfo.getType().toString());
             TypeName typeName = TypeVariableName.get(classInfo.getType());
             TypeName parameterizedTypeName =
                     ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeName);
-            String fieldName = "mAdapter" + variableName;
-            FieldSpec.Builder fieldSpecBuilder =
-                    FieldSpec.builder(parameterizedTypeName, FileGenUtils.unescapeEscapedString(fieldName),
-                                      Modifier.PRIVATE);
-            adapterFactoryBuilder.addField(fieldSpecBuilder.build());
             String getAdapterFactoryMethodName = "get" + variableName;
 
-            MethodSpec.Builder getAdapterMethodBuilder =
-                    MethodSpec.methodBuilder(FileGenUtils.unescapeEscapedString(getAdapterFactoryMethodName))
-                            .addModifiers(Modifier.PUBLIC)
-                            .addParameter(Gson.class, "gson")
-                            .returns(parameterizedTypeName);
-            getAdapterMethodBuilder.beginControlFlow("if (null == " + fieldName + ")");
-
             String knownTypeAdapterForType =
                     KnownTypeAdapterUtils.getKnownTypeAdapterForType(classInfo.getType());
             if (null != knownTypeAdapterForType) {
-                fieldName += knownTypeAdapterForType;
+                MethodSpec.Builder getAdapterMethodBuilder =
+                        MethodSpec.methodBuilder(FileGenUtils.unescapeEscapedString(getAdapterFactoryMethodName))
+                                .addModifiers(Modifier.PUBLIC)
+                                .addParameter(Gson.class, "gson")
+                                .returns(parameterizedTypeName);
+                getAdapterMethodBuilder.addStatement("return " + knownTypeAdapterForType);
+                adapterFactoryBuilder.addMethod(getAdapterMethodBuilder.build());
             } else {
-                getAdapterMethodBuilder.addStatement(
-                        fieldName + " = gson.getAdapter(new TypeToken<" + classInfo.getType().toString() +
-                        ">(){})");
+                // The type tokens of class literals are typed, while the types built at runtime need a cast
+                String typeCode = TypeTokenConstantsGenerator.getTypeCode(classInfo.getType());
+                boolean isClassLiteral = TypeTokenConstantsGenerator.isClassLiteral(typeCode);
+                String typeAdapterCode = "gson.getAdapter(TypeToken.get(" + typeCode + "))";
+                if (!isClassLiteral) {
+                    typeAdapterCode = "(TypeAdapter<" + classInfo.getType().toString() + ">) " + typeAdapterCode;
+                }
+                addTypeAdapterGetter(adapterFactoryBuilder, getAdapterFactoryMethodName, parameterizedTypeName,
+                                     typeAdapterCode, typeAdapterCount++, !isClassLiteral);
             }
-            getAdapterMethodBuilder.endControlFlow();
-            getAdapterMethodBuilder.addStatement("return " + fieldName);
-            adapterFactoryBuilder.addMethod(getAdapterMethodBuilder.build());
         }
 
         /*
          * Iterate through all the registered concrete fields, and map the fields to its corresponding type adapters.
          */
-        Set<Map.Entry<String, String>> concreteAdapterFieldEntries = mKnownAdapterFieldMap.entrySet();
-        for (Map.Entry<String, String> entry : concreteAdapterFieldEntries) {
+        for (Map.Entry<String, String> entry : knownAdapterFieldMap.entrySet()) {
             String methodName = mKnownFieldToMethodNameMap.get(entry.getKey());
             TypeName typeName = TypeVariableName.get(entry.getKey());
             TypeName parameterizedTypeName =
                     ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeName);
-            String variableName = "m" + methodName;
-            FieldSpec.Builder fieldSpecBuilder =
-                    FieldSpec.builder(parameterizedTypeName, FileGenUtils.unescapeEscapedString(variableName),
-                                      Modifier.PRIVATE);
-            MethodSpec.Builder getAdapterMethodBuilder =
-                    MethodSpec.methodBuilder("get" + FileGenUtils.unescapeEscapedString(methodName))
-                            .addModifiers(Modifier.PUBLIC)
-                            .addParameter(Gson.class, "gson")
-                            .returns(parameterizedTypeName);
-            getAdapterMethodBuilder.beginControlFlow("if (" + variableName + " == null)");
-            getAdapterMethodBuilder.addStatement(variableName + " = " + entry.getValue());
-            getAdapterMethodBuilder.endControlFlow();
-            getAdapterMethodBuilder.addStatement("return " + variableName);
-            adapterFactoryBuilder.addField(fieldSpecBuilder.build());
-            adapterFactoryBuilder.addMethod(getAdapterMethodBuilder.build());
+            String typeAdapterCode = entry.getValue().replace("mGson", "gson");
+            if (isFactory) {
+                typeAdapterCode = typeAdapterCode.replace(FIELD_STAG_FACTORY + ".", "")
+                        .replace(FIELD_STAG_FACTORY, "this");
+            }
+            addTypeAdapterGetter(adapterFactoryBuilder, "get" + methodName, parameterizedTypeName, typeAdapterCode,
+                                 typeAdapterCount++, false);
         }
 
         createMethodBuilder.addStatement("return null");
-        adapterFactoryBuilder.addMethod(createMethodBuilder.build());
+        return typeAdapterCount;
+    }
 
-        return adapterFactoryBuilder.build();
+    private static void addCreateGroupMethod(@NotNull TypeSpec.Builder adapterFactoryBuilder,
+                                             @NotNull MethodSpec.Builder createGroupMethodBuilder) {
+        createGroupMethodBuilder.endControlFlow();
+        createGroupMethodBuilder.addStatement("return null");
+        adapterFactoryBuilder.addMethod(createGroupMethodBuilder.build());
+    }
+
+    /**
+     * Adds a getter which lazily creates the type adapter using the provided code, and caches it in
+     * the slot at the provided index of the type adapter cache.
+     * <p>
+     * The getters are called concurrently by every thread using the {@link Gson} instance, so the
+     * type adapter is published with a compare and set rather than under a lock. If two threads race
+     * to create the same type adapter, the one which loses the race discards its own instance and
+     * returns the published one, so that a single instance is ever handed out.
+     *
+     * @param isUnchecked true if the code creating the type adapter contains an unchecked cast.
+     */
+    private static void addTypeAdapterGetter(@NotNull TypeSpec.Builder adapterFactoryBuilder,
+                                             @NotNull String methodName, @NotNull TypeName typeAdapterTypeName,
+                                             @NotNull String typeAdapterCode, int index, boolean isUnchecked) {
+        MethodSpec.Builder getAdapterMethodBuilder =
+                MethodSpec.methodBuilder(FileGenUtils.unescapeEscapedString(methodName))
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(Gson.class, "gson")
+                        .returns(typeAdapterTypeName);
+        if (isUnchecked) {
+            getAdapterMethodBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                          .addMember("value", "\"unchecked\"")
+                                                          .build());
+        }
+        getAdapterMethodBuilder.addStatement("$T typeAdapter = " + METHOD_GET_TYPE_ADAPTER + "(" + index + ")",
+                                             typeAdapterTypeName);
+        getAdapterMethodBuilder.beginControlFlow("if (null == typeAdapter)");
+        getAdapterMethodBuilder.addStatement(
+                "typeAdapter = " + METHOD_PUBLISH_TYPE_ADAPTER + "(" + index + ", " + typeAdapterCode + ")");
+        getAdapterMethodBuilder.endControlFlow();
+        getAdapterMethodBuilder.addStatement("return typeAdapter");
+        adapterFactoryBuilder.addMethod(getAdapterMethodBuilder.build());
+    }
+
+    /**
+     * Adds the counter of the duplicate type adapters which were discarded after losing a race to
+     * publish, along with the method used to report it.
+     */
+    private static void addDuplicateTypeAdapterCount(@NotNull TypeSpec.Builder adapterFactoryBuilder) {
+        adapterFactoryBuilder.addField(
+                FieldSpec.builder(AtomicInteger.class, FIELD_DUPLICATE_TYPE_ADAPTER_COUNT, Modifier.PRIVATE,
+                                  Modifier.FINAL)
+                        .initializer("new $T()", AtomicInteger.class)
+                        .build());
+
+        adapterFactoryBuilder.addMethod(MethodSpec.methodBuilder("getDuplicateTypeAdapterCount")
+                                                .addJavadoc("Returns the number of type adapters which were " +
+                                                            "created concurrently by more than one\n" +
+                                                            "thread, where all but the first published " +
+                                                            "instance were discarded.\n")
+                                                .addModifiers(Modifier.PUBLIC)
+                                                .returns(int.class)
+                                                .addStatement("return " + FIELD_DUPLICATE_TYPE_ADAPTER_COUNT +
+                                                              ".get()")
+                                                .build());
+    }
+
+    /**
+     * Adds the cache backing the type adapter getters, along with the methods used to access it.
+     *
+     * @param duplicateCountCode the code referencing the counter of the duplicate type adapters.
+     */
+    private static void addTypeAdapterCache(@NotNull TypeSpec.Builder adapterFactoryBuilder, int size,
+                                            @NotNull String duplicateCountCode) {
+        TypeVariableName genericTypeName = TypeVariableName.get("T");
+        TypeName typeAdapterTypeName = ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), genericTypeName);
+        TypeName cacheTypeName = ParameterizedTypeName.get(ClassName.get(AtomicReferenceArray.class),
+                                                           ParameterizedTypeName.get(
+                                                                   ClassName.get(TypeAdapter.class),
+                                                                   WildcardTypeName.subtypeOf(Object.class)));
+
+        adapterFactoryBuilder.addField(
+                FieldSpec.builder(cacheTypeName, FIELD_TYPE_ADAPTERS, Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T<>($L)", AtomicReferenceArray.class, size)
+                        .build());
+
+        adapterFactoryBuilder.addMethod(MethodSpec.methodBuilder(METHOD_GET_TYPE_ADAPTER)
+                                                .addModifiers(Modifier.PRIVATE)
+                                                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                                       .addMember("value", "\"unchecked\"")
+                                                                       .build())
+                                                .addTypeVariable(genericTypeName)
+                                                .returns(typeAdapterTypeName)
+                                                .addParameter(int.class, "index")
+                                                .addStatement("return ($T) " + FIELD_TYPE_ADAPTERS + ".get(index)",
+                                                              typeAdapterTypeName)
+                                                .build());
+
+        adapterFactoryBuilder.addMethod(MethodSpec.methodBuilder(METHOD_PUBLISH_TYPE_ADAPTER)
+                                                .addModifiers(Modifier.PRIVATE)
+                                                .addTypeVariable(genericTypeName)
+                                                .returns(typeAdapterTypeName)
+                                                .addParameter(int.class, "index")
+                                                .addParameter(typeAdapterTypeName, "typeAdapter")
+                                                .beginControlFlow("if (" + FIELD_TYPE_ADAPTERS +
+                                                                  ".compareAndSet(index, null, typeAdapter))")
+                                                .addStatement("return typeAdapter")
+                                                .endControlFlow()
+                                                .addStatement(duplicateCountCode + ".incrementAndGet()")
+                                                .addStatement("return " + METHOD_GET_TYPE_ADAPTER + "(index)")
+                                                .build());
+    }
+
+    /**
+     * Adds the cache of the type adapters of the parameterized known classes, keyed by the type
+     * they were created for, along with the methods used to access it. Like the other cached type
+     * adapters, they are created with the first {@link Gson} instance requesting them, and a single
+     * instance is handed out for each type.
+     *
+     * @param duplicateCountCode the code referencing the counter of the duplicate type adapters.
+     */
+    private static void addParameterizedTypeAdapterCache(@NotNull TypeSpec.Builder adapterFactoryBuilder,
+                                                         @NotNull String duplicateCountCode) {
+        TypeVariableName genericTypeName = TypeVariableName.get("T");
+        TypeName typeAdapterTypeName = ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), genericTypeName);
+        TypeName cacheTypeName = ParameterizedTypeName.get(ClassName.get(ConcurrentHashMap.class),
+                                                           ClassName.get(Type.class),
+                                                           ParameterizedTypeName.get(
+                                                                   ClassName.get(TypeAdapter.class),
+                                                                   WildcardTypeName.subtypeOf(Object.class)));
+
+        adapterFactoryBuilder.addField(
+                FieldSpec.builder(cacheTypeName, FIELD_PARAMETERIZED_TYPE_ADAPTERS, Modifier.PRIVATE,
+                                  Modifier.FINAL)
+                        .initializer("new $T<>()", ConcurrentHashMap.class)
+                        .build());
+
+        adapterFactoryBuilder.addMethod(MethodSpec.methodBuilder(METHOD_GET_PARAMETERIZED_TYPE_ADAPTER)
+                                                .addModifiers(Modifier.PRIVATE)
+                                                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                                       .addMember("value", "\"unchecked\"")
+                                                                       .build())
+                                                .addTypeVariable(genericTypeName)
+                                                .returns(typeAdapterTypeName)
+                                                .addParameter(Type.class, "type")
+                                                .addStatement("return ($T) " + FIELD_PARAMETERIZED_TYPE_ADAPTERS +
+                                                              ".get(type)", typeAdapterTypeName)
+                                                .build());
+
+        adapterFactoryBuilder.addMethod(MethodSpec.methodBuilder(METHOD_PUBLISH_PARAMETERIZED_TYPE_ADAPTER)
+                                                .addModifiers(Modifier.PRIVATE)
+                                                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                                       .addMember("value", "\"unchecked\"")
+                                                                       .build())
+                                                .addTypeVariable(genericTypeName)
+                                                .returns(typeAdapterTypeName)
+                                                .addParameter(Type.class, "type")
+                                                .addParameter(typeAdapterTypeName, "typeAdapter")
+                                                .addStatement("$T publishedTypeAdapter = ($T) " +
+                                                              FIELD_PARAMETERIZED_TYPE_ADAPTERS +
+                                                              ".putIfAbsent(type, typeAdapter)",
+                                                              typeAdapterTypeName, typeAdapterTypeName)
+                                                .beginControlFlow("if (null == publishedTypeAdapter)")
+                                                .addStatement("return typeAdapter")
+                                                .endControlFlow()
+                                                .addStatement(duplicateCountCode + ".incrementAndGet()")
+                                                .addStatement("return publishedTypeAdapter")
+                                                .build());
+    }
+
+    /**
+     * Returns the index of the shard of the factory holding the getter of the type adapter
+     * for the provided type. The known classes are assigned to a shard by the hash of their
+     * binary name, which the factory computes again from the requested class at runtime.
+     */
+    private int getShardIndex(@NotNull String typeString) {
+        Integer shardIdx = mKnownClassShards.get(typeString);
+        return null != shardIdx ? shardIdx : getShardIndex(typeString.hashCode());
+    }
+
+    private int getShardIndex(int hashCode) {
+        return (hashCode & Integer.MAX_VALUE) % mShardCount;
+    }
+
+    /**
+     * Returns the code calling the getter with the provided name, of the type adapter for the
+     * provided type, from a generated type adapter. The getters are called on the factory even
+     * when it is split into shards, so that the code does not depend on the number of shards.
+     */
+    @NotNull
+    String getTypeAdapterGetterCode(@NotNull TypeMirror fieldType, @NotNull String getterName) {
+        return FIELD_STAG_FACTORY + "." + getterName + "(mGson)";
     }
 
     /**
@@ -508,9 +1000,128 @@ public class StagGenerator {
         return result;
     }
 
+    /**
+     * The code creating the adapter for {@link Object} types, which reads numbers and
+     * objects compactly if the stagCompactObjects option was passed to the processor.
+     */
+    @NotNull
+    String getObjectTypeAdapterCode() {
+        return "new com.vimeo.stag.KnownTypeAdapters.ObjectTypeAdapter(mGson" +
+               (mCompactObjects ? ", true" : "") + ")";
+    }
+
+    /**
+     * Returns the simple class name of the type adapter specialized for the provided parameterization
+     * of a generic model of this module, such as {@code GenericClass<String>}, or null if the type is
+     * not such a parameterization. The specialized adapter is generated from the members of the model
+     * with the type arguments substituted, so the adapters of its fields are resolved at compile time
+     * rather than passed to the constructor of the generic adapter.
+     * <p>
+     * The parameterizations are registered the first time they are requested, until
+     * {@link #closeSpecializedTypes()} is called. Parameterizations requested afterwards, from the
+     * specialized adapters themselves, are handled by the generic adapter, which prevents models
+     * such as {@code Node<T>} with a {@code Node<List<T>>} field from being specialized forever.
+     *
+     * @return the simple class name, escaped for JavaPoet, or null.
+     */
+    @Nullable
+    public String getSpecializedTypeAdapterClassName(@NotNull TypeMirror type) {
+        String typeString = type.toString();
+        String adapterName = mSpecializedAdapterNames.get(typeString);
+        if (null != adapterName || mSpecializedTypesClosed) {
+            return adapterName;
+        }
+        if (!(type instanceof DeclaredType) || !TypeUtils.isConcreteType(type) || typeString.contains("?")) {
+            return null;
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        if (declaredType.getTypeArguments().isEmpty() || !isKnownType(declaredType.asElement().asType()) ||
+            null == getGenericClassInfo(declaredType.asElement().asType())) {
+            return null;
+        }
+
+        /*
+         * The name only depends on the parameterization, so that the models using it agree on it. The
+         * simple names of the type arguments may be shared by types of different packages, in which
+         * case the hash of the parameterization tells them apart.
+         */
+        ClassInfo classInfo = new ClassInfo(type);
+        String name = FileGenUtils.unescapeEscapedString(classInfo.getTypeAdapterClassName()) + "$" +
+                      getSpecializationName(declaredType.getTypeArguments());
+        if (!hasUnambiguousSimpleNames(declaredType.getTypeArguments(), classInfo.getPackageName())) {
+            name += "$" + Integer.toHexString(typeString.hashCode());
+        }
+        adapterName = FileGenUtils.escapeStringForCodeBlock(name);
+        mSpecializedTypes.put(typeString, declaredType);
+        mSpecializedAdapterNames.put(typeString, adapterName);
+        return adapterName;
+    }
+
+    /**
+     * Stops registering the parameterizations requested by {@link #getSpecializedTypeAdapterClassName},
+     * and returns the ones registered so far, whose specialized adapters have to be generated.
+     */
+    @NotNull
+    public List<DeclaredType> closeSpecializedTypes() {
+        mSpecializedTypesClosed = true;
+        return new ArrayList<>(mSpecializedTypes.values());
+    }
+
+    /**
+     * Returns true if the declared types among the type arguments all belong to {@code java.lang},
+     * {@code java.util} or the package of the generic model, so that their simple names are enough
+     * to tell them apart.
+     */
+    private static boolean hasUnambiguousSimpleNames(@NotNull List<? extends TypeMirror> typeArguments,
+                                                     @NotNull String packageName) {
+        for (TypeMirror typeArgument : typeArguments) {
+            while (typeArgument instanceof ArrayType) {
+                typeArgument = ((ArrayType) typeArgument).getComponentType();
+            }
+            if (typeArgument instanceof DeclaredType) {
+                DeclaredType declaredType = (DeclaredType) typeArgument;
+                String typePackageName = ElementUtils.getPackage(declaredType);
+                if (!typePackageName.equals("java.lang") && !typePackageName.equals("java.util") &&
+                    !typePackageName.equals(packageName) ||
+                    !hasUnambiguousSimpleNames(declaredType.getTypeArguments(), packageName)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the readable part of the name of a specialized adapter, made of the simple names of the
+     * type arguments, such as {@code Map$String$Video} for {@code <Map<String, Video>>}.
+     */
+    @NotNull
+    private static String getSpecializationName(@NotNull List<? extends TypeMirror> typeArguments) {
+        StringBuilder name = new StringBuilder();
+        for (TypeMirror typeArgument : typeArguments) {
+            if (name.length() > 0) {
+                name.append('$');
+            }
+            if (typeArgument instanceof ArrayType) {
+                name.append(getSpecializationName(
+                        Collections.singletonList(((ArrayType) typeArgument).getComponentType()))).append("Array");
+            } else if (typeArgument instanceof DeclaredType) {
+                DeclaredType declaredType = (DeclaredType) typeArgument;
+                name.append(declaredType.asElement().getSimpleName());
+                if (!declaredType.getTypeArguments().isEmpty()) {
+                    name.append('$').append(getSpecializationName(declaredType.getTypeArguments()));
+                }
+            } else {
+                name.append(typeArgument.toString());
+            }
+        }
+        return name.toString();
+    }
+
     /**
      * Used to add fields for the concrete types such as for {@link Map} or {@link List} or any other
-     * known class
+     * known class. The adapter accessor code is the one of a generated type adapter, referencing the
+     * factory and the {@link Gson} instance by their fields.
      */
     @NotNull
     String addFieldForKnownType(@NotNull TypeMirror fieldType, @NotNull String adapterAccessorCode) {
@@ -523,7 +1134,17 @@ public class StagGenerator {
     }
 
     ExternalAdapterInfo getExternalSupportedAdapter(@NotNull TypeMirror fieldType) {
-        return mExternalSupportedAdapters.get(fieldType.toString());
+        String key = fieldType.toString();
+        if (!mExternalSupportedAdapters.containsKey(key)) {
+            ExternalAdapterInfo externalAdapterInfo = null;
+            if (fieldType instanceof DeclaredType &&
+                key.equals(((DeclaredType) fieldType).asElement().asType().toString())) {
+                externalAdapterInfo = ExternalAdapterInfo.getExternalAdapterInfo(
+                        mGeneratedFactoryName, ((DeclaredType) fieldType).asElement());
+            }
+            mExternalSupportedAdapters.put(key, externalAdapterInfo);
+        }
+        return mExternalSupportedAdapters.get(key);
     }
 
     static class GenericClassInfo {
@@ -29,16 +29,21 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.vimeo.stag.FieldProjection;
+import com.vimeo.stag.ProjectableTypeAdapter;
 import com.vimeo.stag.processor.generators.model.AnnotatedClass;
 import com.vimeo.stag.processor.generators.model.ClassInfo;
 import com.vimeo.stag.processor.generators.model.SupportedTypesModel;
 import com.vimeo.stag.processor.utils.FileGenUtils;
 import com.vimeo.stag.processor.utils.KnownTypeAdapterUtils;
+import com.vimeo.stag.processor.utils.MethodSizeUtils;
+import com.vimeo.stag.processor.utils.ProcessingException;
 import com.vimeo.stag.processor.utils.TypeUtils;
 
 import org.jetbrains.annotations.NotNull;
@@ -48,9 +53,12 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
@@ -64,13 +72,43 @@ import javax.lang.model.type.TypeVariable;
 public class TypeAdapterGenerator extends AdapterGenerator {
 
     private static final String TYPE_ADAPTER_FIELD_PREFIX = "mTypeAdapter";
+    private static final String TYPE_ADAPTER_GETTER_PREFIX = "getTypeAdapter";
+    private static final Pattern LAZY_FIELD_ACCESSOR_PATTERN =
+            Pattern.compile("\\b" + TYPE_ADAPTER_GETTER_PREFIX + "\\d+\\(\\)");
+    private static final String METHOD_GET_FIELD_INDEX = "getFieldIndex";
+    private static final String METHOD_READ_FIELDS = "readFields";
+    private static final String METHOD_CHECK_NON_NULL_FIELDS = "checkNonNullFields";
+    private static final String METHOD_WRITE_FIELDS = "writeFields";
+    // The estimated bytecode sizes of the generated code, used to split the read and write methods of large models
+    private static final int READ_METHOD_SIZE = 160;
+    private static final int READ_CASE_SIZE = 40;
+    private static final int NON_NULL_CHECK_SIZE = 40;
+    private static final int NAME_CHECK_SIZE = 16;
+    private static final int WRITE_METHOD_SIZE = 40;
+    private static final int WRITE_FIELD_SIZE = 36;
+    private static final int WRITE_NON_NULL_CHECK_SIZE = 16;
+    private static final int HELPER_CALL_SIZE = 24;
     private static boolean sGsonVariableUsed;
     private static boolean sStagFactoryUsed;
     @NotNull
     private final ClassInfo mInfo;
+    @Nullable
+    private final String mSpecializedClassName;
 
     public TypeAdapterGenerator(@NotNull ClassInfo info) {
+        this(info, null);
+    }
+
+    /**
+     * @param info                 the model, or the parameterization of a generic model.
+     * @param specializedClassName the class name of the type adapter specialized for the
+     *                             parameterization, as returned by {@link
+     *                             StagGenerator#getSpecializedTypeAdapterClassName}, or null
+     *                             to generate the type adapter of the model itself.
+     */
+    public TypeAdapterGenerator(@NotNull ClassInfo info, @Nullable String specializedClassName) {
         mInfo = info;
+        mSpecializedClassName = specializedClassName;
     }
 
     /**
@@ -167,6 +205,17 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                              valueTypeMirror.toString() + "," + fieldType.toString() + ">(" +
                              valueAdapterAccessor + ", " +
                              KnownTypeAdapterUtils.getListInstantiator(fieldType) + ")";
+                } else if (TypeUtils.isLazyValue(fieldType)) {
+                    /**
+                     * If the fieldType is of {@link com.vimeo.stag.LazyValue} type, generate the LazyValueTypeAdapter with its valueTypeAdapter
+                     */
+                    TypeMirror valueTypeMirror = typeMirrors.get(0);
+                    String valueAdapterAccessor =
+                            getAdapterAccessor(valueTypeMirror, adapterBuilder, constructorBuilder,
+                                               typeTokenConstantsGenerator, typeVarsMap, stagGenerator,
+                                               adapterFieldInfo);
+                    result = "new com.vimeo.stag.KnownTypeAdapters.LazyValueTypeAdapter<" +
+                             valueTypeMirror.toString() + ">(" + valueAdapterAccessor + ")";
                 } else {
                     /**
                      * If the fieldType is of Known parameterized type, recursively call the function to generate the type adapter code.
@@ -185,16 +234,16 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                                                               stagGenerator, adapterFieldInfo);
                     }
 
+                    int idx1 = fieldType.toString().indexOf("<");
+                    String argument = idx1 > 0 ? fieldType.toString().substring(idx1) : "";
                     String adapterCode;
                     if (null != externalAdapterInfo) {
                         //if the field type is an external model
-                        adapterCode = externalAdapterInfo.getInitializer("gson", typeAdapterCode);
+                        adapterCode = externalAdapterInfo.getInitializer("mGson", argument, typeAdapterCode);
                     } else {
                         ClassInfo classInfo = new ClassInfo(outerClass);
-                        int idx1 = fieldType.toString().indexOf("<");
-                        String argument = idx1 > 0 ? fieldType.toString().substring(idx1) : "";
                         adapterCode = "new " + classInfo.getTypeAdapterQualifiedClassName() + argument +
-                                      "(gson, stagFactory" + typeAdapterCode + ")";
+                                      "(mGson, mStagFactory" + typeAdapterCode + ")";
                     }
                     return adapterCode;
                 }
@@ -212,17 +261,54 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         return ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeName);
     }
 
+    /**
+     * Returns the read method, followed by the helper methods it calls if the model is so large
+     * that the read method would not be compiled by the JIT otherwise. The cases of the switch on
+     * the index of the field are then split into groups, each of them read by a helper method.
+     */
     @NotNull
-    private static MethodSpec getReadMethodSpec(@NotNull TypeName typeName,
-                                                @NotNull Map<Element, TypeMirror> elements,
-                                                @NotNull AdapterFieldInfo adapterFieldInfo) {
+    private static List<MethodSpec> getReadMethodSpecs(@NotNull TypeName typeName,
+                                                       @NotNull Map<Element, TypeMirror> elements,
+                                                       @NotNull AdapterFieldInfo adapterFieldInfo) {
         MethodSpec.Builder builder = MethodSpec.methodBuilder("read")
                 .addParameter(JsonReader.class, "reader")
+                .addParameter(FieldProjection.class, "projection")
                 .returns(typeName)
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(Override.class)
                 .addException(IOException.class);
 
+        final List<Element> nonNullFields = new ArrayList<>();
+        List<Integer> caseIndices = new ArrayList<>();
+        List<Integer> caseSizes = new ArrayList<>();
+        int size = READ_METHOD_SIZE;
+        for (final Map.Entry<Element, TypeMirror> element : elements.entrySet()) {
+            caseIndices.add(caseIndices.size());
+            caseSizes.add(READ_CASE_SIZE);
+            size += READ_CASE_SIZE;
+            runIfAnnotationSupported(element.getKey().getAnnotationMirrors(), new Runnable() {
+                @Override
+                public void run() {
+                    if (!TypeUtils.isSupportedPrimitive(element.getValue().toString()) &&
+                        !nonNullFields.contains(element.getKey())) {
+                        nonNullFields.add(element.getKey());
+                    }
+                }
+            });
+        }
+        List<Integer> checkSizes = new ArrayList<>();
+        int checksSize = 0;
+        for (Element nonNullField : nonNullFields) {
+            String[] alternateJsonNames = getAlternateJsonNames(nonNullField);
+            int checkSize = NON_NULL_CHECK_SIZE +
+                            NAME_CHECK_SIZE * (alternateJsonNames == null ? 0 : alternateJsonNames.length);
+            checkSizes.add(checkSize);
+            checksSize += checkSize;
+        }
+        List<Element> elementList = new ArrayList<>(elements.keySet());
+        List<MethodSpec> methods = new ArrayList<>();
+        methods.add(null);
+
         builder.addCode("\tif (reader.peek() == com.google.gson.stream.JsonToken.NULL) {\n" +
                         "\t\treader.nextNull();\n" +
                         "\t\treturn null;\n" +
@@ -237,60 +323,201 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                         "();\n" +
                         "\twhile (reader.hasNext()) {\n" +
                         "\t\tString name = reader.nextName();\n" +
+                        "\t\tcom.vimeo.stag.FieldProjection fieldProjection = com.vimeo.stag.FieldProjection.ALL;\n" +
+                        "\t\tif (projection != com.vimeo.stag.FieldProjection.ALL) {\n" +
+                        "\t\t\tfieldProjection = projection.get(name);\n" +
+                        "\t\t\tif (fieldProjection == null) {\n" +
+                        "\t\t\t\treader.skipValue();\n" +
+                        "\t\t\t\tcontinue;\n" +
+                        "\t\t\t}\n" +
+                        "\t\t}\n" +
                         "\t\tcom.google.gson.stream.JsonToken jsonToken = reader.peek();\n" +
                         "\t\tif (jsonToken == com.google.gson.stream.JsonToken.NULL) {\n" +
                         "\t\t\treader.skipValue();\n" +
                         "\t\t\tcontinue;\n" +
-                        "\t\t}\n" +
-                        "\t\tswitch (name) {\n");
+                        "\t\t}\n");
 
-        final List<String> nonNullFields = new ArrayList<>();
-
-        for (Map.Entry<Element, TypeMirror> element : elements.entrySet()) {
-            String name = getJsonName(element.getKey());
-            final String variableName = element.getKey().getSimpleName().toString();
-            final TypeMirror elementValue = element.getValue();
+        if (size + checksSize <= MethodSizeUtils.MAX_METHOD_SIZE) {
+            builder.addCode("\t\tswitch (" + METHOD_GET_FIELD_INDEX + "(name)) {\n");
+            for (int fieldIndex = 0; fieldIndex < elementList.size(); fieldIndex++) {
+                addReadCaseCode(builder, fieldIndex, elementList.get(fieldIndex), elements, adapterFieldInfo, "\t\t\t");
+            }
+            builder.addCode("\t\t\tdefault:\n" +
+                            "\t\t\t\treader.skipValue();\n" +
+                            "\t\t\t\tbreak;\n" +
+                            "\t\t}\n");
+        } else {
+            // Each group of fields is read by a helper method, which only switches on the indices of its fields
+            List<List<Integer>> caseGroups = MethodSizeUtils.group(caseIndices, caseSizes,
+                                                                   MethodSizeUtils.MAX_METHOD_SIZE);
+            builder.addCode("\t\tint fieldIndex = " + METHOD_GET_FIELD_INDEX + "(name);\n" +
+                            "\t\tif (fieldIndex < 0) {\n" +
+                            "\t\t\treader.skipValue();\n");
+            for (int groupIndex = 0; groupIndex < caseGroups.size(); groupIndex++) {
+                List<Integer> caseGroup = caseGroups.get(groupIndex);
+                String helperName = METHOD_READ_FIELDS + groupIndex;
+                if (groupIndex < caseGroups.size() - 1) {
+                    int nextFieldIndex = caseGroup.get(caseGroup.size() - 1) + 1;
+                    builder.addCode("\t\t} else if (fieldIndex < " + nextFieldIndex + ") {\n");
+                } else {
+                    builder.addCode("\t\t} else {\n");
+                }
+                builder.addCode("\t\t\t" + helperName + "(reader, fieldProjection, jsonToken, object, fieldIndex);\n");
+
+                MethodSpec.Builder helperBuilder = MethodSpec.methodBuilder(helperName)
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(JsonReader.class, "reader")
+                        .addParameter(FieldProjection.class, "fieldProjection")
+                        .addParameter(ClassName.get("com.google.gson.stream", "JsonToken"), "jsonToken")
+                        .addParameter(typeName, "object")
+                        .addParameter(int.class, "fieldIndex")
+                        .addException(IOException.class);
+                helperBuilder.addCode("\tswitch (fieldIndex) {\n");
+                for (int fieldIndex : caseGroup) {
+                    addReadCaseCode(helperBuilder, fieldIndex, elementList.get(fieldIndex), elements, adapterFieldInfo,
+                                    "\t\t");
+                }
+                helperBuilder.addCode("\t}\n");
+                methods.add(helperBuilder.build());
+            }
+            builder.addCode("\t\t}\n");
+        }
 
-            builder.addCode("\t\t\tcase \"" + name + "\":\n");
+        builder.addCode("\t}\n" +
+                        '\n' +
+                        "\treader.endObject();\n");
 
-            String[] alternateJsonNames = getAlternateJsonNames(element.getKey());
-            if (alternateJsonNames != null && alternateJsonNames.length > 0) {
-                for (String alternateJsonName : alternateJsonNames) {
-                    builder.addCode("\t\t\tcase \"" + alternateJsonName + "\":\n");
+        if (size + checksSize <= MethodSizeUtils.MAX_METHOD_SIZE ||
+            READ_METHOD_SIZE + (methods.size() - 1) * HELPER_CALL_SIZE + checksSize <= MethodSizeUtils.MAX_METHOD_SIZE) {
+            for (Element nonNullField : nonNullFields) {
+                addNonNullCheckCode(builder, nonNullField);
+            }
+        } else {
+            List<List<Element>> checkGroups = MethodSizeUtils.group(nonNullFields, checkSizes,
+                                                                    MethodSizeUtils.MAX_METHOD_SIZE);
+            for (int groupIndex = 0; groupIndex < checkGroups.size(); groupIndex++) {
+                String helperName = METHOD_CHECK_NON_NULL_FIELDS + groupIndex;
+                builder.addCode("\n\t" + helperName + "(object, projection);\n");
+
+                MethodSpec.Builder helperBuilder = MethodSpec.methodBuilder(helperName)
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(typeName, "object")
+                        .addParameter(FieldProjection.class, "projection")
+                        .addException(IOException.class);
+                for (Element nonNullField : checkGroups.get(groupIndex)) {
+                    addNonNullCheckCode(helperBuilder, nonNullField);
                 }
+                methods.add(helperBuilder.build());
             }
+            builder.addCode("\n");
+        }
 
-            builder.addCode("\t\t\t\tobject." + variableName + " = " +
-                            adapterFieldInfo.getAdapterAccessor(elementValue) + ".read(reader);");
+        builder.addCode("\treturn object;\n");
 
-            builder.addCode("\n\t\t\t\tbreak;\n");
-            runIfAnnotationSupported(element.getKey().getAnnotationMirrors(), new Runnable() {
-                @Override
-                public void run() {
-                    if (!TypeUtils.isSupportedPrimitive(elementValue.toString())) {
-                        nonNullFields.add(variableName);
-                    }
-                }
-            });
+        methods.set(0, builder.build());
+        return methods;
+    }
+
+    /**
+     * Adds the case of the switch on the index of the field which reads the field.
+     */
+    private static void addReadCaseCode(@NotNull MethodSpec.Builder builder, int fieldIndex, @NotNull Element element,
+                                        @NotNull Map<Element, TypeMirror> elements,
+                                        @NotNull AdapterFieldInfo adapterFieldInfo, @NotNull String indent) {
+        String variableName = element.getSimpleName().toString();
+        TypeMirror elementValue = elements.get(element);
+
+        builder.addCode(indent + "case " + fieldIndex + ":\n");
+
+        String inlineReadCode = KnownTypeAdapterUtils.getInlineReadCode(elementValue);
+        if (inlineReadCode != null) {
+            // Primitives and Strings are read without the known type adapters, which box them
+            if (KnownTypeAdapterUtils.isInlineReadNumberFormatChecked(elementValue)) {
+                builder.addCode(indent + "\ttry {\n" +
+                                indent + "\t\tobject." + variableName + " = " + inlineReadCode + ";\n" +
+                                indent + "\t} catch (NumberFormatException e) {\n" +
+                                indent + "\t\tthrow new com.google.gson.JsonSyntaxException(e);\n" +
+                                indent + "\t}");
+            } else {
+                builder.addCode(indent + "\tobject." + variableName + " = " + inlineReadCode + ";");
+            }
+        } else if (adapterFieldInfo.isDirectProjectableAdapter(elementValue)) {
+            builder.addCode(indent + "\tobject." + variableName + " = " +
+                            adapterFieldInfo.getAdapterAccessor(elementValue) + ".read(reader, fieldProjection);");
+        } else if (adapterFieldInfo.isDirectAdapter(elementValue) ||
+                   TypeUtils.isSupportedNative(elementValue.toString()) ||
+                   null != KnownTypeAdapterUtils.getNativePrimitiveArrayTypeAdapter(elementValue)) {
+            builder.addCode(indent + "\tobject." + variableName + " = " +
+                            adapterFieldInfo.getAdapterAccessor(elementValue) + ".read(reader);");
+        } else {
+            // The adapter of the field may read the nested fields selected by the projection
+            builder.addCode(indent + "\tobject." + variableName + " = com.vimeo.stag.ProjectableTypeAdapter.read(" +
+                            adapterFieldInfo.getAdapterAccessor(elementValue) + ", reader, fieldProjection);");
         }
 
-        builder.addCode("\t\t\tdefault:\n" +
-                        "\t\t\t\treader.skipValue();\n" +
-                        "\t\t\t\tbreak;\n" +
-                        "\t\t}\n" +
-                        "\t}\n" +
-                        '\n' +
-                        "\treader.endObject();\n");
+        builder.addCode("\n" + indent + "\tbreak;\n");
+    }
+
+    /**
+     * Adds the code which throws if a field annotated as non null was not read.
+     */
+    private static void addNonNullCheckCode(@NotNull MethodSpec.Builder builder, @NotNull Element nonNullField) {
+        String variableName = nonNullField.getSimpleName().toString();
+        // Fields which are not selected by the projection are expected to be null
+        builder.addCode("\n\tif (object." + variableName + " == null && " +
+                        getSelectedCondition(nonNullField) + ") {");
+        builder.addCode("\n\t\tthrow new java.io.IOException(\"" + variableName + " cannot be null\");");
+        builder.addCode("\n\t}\n\n");
+    }
 
-        for (String nonNullField : nonNullFields) {
-            builder.addCode("\n\tif (object." + nonNullField + " == null) {");
-            builder.addCode("\n\t\tthrow new java.io.IOException(\"" + nonNullField + " cannot be null\");");
-            builder.addCode("\n\t}\n\n");
+    /**
+     * Returns the condition which is true if the projection selects the JSON name
+     * or one of the alternate names of the member variable.
+     */
+    @NotNull
+    private static String getSelectedCondition(@NotNull Element element) {
+        StringBuilder condition = new StringBuilder("(projection == com.vimeo.stag.FieldProjection.ALL");
+        condition.append(" || projection.get(\"").append(getJsonName(element)).append("\") != null");
+        String[] alternateJsonNames = getAlternateJsonNames(element);
+        if (alternateJsonNames != null) {
+            for (String alternateJsonName : alternateJsonNames) {
+                condition.append(" || projection.get(\"").append(alternateJsonName).append("\") != null");
+            }
         }
+        return condition.append(')').toString();
+    }
 
-        builder.addCode("\treturn object;\n");
+    /**
+     * Maps the JSON name and the alternate names of each of the member variables to the index of the
+     * member variable, which is the case it is read by in the switch of the read method.
+     */
+    @NotNull
+    private static Map<String, Integer> getJsonNameIndices(@NotNull TypeMirror type,
+                                                           @NotNull Map<Element, TypeMirror> elements) {
+        Map<String, Integer> nameIndices = new LinkedHashMap<>();
+        int fieldIndex = 0;
+        for (Element element : elements.keySet()) {
+            addJsonNameIndex(nameIndices, getJsonName(element), fieldIndex, type, element);
+            String[] alternateJsonNames = getAlternateJsonNames(element);
+            if (alternateJsonNames != null) {
+                for (String alternateJsonName : alternateJsonNames) {
+                    addJsonNameIndex(nameIndices, alternateJsonName, fieldIndex, type, element);
+                }
+            }
+            fieldIndex++;
+        }
+        return nameIndices;
+    }
 
-        return builder.build();
+    /**
+     * Maps the JSON name to the index of the field, failing like
+     * Gson does if the name is already used by a field of the model.
+     */
+    private static void addJsonNameIndex(@NotNull Map<String, Integer> nameIndices, @NotNull String name,
+                                         int fieldIndex, @NotNull TypeMirror type, @NotNull Element element) {
+        if (nameIndices.put(name, fieldIndex) != null) {
+            throw new ProcessingException(element, type + " declares multiple JSON fields named " + name);
+        }
     }
 
     private static void runIfAnnotationSupported(@NotNull List<? extends AnnotationMirror> annotationMirrors,
@@ -337,7 +564,7 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                 /*
                  * If we already have the adapter generated for the fieldType in Stag.Factory class
                  */
-                return "mStagFactory.get" + getterField + "(mGson)";
+                return stagGenerator.getTypeAdapterGetterCode(fieldType, "get" + getterField);
             } else if (TypeUtils.isNativeArray(fieldType)) {
                 /*
                  * If the fieldType is of type native arrays such as String[] or int[]
@@ -359,14 +586,42 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                                          arrayInnerType.toString() + ">" +
                                          "(" + adapterAccessor + ", " + nativeArrayInstantiator + ")";
                     if (arrayType.getComponentType().getKind() != TypeKind.TYPEVAR &&
-                        !adapterCode.contains(TYPE_ADAPTER_FIELD_PREFIX)) {
-                        String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode.replace(
-                                "mStagFactory", "this").replace("mGson", "gson"));
-                        return "mStagFactory." + getterName + "(mGson)";
+                        !usesAdapterFields(adapterCode)) {
+                        String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                        return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
                     } else {
                         return adapterCode;
                     }
                 }
+            } else if (TypeUtils.isLazyValue(fieldType)) {
+                DeclaredType declaredType = (DeclaredType) fieldType;
+                /*
+                 * If the fieldType is of type LazyValue, wrap the adapter of its value type
+                 */
+                sStagFactoryUsed = true;
+                sGsonVariableUsed = true;
+                List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+                String paramAdapterAccessor;
+                String argument = "";
+                if (typeArguments != null && typeArguments.size() == 1) {
+                    TypeMirror param = typeArguments.get(0);
+                    paramAdapterAccessor = getAdapterAccessor(param, adapterBuilder, constructorBuilder,
+                                                              typeTokenConstantsGenerator, typeVarsMap,
+                                                              stagGenerator, adapterFieldInfo);
+                    argument = "<" + param.toString() + ">";
+                } else {
+                    //If the LazyValue does not have any type argument, use Object as its type
+                    paramAdapterAccessor = stagGenerator.getObjectTypeAdapterCode();
+                }
+
+                String adapterCode = "new com.vimeo.stag.KnownTypeAdapters.LazyValueTypeAdapter" + argument +
+                                     "(" + paramAdapterAccessor + ")";
+                if (!usesAdapterFields(adapterCode)) {
+                    String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                    return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
+                } else {
+                    return adapterCode;
+                }
             } else if (TypeUtils.isSupportedList(fieldType)) {
                 DeclaredType declaredType = (DeclaredType) fieldType;
                 /*
@@ -387,10 +642,9 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                         fieldType.toString() + ">" +
                         "(" + paramAdapterAccessor + ", " + listInstantiator + ")";
                 if (declaredType.getKind() != TypeKind.TYPEVAR &&
-                    !adapterCode.contains(TYPE_ADAPTER_FIELD_PREFIX)) {
-                    String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode.replaceAll(
-                            "mStagFactory.", "").replaceAll("mGson", "gson"));
-                    return "mStagFactory." + getterName + "(mGson)";
+                    !usesAdapterFields(adapterCode)) {
+                    String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                    return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
                 } else {
                     return adapterCode;
                 }
@@ -419,18 +673,17 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                                 fieldType.toString() + ">";
                 } else {
                     //If the map does not have any type arguments, use Object as type params in this case
-                    keyAdapterAccessor = "new com.vimeo.stag.KnownTypeAdapters.ObjectTypeAdapter(mGson)";
-                    valueAdapterAccessor = "new com.vimeo.stag.KnownTypeAdapters.ObjectTypeAdapter(mGson)";
+                    keyAdapterAccessor = stagGenerator.getObjectTypeAdapterCode();
+                    valueAdapterAccessor = stagGenerator.getObjectTypeAdapterCode();
                 }
 
                 String adapterCode = "new com.vimeo.stag.KnownTypeAdapters.MapTypeAdapter" + arguments +
                                      "(" + keyAdapterAccessor + ", " + valueAdapterAccessor + ", " +
                                      mapInstantiator + ")";
                 if (declaredType.getKind() != TypeKind.TYPEVAR &&
-                    !adapterCode.contains(TYPE_ADAPTER_FIELD_PREFIX)) {
-                    String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode.replaceAll(
-                            "mStagFactory.", "").replaceAll("mGson", "gson"));
-                    return "mStagFactory." + getterName + "(mGson)";
+                    !usesAdapterFields(adapterCode)) {
+                    String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                    return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
                 } else {
                     return adapterCode;
                 }
@@ -439,12 +692,9 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                  * If the fieldType is Object, use ObjectTypeAdapter
                  */
                 sGsonVariableUsed = true;
-                String adapterCode = "new com.vimeo.stag.KnownTypeAdapters.ObjectTypeAdapter(mGson)";
-                String getterName = stagGenerator.addFieldForKnownType(fieldType,
-                                                                       adapterCode.replaceAll("mStagFactory.",
-                                                                                              "")
-                                                                               .replaceAll("mGson", "gson"));
-                return "mStagFactory." + getterName + "(mGson)";
+                String adapterCode = stagGenerator.getObjectTypeAdapterCode();
+                String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
             } else if (fieldType instanceof DeclaredType) {
                 /*
                  * If the field type is generic and does not belong to above cases.
@@ -453,7 +703,19 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                 int size =
                         declaredType.getTypeArguments() == null ? 0 : declaredType.getTypeArguments().size();
                 TypeMirror outerClass = declaredType.asElement().asType();
-                if (size != 0 && (stagGenerator.isKnownType(outerClass) ||
+                String specializedClassName = stagGenerator.getSpecializedTypeAdapterClassName(fieldType);
+                if (null != specializedClassName) {
+                    /*
+                     * If the field type is a parameterization of a generic model of this module, use the
+                     * type adapter specialized for it
+                     */
+                    sGsonVariableUsed = true;
+                    sStagFactoryUsed = true;
+                    String adapterCode = "new " + new ClassInfo(fieldType).getPackageName() + "." +
+                                         specializedClassName + "(mGson, mStagFactory)";
+                    String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                    return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
+                } else if (size != 0 && (stagGenerator.isKnownType(outerClass) ||
                                   (null != stagGenerator.getExternalSupportedAdapter(outerClass)))) {
                     sGsonVariableUsed = true;
                     sStagFactoryUsed = true;
@@ -464,7 +726,7 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                     ExternalAdapterInfo externalAdapterInfo =
                             stagGenerator.getExternalSupportedAdapter(outerClass);
                     String adapterCode =
-                            "new " + outerClassInfo.getTypeAdapterQualifiedClassName() + argument + "(gson, ";
+                            "new " + outerClassInfo.getTypeAdapterQualifiedClassName() + argument + "(mGson, ";
 
                     if (null != externalAdapterInfo) {
                         adapterCode += externalAdapterInfo.getFactoryInitializer();
@@ -479,14 +741,9 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                                                           stagGenerator, adapterFieldInfo);
                     }
                     adapterCode += ")";
-                    if (!adapterCode.contains(TYPE_ADAPTER_FIELD_PREFIX)) {
-                        return "mStagFactory." + stagGenerator.addFieldForKnownType(fieldType,
-                                                                                    adapterCode.replace(
-                                                                                            "mStagFactory",
-                                                                                            "this")
-                                                                                            .replace("mGson",
-                                                                                                     "gson")) +
-                               "(mGson)";
+                    if (!usesAdapterFields(adapterCode)) {
+                        String getterName = stagGenerator.addFieldForKnownType(fieldType, adapterCode);
+                        return stagGenerator.getTypeAdapterGetterCode(fieldType, getterName);
                     } else {
                         return adapterCode;
                     }
@@ -502,30 +759,144 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         } else {
 
             /*
-             * If the fieldType is parameterized, generate the type adapter in the constructor itself.
+             * If the fieldType is parameterized, generate the type adapter in a field of the adapter.
+             * The type adapters of the type variables are passed to the constructor, the others are
+             * created the first time they are used.
              */
-            String fieldName = adapterFieldInfo.getFieldName(fieldType);
-            if (null == fieldName) {
-                fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
-                adapterFieldInfo.addField(fieldType, fieldName);
-                String originalFieldName = FileGenUtils.unescapeEscapedString(fieldName);
-                TypeName typeName = getAdapterFieldTypeName(fieldType);
-                adapterBuilder.addField(typeName, originalFieldName, Modifier.PRIVATE, Modifier.FINAL);
-                String typeAdapterCode = getTypeAdapterCode(fieldType, adapterBuilder, constructorBuilder,
-                                                            typeTokenConstantsGenerator, typeVarsMap,
-                                                            stagGenerator, adapterFieldInfo);
-
-                if (null != typeAdapterCode) {
-                    constructorBuilder.addStatement(
-                            fieldName + " = " + getCleanedFieldInitializer(typeAdapterCode));
+            String fieldAccessor = adapterFieldInfo.getFieldAccessor(fieldType);
+            if (null == fieldAccessor) {
+                String fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
+                if (fieldType.getKind() == TypeKind.TYPEVAR) {
+                    fieldAccessor = fieldName;
+                    adapterFieldInfo.addField(fieldType, fieldAccessor);
+                    adapterBuilder.addField(getAdapterFieldTypeName(fieldType),
+                                            FileGenUtils.unescapeEscapedString(fieldName), Modifier.PRIVATE,
+                                            Modifier.FINAL);
+                    String typeAdapterCode = getTypeAdapterCode(fieldType, adapterBuilder, constructorBuilder,
+                                                                typeTokenConstantsGenerator, typeVarsMap,
+                                                                stagGenerator, adapterFieldInfo);
+                    if (null != typeAdapterCode) {
+                        constructorBuilder.addStatement(fieldName + " = " + typeAdapterCode);
+                    }
+                } else {
+                    fieldAccessor = getLazyFieldAccessor(fieldName);
+                    adapterFieldInfo.addField(fieldType, fieldAccessor);
+                    String typeAdapterCode = getTypeAdapterCode(fieldType, adapterBuilder, constructorBuilder,
+                                                                typeTokenConstantsGenerator, typeVarsMap,
+                                                                stagGenerator, adapterFieldInfo);
+                    if (null != typeAdapterCode) {
+                        addLazyField(adapterBuilder, fieldType, fieldName, typeAdapterCode, false);
+                    }
                 }
             }
-            return fieldName;
+            return fieldAccessor;
+        }
+    }
+
+    /**
+     * Returns true if the code uses the type adapters held in the fields of the adapter, in which
+     * case it cannot be moved to the {@code Stag.Factory}.
+     */
+    private static boolean usesAdapterFields(@NotNull String code) {
+        return code.contains(TYPE_ADAPTER_FIELD_PREFIX) || LAZY_FIELD_ACCESSOR_PATTERN.matcher(code).find();
+    }
+
+    @NotNull
+    private static String getLazyFieldAccessor(@NotNull String fieldName) {
+        return TYPE_ADAPTER_GETTER_PREFIX + fieldName.substring(TYPE_ADAPTER_FIELD_PREFIX.length()) + "()";
+    }
+
+    /**
+     * Adds a field holding the type adapter created by the provided code, along with the getter
+     * returned by {@link #getLazyFieldAccessor}, which creates the type adapter the first time it
+     * is called. Resolving the type adapters of the fields when they are first read or written,
+     * rather than in the constructor, keeps getting an adapter from resolving the adapters of every
+     * type reachable from its fields, most of which may never be used.
+     * <p>
+     * The field is read and written without synchronization: a thread which does not see the
+     * type adapter created by another creates an equivalent one, as the type adapters hold no
+     * state of their own.
+     * <p>
+     * The getter only suppresses the unchecked warnings if the code casts the type adapter of a
+     * type built at runtime, which {@link #getAdapterForUnknownType} does.
+     */
+    private static void addLazyField(@NotNull TypeSpec.Builder adapterBuilder, @NotNull TypeMirror fieldType,
+                                     @NotNull String fieldName, @NotNull String typeAdapterCode,
+                                     boolean isUncheckedCast) {
+        addLazyField(adapterBuilder, getAdapterFieldTypeName(fieldType), fieldName, typeAdapterCode,
+                     isUncheckedCast);
+    }
+
+    private static void addLazyField(@NotNull TypeSpec.Builder adapterBuilder, @NotNull TypeName typeName,
+                                     @NotNull String fieldName, @NotNull String typeAdapterCode,
+                                     boolean isUncheckedCast) {
+        sGsonVariableUsed |= typeAdapterCode.contains("mGson");
+        sStagFactoryUsed |= typeAdapterCode.contains("mStagFactory");
+        String originalFieldName = FileGenUtils.unescapeEscapedString(fieldName);
+        String getterName = getLazyFieldAccessor(originalFieldName);
+        adapterBuilder.addField(typeName, originalFieldName, Modifier.PRIVATE);
+        MethodSpec.Builder getterBuilder = MethodSpec.methodBuilder(getterName.substring(0, getterName.length() - 2))
+                .addModifiers(Modifier.PRIVATE);
+        if (isUncheckedCast) {
+            getterBuilder.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                                .addMember("value", "\"unchecked\"")
+                                                .build());
         }
+        adapterBuilder.addMethod(getterBuilder.returns(typeName)
+                                         .addStatement("$T typeAdapter = " + originalFieldName, typeName)
+                                         .beginControlFlow("if (null == typeAdapter)")
+                                         .addStatement("typeAdapter = " + typeAdapterCode)
+                                         .addStatement(originalFieldName + " = typeAdapter")
+                                         .endControlFlow()
+                                         .addStatement("return typeAdapter")
+                                         .build());
     }
 
-    private static String getCleanedFieldInitializer(String code) {
-        return code.replace("mStagFactory", "stagFactory").replace("mGson", "gson");
+    /**
+     * Returns true if the type is a model of this module which is not generic, or a parameterization
+     * of a generic model of this module with a specialized type adapter, whose type adapter is
+     * generated by Stag along with the {@code Stag.Factory} creating it.
+     */
+    private static boolean isDirectAdapterType(@NotNull TypeMirror fieldType, @NotNull StagGenerator stagGenerator) {
+        return null == KnownTypeAdapterUtils.getKnownTypeAdapterForType(fieldType) &&
+               (null != stagGenerator.getClassAdapterFactoryMethod(fieldType) ||
+                null != stagGenerator.getSpecializedTypeAdapterClassName(fieldType));
+    }
+
+    /**
+     * Adds a field holding the type adapter of a model of this module, declared with the
+     * generated class of the adapter rather than {@link TypeAdapter}. The adapter is
+     * resolved from the {@code Stag.Factory} once, rather than every time a value is read
+     * or written, and the calls to the adapter only have a single possible target.
+     */
+    @NotNull
+    private static String addDirectAdapterField(@NotNull TypeMirror fieldType,
+                                                @NotNull TypeSpec.Builder adapterBuilder,
+                                                @NotNull StagGenerator stagGenerator,
+                                                @NotNull AdapterFieldInfo adapterFieldInfo) {
+        String fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
+        String fieldAccessor = getLazyFieldAccessor(fieldName);
+        adapterFieldInfo.addField(fieldType, fieldAccessor);
+        adapterFieldInfo.addDirectAdapter(fieldType, !TypeUtils.isEnum(fieldType));
+
+        ClassInfo fieldClassInfo = new ClassInfo(fieldType);
+        String adapterClassName = fieldClassInfo.getTypeAdapterClassName();
+        String getterName;
+        String specializedClassName = stagGenerator.getSpecializedTypeAdapterClassName(fieldType);
+        if (null != specializedClassName) {
+            adapterClassName = specializedClassName;
+            getterName = stagGenerator.addFieldForKnownType(fieldType, "new " + fieldClassInfo.getPackageName() +
+                                                                       "." + specializedClassName +
+                                                                       "(mGson, mStagFactory)");
+        } else {
+            getterName = "get" + stagGenerator.getClassAdapterFactoryMethod(fieldType);
+        }
+        TypeName adapterTypeName = ClassName.get(fieldClassInfo.getPackageName(),
+                                                 FileGenUtils.unescapeEscapedString(adapterClassName));
+        addLazyField(adapterBuilder, adapterTypeName, fieldName,
+                     "(" + fieldClassInfo.getPackageName() + "." + adapterClassName + ") " +
+                     stagGenerator.getTypeAdapterGetterCode(fieldType, getterName), false);
+        return fieldAccessor;
     }
 
     private static String addFieldForUnknownType(@NotNull TypeMirror fieldType,
@@ -536,24 +907,21 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         ExternalAdapterInfo externalAdapterInfo = stagGenerator.getExternalSupportedAdapter(fieldType);
         if (null != externalAdapterInfo) {
             //Generate the Type Adapter as a member variable
-            String fieldName = adapterFieldInfo.getFieldName(fieldType);
-            if (null == fieldName) {
-                fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
-                adapterFieldInfo.addField(fieldType, fieldName);
-                String originalFieldName = FileGenUtils.unescapeEscapedString(fieldName);
-                TypeName typeName = getAdapterFieldTypeName(fieldType);
-                adapterBuilder.addField(typeName, originalFieldName, Modifier.PRIVATE, Modifier.FINAL);
-                String statement = fieldName + " = " +
-                                   getCleanedFieldInitializer(externalAdapterInfo.getInitializer("gson", ""));
-                constructorBuilder.addStatement(statement);
+            String fieldAccessor = adapterFieldInfo.getFieldAccessor(fieldType);
+            if (null == fieldAccessor) {
+                String fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
+                fieldAccessor = getLazyFieldAccessor(fieldName);
+                adapterFieldInfo.addField(fieldType, fieldAccessor);
+                addLazyField(adapterBuilder, fieldType, fieldName, externalAdapterInfo.getInitializer("mGson", "", ""),
+                             false);
             }
 
-            return fieldName;
+            return fieldAccessor;
         } else {
             String getterField = stagGenerator.addFieldForUnknownType(fieldType);
             sGsonVariableUsed = true;
             sStagFactoryUsed = true;
-            return "mStagFactory." + "get" + getterField + "(mGson)";
+            return stagGenerator.getTypeAdapterGetterCode(fieldType, "get" + getterField);
         }
     }
 
@@ -567,18 +935,16 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                                                    @NotNull Map<TypeVariable, String> typeVarsMap,
                                                    @NotNull AdapterFieldInfo adapterFieldInfo) {
 
-        String fieldName = adapterFieldInfo.getFieldName(fieldType);
-        if (null == fieldName) {
-            fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
-            adapterFieldInfo.addField(fieldType, fieldName);
-            String originalFieldName = FileGenUtils.unescapeEscapedString(fieldName);
-            TypeName typeName = getAdapterFieldTypeName(fieldType);
-            adapterBuilder.addField(typeName, originalFieldName, Modifier.PRIVATE, Modifier.FINAL);
-            constructorBuilder.addStatement(
-                    fieldName + " = (TypeAdapter<" + fieldType + ">) gson.getAdapter(" +
-                    getTypeTokenCode(fieldType, typeVarsMap, typeTokenConstantsGenerator) + ")");
-        }
-        return fieldName;
+        String fieldAccessor = adapterFieldInfo.getFieldAccessor(fieldType);
+        if (null == fieldAccessor) {
+            String fieldName = TYPE_ADAPTER_FIELD_PREFIX + adapterFieldInfo.size();
+            fieldAccessor = getLazyFieldAccessor(fieldName);
+            adapterFieldInfo.addField(fieldType, fieldAccessor);
+            addLazyField(adapterBuilder, fieldType, fieldName,
+                         "(TypeAdapter<" + fieldType + ">) mGson.getAdapter(" +
+                         getTypeTokenCode(fieldType, typeVarsMap, typeTokenConstantsGenerator) + ")", true);
+        }
+        return fieldAccessor;
     }
 
     @NotNull
@@ -589,13 +955,16 @@ public class TypeAdapterGenerator extends AdapterGenerator {
             @NotNull TypeTokenConstantsGenerator typeTokenConstantsGenerator,
             @NotNull Map<TypeVariable, String> typeVarsMap, @NotNull StagGenerator stagGenerator) {
 
-        HashSet<TypeMirror> typeSet = new HashSet<>(memberVariables.values());
+        // Numbered in the order of the members, so that the adapter does not vary between compilations
+        Set<TypeMirror> typeSet = new LinkedHashSet<>(memberVariables.values());
         AdapterFieldInfo result = new AdapterFieldInfo(typeSet.size());
         boolean hasUnknownGenericField =
                 genericClassInfo != null && genericClassInfo.mHasUnknownVarTypeFields;
         for (TypeMirror fieldType : typeSet) {
             String adapterAccessor;
-            if (hasUnknownGenericField && TypeUtils.containsTypeVarParams(fieldType)) {
+            if (isDirectAdapterType(fieldType, stagGenerator)) {
+                adapterAccessor = addDirectAdapterField(fieldType, adapterBuilder, stagGenerator, result);
+            } else if (hasUnknownGenericField && TypeUtils.containsTypeVarParams(fieldType)) {
                 adapterAccessor = getAdapterForUnknownType(fieldType, adapterBuilder, constructorBuilder,
                                                            typeTokenConstantsGenerator, typeVarsMap, result);
             } else {
@@ -606,13 +975,10 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                 if (null != adapterAccessor && adapterAccessor.startsWith("new ")) {
                     //Add this to a member variable
                     String fieldName = TYPE_ADAPTER_FIELD_PREFIX + result.size();
-                    result.addField(fieldType, fieldName);
-                    String originalFieldName = FileGenUtils.unescapeEscapedString(fieldName);
-                    TypeName typeName = getAdapterFieldTypeName(fieldType);
-                    adapterBuilder.addField(typeName, originalFieldName, Modifier.PRIVATE, Modifier.FINAL);
-                    String statement = fieldName + " = " + getCleanedFieldInitializer(adapterAccessor);
-                    constructorBuilder.addStatement(statement);
-                    adapterAccessor = fieldName;
+                    String fieldAccessor = getLazyFieldAccessor(fieldName);
+                    result.addField(fieldType, fieldAccessor);
+                    addLazyField(adapterBuilder, fieldType, fieldName, adapterAccessor, false);
+                    adapterAccessor = fieldAccessor;
                 }
             }
 
@@ -623,11 +989,16 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         return result;
     }
 
+    /**
+     * Returns the write method, followed by the helper methods it calls if the model is so large
+     * that the write method would not be compiled by the JIT otherwise, each of them writing a
+     * group of the fields.
+     */
     @NotNull
-    private static MethodSpec getWriteMethodSpec(@NotNull TypeName typeName,
-                                                 @NotNull Map<Element, TypeMirror> memberVariables,
-                                                 @NotNull AdapterFieldInfo adapterFieldInfo) {
-        final MethodSpec.Builder builder = MethodSpec.methodBuilder("write")
+    private static List<MethodSpec> getWriteMethodSpecs(@NotNull TypeName typeName,
+                                                        @NotNull Map<Element, TypeMirror> memberVariables,
+                                                        @NotNull AdapterFieldInfo adapterFieldInfo) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder("write")
                 .addParameter(JsonWriter.class, "writer")
                 .addParameter(typeName, "object")
                 .returns(void.class)
@@ -641,44 +1012,97 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         builder.addStatement("return");
         builder.endControlFlow();
 
+        List<CodeBlock> fieldCodes = new ArrayList<>();
+        List<Integer> fieldSizes = new ArrayList<>();
+        int size = WRITE_METHOD_SIZE;
         for (Map.Entry<Element, TypeMirror> element : memberVariables.entrySet()) {
-            String name = getJsonName(element.getKey());
-            final String variableName = element.getKey().getSimpleName().toString();
-            String variableType = element.getValue().toString();
-
-            boolean isPrimitive = TypeUtils.isSupportedPrimitive(variableType);
+            final boolean[] isNonNull = new boolean[1];
+            runIfAnnotationSupported(element.getKey().getAnnotationMirrors(), new Runnable() {
+                @Override
+                public void run() {
+                    isNonNull[0] = true;
+                }
+            });
+            int fieldSize = WRITE_FIELD_SIZE + (isNonNull[0] ? WRITE_NON_NULL_CHECK_SIZE : 0);
+            fieldCodes.add(getWriteFieldCode(element.getKey(), element.getValue(), isNonNull[0], adapterFieldInfo));
+            fieldSizes.add(fieldSize);
+            size += fieldSize;
+        }
 
-            builder.addCode("\n");
-            if (!isPrimitive) {
-                builder.beginControlFlow("if (object." + variableName + " != null) ");
+        List<MethodSpec> methods = new ArrayList<>();
+        methods.add(null);
+        if (size <= MethodSizeUtils.MAX_METHOD_SIZE) {
+            for (CodeBlock fieldCode : fieldCodes) {
+                builder.addCode(fieldCode);
+            }
+        } else {
+            List<List<CodeBlock>> fieldGroups = MethodSizeUtils.group(fieldCodes, fieldSizes,
+                                                                      MethodSizeUtils.MAX_METHOD_SIZE);
+            for (int groupIndex = 0; groupIndex < fieldGroups.size(); groupIndex++) {
+                String helperName = METHOD_WRITE_FIELDS + groupIndex;
+                builder.addCode("\n");
+                builder.addStatement(helperName + "(writer, object)");
+
+                MethodSpec.Builder helperBuilder = MethodSpec.methodBuilder(helperName)
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(JsonWriter.class, "writer")
+                        .addParameter(typeName, "object")
+                        .addException(IOException.class);
+                for (CodeBlock fieldCode : fieldGroups.get(groupIndex)) {
+                    helperBuilder.addCode(fieldCode);
+                }
+                methods.add(helperBuilder.build());
             }
+        }
+
+        builder.addCode("\n");
+        builder.addStatement("writer.endObject()");
+        methods.set(0, builder.build());
+        return methods;
+    }
 
-            builder.addStatement("writer.name(\"" + name + "\")");
-            if (!isPrimitive) {
+    /**
+     * Returns the code writing the name and the value of the field, if the value is not null.
+     */
+    @NotNull
+    private static CodeBlock getWriteFieldCode(@NotNull Element element, @NotNull TypeMirror elementValue,
+                                               boolean isNonNull, @NotNull AdapterFieldInfo adapterFieldInfo) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        String name = getJsonName(element);
+        String variableName = element.getSimpleName().toString();
+        String variableType = elementValue.toString();
+
+        boolean isPrimitive = TypeUtils.isSupportedPrimitive(variableType);
+
+        builder.add("\n");
+        if (!isPrimitive) {
+            builder.beginControlFlow("if (object." + variableName + " != null) ");
+        }
+
+        builder.addStatement("writer.name(\"" + name + "\")");
+        if (!isPrimitive) {
+            if (null != KnownTypeAdapterUtils.getInlineReadCode(elementValue)) {
+                // The known type adapters of the wrappers and String write the non null values the same way
+                builder.addStatement("writer.value(object." + variableName + ")");
+            } else {
                 builder.addStatement(
-                        adapterFieldInfo.getAdapterAccessor(element.getValue()) + ".write(writer, object." +
+                        adapterFieldInfo.getAdapterAccessor(elementValue) + ".write(writer, object." +
                         variableName + ")");
-                /*
-                * If the element is annotated with NonNull annotation, throw {@link IOException} if it is null.
-                */
-                runIfAnnotationSupported(element.getKey().getAnnotationMirrors(), new Runnable() {
-                    @Override
-                    public void run() {
-                        builder.endControlFlow();
-                        builder.beginControlFlow("else if (object." + variableName + " == null)");
-                        builder.addStatement("throw new java.io.IOException(\"" + variableName +
-                                             " cannot be null\")");
-                    }
-                });
-
+            }
+            /*
+            * If the element is annotated with NonNull annotation, throw {@link IOException} if it is null.
+            */
+            if (isNonNull) {
                 builder.endControlFlow();
-            } else {
-                builder.addStatement("writer.value(object." + variableName + ")");
+                builder.beginControlFlow("else if (object." + variableName + " == null)");
+                builder.addStatement("throw new java.io.IOException(\"" + variableName +
+                                     " cannot be null\")");
             }
-        }
 
-        builder.addCode("\n");
-        builder.addStatement("writer.endObject()");
+            builder.endControlFlow();
+        } else {
+            builder.addStatement("writer.value(object." + variableName + ")");
+        }
         return builder.build();
     }
 
@@ -702,17 +1126,15 @@ public class TypeAdapterGenerator extends AdapterGenerator {
 
         TypeVariableName stagFactoryTypeName = stagGenerator.getGeneratedClassName();
         MethodSpec.Builder constructorBuilder = MethodSpec.constructorBuilder()
-                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
-                                       .addMember("value", "\"unchecked\"")
-                                       .build())
                 .addModifiers(Modifier.PUBLIC)
                 .addParameter(Gson.class, "gson")
                 .addParameter(stagFactoryTypeName, "stagFactory");
 
-        String className = FileGenUtils.unescapeEscapedString(mInfo.getTypeAdapterClassName());
+        String className = FileGenUtils.unescapeEscapedString(
+                null != mSpecializedClassName ? mSpecializedClassName : mInfo.getTypeAdapterClassName());
         TypeSpec.Builder adapterBuilder = TypeSpec.classBuilder(className)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                .superclass(ParameterizedTypeName.get(ClassName.get(TypeAdapter.class), typeVariableName));
+                .superclass(ParameterizedTypeName.get(ClassName.get(ProjectableTypeAdapter.class), typeVariableName));
 
         Map<TypeVariable, String> typeVarsMap = new HashMap<>();
 
@@ -729,7 +1151,7 @@ public class TypeAdapterGenerator extends AdapterGenerator {
                     String paramName;
                     if (genericClassInfo != null && genericClassInfo.mHasUnknownVarTypeFields) {
                         //If the classInfo has unknown types, pass type... as param in constructor.
-                        paramName = "type[" + String.valueOf(idx) + "]";
+                        paramName = "mTypes[" + String.valueOf(idx) + "]";
                     } else {
                         ParameterizedTypeName parameterizedTypeName =
                                 ParameterizedTypeName.get(ClassName.get(TypeAdapter.class),
@@ -746,18 +1168,24 @@ public class TypeAdapterGenerator extends AdapterGenerator {
             if (idx > 0 && genericClassInfo != null && genericClassInfo.mHasUnknownVarTypeFields) {
                 constructorBuilder.addParameter(Type[].class, "type");
                 constructorBuilder.varargs(true);
+                adapterBuilder.addField(Type[].class, "mTypes", Modifier.PRIVATE, Modifier.FINAL);
+                constructorBuilder.addStatement("this.mTypes = type");
             }
         }
 
         AnnotatedClass annotatedClass = SupportedTypesModel.getInstance().getSupportedType(typeMirror);
         Map<Element, TypeMirror> memberVariables = annotatedClass.getMemberVariables();
+        if (null != mSpecializedClassName) {
+            memberVariables = TypeUtils.getParameterizedMembers((DeclaredType) typeMirror, memberVariables);
+        }
+        Map<String, Integer> jsonNameIndices = getJsonNameIndices(typeMirror, memberVariables);
 
         AdapterFieldInfo adapterFieldInfo =
                 addAdapterFields(genericClassInfo, adapterBuilder, constructorBuilder, memberVariables,
                                  typeTokenConstantsGenerator, typeVarsMap, stagGenerator);
 
-        MethodSpec writeMethod = getWriteMethodSpec(typeVariableName, memberVariables, adapterFieldInfo);
-        MethodSpec readMethod = getReadMethodSpec(typeVariableName, memberVariables, adapterFieldInfo);
+        List<MethodSpec> writeMethods = getWriteMethodSpecs(typeVariableName, memberVariables, adapterFieldInfo);
+        List<MethodSpec> readMethods = getReadMethodSpecs(typeVariableName, memberVariables, adapterFieldInfo);
 
         if (sGsonVariableUsed) {
             adapterBuilder.addField(Gson.class, "mGson", Modifier.FINAL, Modifier.PRIVATE);
@@ -770,8 +1198,10 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         }
 
         adapterBuilder.addMethod(constructorBuilder.build());
-        adapterBuilder.addMethod(writeMethod);
-        adapterBuilder.addMethod(readMethod);
+        adapterBuilder.addMethods(writeMethods);
+        adapterBuilder.addMethods(readMethods);
+        adapterBuilder.addMethods(NameMatcherGenerator.getNameMatcherMethodSpecs(METHOD_GET_FIELD_INDEX,
+                                                                                 jsonNameIndices));
 
         return adapterBuilder.build();
     }
@@ -786,16 +1216,33 @@ public class TypeAdapterGenerator extends AdapterGenerator {
         @NotNull
         private final Map<String, String> mAdapterFields;
 
+        //Type.toString -> Whether the adapter is a ProjectableTypeAdapter, for the adapters added by addDirectAdapterField
+        @NotNull
+        private final Map<String, Boolean> mDirectAdapters;
+
         AdapterFieldInfo(int capacity) {
             mAdapterFields = new HashMap<>(capacity);
             mAdapterAccessor = new HashMap<>(capacity);
+            mDirectAdapters = new HashMap<>(capacity);
+        }
+
+        boolean isDirectAdapter(@NotNull TypeMirror fieldType) {
+            return mDirectAdapters.containsKey(fieldType.toString());
+        }
+
+        boolean isDirectProjectableAdapter(@NotNull TypeMirror fieldType) {
+            return Boolean.TRUE.equals(mDirectAdapters.get(fieldType.toString()));
+        }
+
+        void addDirectAdapter(@NotNull TypeMirror fieldType, boolean isProjectable) {
+            mDirectAdapters.put(fieldType.toString(), isProjectable);
         }
 
         String getAdapterAccessor(@NotNull TypeMirror typeMirror) {
             return mAdapterAccessor.get(typeMirror.toString());
         }
 
-        String getFieldName(@NotNull TypeMirror fieldType) {
+        String getFieldAccessor(@NotNull TypeMirror fieldType) {
             return mAdapterFields.get(fieldType.toString());
         }
 
@@ -803,8 +1250,8 @@ public class TypeAdapterGenerator extends AdapterGenerator {
             return mAdapterFields.size();
         }
 
-        void addField(@NotNull TypeMirror fieldType, @NotNull String fieldName) {
-            mAdapterFields.put(fieldType.toString(), fieldName);
+        void addField(@NotNull TypeMirror fieldType, @NotNull String fieldAccessor) {
+            mAdapterFields.put(fieldType.toString(), fieldAccessor);
         }
 
         void addTypeToAdapterAccessor(@NotNull TypeMirror typeMirror, String accessorCode) {
@@ -25,6 +25,7 @@ package com.vimeo.stag.processor.generators;
 
 
 import com.google.gson.reflect.TypeToken;
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
@@ -39,11 +40,19 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 
 public class TypeTokenConstantsGenerator {
 
@@ -51,6 +60,10 @@ public class TypeTokenConstantsGenerator {
 
     private static final String FIELD_PREFIX = "TYPE_TOKEN_";
 
+    private static final String STAG_TYPES = "com.vimeo.stag.StagTypes";
+
+    private static final String CLASS_LITERAL_SUFFIX = ".class";
+
     @NotNull
     private final Filer mFiler;
     @NotNull
@@ -64,20 +77,149 @@ public class TypeTokenConstantsGenerator {
     }
 
     @NotNull
-    private static MethodSpec generateTypeTokenGetters(@NotNull String name, @NotNull TypeName typeName) {
+    private static MethodSpec generateTypeTokenGetters(@NotNull String name, @NotNull TypeName typeName,
+                                                       @NotNull TypeMirror type) {
+        TypeName typeTokenTypeName = ParameterizedTypeName.get(ClassName.get(TypeToken.class), typeName);
         MethodSpec.Builder mBuilder = MethodSpec.methodBuilder(getMethodName(name))
-                .returns(ParameterizedTypeName.get(ClassName.get(TypeToken.class), typeName))
+                .returns(typeTokenTypeName)
                 .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
-                .beginControlFlow("if (" + name + " == null)")
-                .addStatement(name + " = new com.google.gson.reflect.TypeToken<" + typeName + ">(){}")
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                                       .addMember("value", "\"unchecked\"")
+                                       .build())
+                .beginControlFlow("if ($L == null)", name)
+                .addStatement("$L = ($T) com.google.gson.reflect.TypeToken.get(" + getTypeCode(type) + ")", name,
+                              typeTokenTypeName)
                 .endControlFlow()
-                .addStatement("return " + name);
+                .addStatement("return $L", name);
         return mBuilder.build();
     }
 
+    /**
+     * Returns true if the code returned by {@link #getTypeCode(TypeMirror)} is a class literal, whose
+     * {@link TypeToken} is already typed with the type, rather than a type built at runtime.
+     */
+    static boolean isClassLiteral(@NotNull String typeCode) {
+        return typeCode.endsWith(CLASS_LITERAL_SUFFIX);
+    }
+
+    /**
+     * Returns the code building the {@link java.lang.reflect.Type} of the concrete type, which is
+     * the class literal of the type if it is not generic.
+     * <p>
+     * Generic types are built with {@code com.vimeo.stag.StagTypes}, rather than as the type of an
+     * anonymous subclass of {@link TypeToken}, each of which is a class to load, and is resolved
+     * reflectively when it is created.
+     */
+    @NotNull
+    static String getTypeCode(@NotNull TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return type.toString() + ".class";
+            case ARRAY:
+                String componentTypeCode = getTypeCode(((ArrayType) type).getComponentType());
+                if (componentTypeCode.endsWith(CLASS_LITERAL_SUFFIX)) {
+                    return componentTypeCode.substring(0, componentTypeCode.length() - CLASS_LITERAL_SUFFIX.length()) +
+                           "[]" + CLASS_LITERAL_SUFFIX;
+                }
+                return STAG_TYPES + ".arrayOf(" + componentTypeCode + ")";
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                if (null != wildcardType.getSuperBound()) {
+                    return STAG_TYPES + ".supertypeOf(" + getTypeCode(wildcardType.getSuperBound()) + ")";
+                }
+                TypeMirror extendsBound = wildcardType.getExtendsBound();
+                return STAG_TYPES + ".subtypeOf(" +
+                       (null != extendsBound ? getTypeCode(extendsBound) : "java.lang.Object.class") + ")";
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                String rawTypeCode = ((TypeElement) declaredType.asElement()).getQualifiedName() +
+                                     CLASS_LITERAL_SUFFIX;
+                List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+                if (typeArguments.isEmpty()) {
+                    return rawTypeCode;
+                }
+                StringBuilder code = new StringBuilder(STAG_TYPES);
+                TypeMirror enclosingType = declaredType.getEnclosingType();
+                if (enclosingType.getKind() == TypeKind.DECLARED &&
+                    !((DeclaredType) enclosingType).getTypeArguments().isEmpty()) {
+                    code.append(".newParameterizedTypeWithOwner(").append(getTypeCode(enclosingType)).append(", ");
+                } else {
+                    code.append(".newParameterizedType(");
+                }
+                code.append(rawTypeCode);
+                for (TypeMirror typeArgument : typeArguments) {
+                    code.append(", ").append(getTypeCode(typeArgument));
+                }
+                return code.append(')').toString();
+            default:
+                // Type variables are never concrete, so this is only reached by invalid types
+                return "java.lang.Object.class";
+        }
+    }
+
     @NotNull
     private static String getMethodName(@NotNull String name) {
-        return "get" + name.substring(0, 1).toUpperCase() + name.substring(1).toLowerCase();
+        return "getTypeToken" + name.substring(FIELD_PREFIX.length() - 1);
+    }
+
+    /**
+     * Returns the name of the constant holding the type token of the type, such as
+     * {@code TYPE_TOKEN_java_util_List$1java_lang_String$2} for {@code java.util.List<java.lang.String>}.
+     * The name is derived from the type alone, so that the type adapters referencing the constant
+     * agree on it without knowing the other models of the module, and distinct types never share it.
+     */
+    @NotNull
+    static String getFieldName(@NotNull TypeMirror type) {
+        String typeString = type.toString();
+        StringBuilder name = new StringBuilder(FIELD_PREFIX);
+        for (int idx = 0; idx < typeString.length(); idx++) {
+            char character = typeString.charAt(idx);
+            switch (character) {
+                case ' ':
+                    break;
+                case '.':
+                    name.append('_');
+                    break;
+                case '_':
+                    name.append("$0");
+                    break;
+                case '<':
+                    name.append("$1");
+                    break;
+                case '>':
+                    name.append("$2");
+                    break;
+                case ',':
+                    name.append("$3");
+                    break;
+                case '[':
+                    name.append("$4");
+                    break;
+                case ']':
+                    name.append("$5");
+                    break;
+                case '?':
+                    name.append("$6");
+                    break;
+                case '$':
+                    name.append("$7");
+                    break;
+                default:
+                    if (Character.isJavaIdentifierPart(character)) {
+                        name.append(character);
+                    } else {
+                        name.append(String.format("$u%04x", (int) character));
+                    }
+            }
+        }
+        return name.toString();
     }
 
     /**
@@ -93,27 +235,32 @@ public class TypeTokenConstantsGenerator {
         if (null == typeTokenInfo) {
             typeTokenInfo = new TypeTokenInfo();
             typeTokenInfo.mTypeMirror = type;
-            typeTokenInfo.mFieldName = FIELD_PREFIX + mTypesToBeGenerated.size();
+            typeTokenInfo.mFieldName = getFieldName(type);
             typeTokenInfo.mMethodName = getMethodName(typeTokenInfo.mFieldName) + "()";
             mTypesToBeGenerated.put(typeString, typeTokenInfo);
         }
 
         return mGeneratedPackageName + "." + CLASS_STAG_TYPE_TOKEN_CONSTANTS + "." +
-               typeTokenInfo.mMethodName;
+               FileGenUtils.escapeStringForCodeBlock(typeTokenInfo.mMethodName);
     }
 
     /**
      * Generates the public API in the form of the {@code Stag.Factory} type adapter factory
      * for the annotated classes.
      *
+     * @param originatingElements the elements of all the supported types, which the
+     *                            constants are generated from.
      * @throws IOException throws an exception
      *                     if we are unable to write the file
      *                     to the filesystem.
      */
-    public void generateTypeTokenConstants() throws IOException {
+    public void generateTypeTokenConstants(@NotNull Set<Element> originatingElements) throws IOException {
         if (!mTypesToBeGenerated.isEmpty()) {
             TypeSpec.Builder adaptersBuilder = TypeSpec.classBuilder(CLASS_STAG_TYPE_TOKEN_CONSTANTS)
                     .addModifiers(Modifier.PUBLIC, Modifier.FINAL);
+            for (Element element : originatingElements) {
+                adaptersBuilder.addOriginatingElement(element);
+            }
 
             for (Map.Entry<String, TypeTokenInfo> entry : mTypesToBeGenerated.entrySet()) {
                 TypeTokenInfo typeTokenInfo = entry.getValue();
@@ -124,7 +271,8 @@ public class TypeTokenConstantsGenerator {
                         FieldSpec.builder(parameterizedTypeName, typeTokenInfo.mFieldName, Modifier.PUBLIC,
                                           Modifier.STATIC);
                 adaptersBuilder.addField(fieldSpecBuilder.build());
-                adaptersBuilder.addMethod(generateTypeTokenGetters(typeTokenInfo.mFieldName, typeName));
+                adaptersBuilder.addMethod(
+                        generateTypeTokenGetters(typeTokenInfo.mFieldName, typeName, typeTokenInfo.mTypeMirror));
             }
 
             JavaFile javaFile = JavaFile.builder(mGeneratedPackageName, adaptersBuilder.build()).build();
@@ -144,9 +144,6 @@ public class AnnotatedClass {
                 if (!modifiers.contains(Modifier.FINAL) && !modifiers.contains(Modifier.STATIC) &&
                     !modifiers.contains(Modifier.TRANSIENT)) {
                     checkModifiers(variableElement, modifiers);
-                    if (!TypeUtils.isAbstract(element)) {
-                        SupportedTypesModel.getInstance().checkAndAddExternalAdapter(variableElement);
-                    }
                     if (StagProcessor.DEBUG) {
                         DebugLog.log(TAG, "\t\tMember variables - " + variableElement.asType().toString());
                     }
@@ -122,6 +122,17 @@ public class ClassInfo {
         return mType;
     }
 
+    /**
+     * The binary name of this class, as
+     * returned by {@link Class#getName()}.
+     *
+     * @return a valid binary class name.
+     */
+    @NotNull
+    public String getBinaryName() {
+        return ElementUtils.getBinaryName(mType);
+    }
+
     @Nullable
     public List<? extends TypeMirror> getTypeArguments() {
         return TypeUtils.getTypeArguments(mType);
@@ -23,19 +23,17 @@
  */
 package com.vimeo.stag.processor.generators.model;
 
-import com.vimeo.stag.processor.generators.ExternalAdapterInfo;
 import com.vimeo.stag.processor.utils.TypeUtils;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.Element;
-import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 
 public final class SupportedTypesModel {
@@ -43,10 +41,8 @@ public final class SupportedTypesModel {
     @Nullable
     private static SupportedTypesModel sInstance;
     private final Map<String, AnnotatedClass> mSupportedTypesMap = new HashMap<>();
-    private final Set<Element> mSupportedTypes = new HashSet<>();
-    private final Set<TypeMirror> mSupportedTypesMirror = new HashSet<>();
-    private final Set<ExternalAdapterInfo> mExternalSupportedAdapters = new HashSet<>();
-    private String mGeneratedStagFactoryName;
+    private final Set<Element> mSupportedTypes = new LinkedHashSet<>();
+    private final Set<TypeMirror> mSupportedTypesMirror = new LinkedHashSet<>();
 
     private SupportedTypesModel() {
     }
@@ -60,8 +56,15 @@ public final class SupportedTypesModel {
         return sInstance;
     }
 
-    public void initialize(@NotNull String generatedStagFactoryName) {
-        mGeneratedStagFactoryName = generatedStagFactoryName;
+    /**
+     * Forgets the types of the previous compilation, as the
+     * instance outlives it when the processor runs again in
+     * the same JVM.
+     */
+    public void initialize() {
+        mSupportedTypesMap.clear();
+        mSupportedTypes.clear();
+        mSupportedTypesMirror.clear();
     }
 
     /**
@@ -106,21 +109,11 @@ public final class SupportedTypesModel {
      */
     @NotNull
     public Set<Element> getSupportedElements() {
-        return new HashSet<>(mSupportedTypes);
+        return new LinkedHashSet<>(mSupportedTypes);
     }
 
     @NotNull
     public Set<TypeMirror> getSupportedTypesMirror() {
-        return new HashSet<>(mSupportedTypesMirror);
-    }
-
-    public void checkAndAddExternalAdapter(VariableElement variableElement) {
-        //If this is of a type which is not part of this module, but generated by Stag, we should use it.
-        ExternalAdapterInfo.addExternalAdapters(mGeneratedStagFactoryName, variableElement.asType(),
-                                                mExternalSupportedAdapters);
-    }
-
-    public Set<ExternalAdapterInfo> getExternalSupportedAdapters() {
-        return new HashSet<>(mExternalSupportedAdapters);
+        return new LinkedHashSet<>(mSupportedTypesMirror);
     }
 }
@@ -71,6 +71,35 @@ public final class ElementUtils {
         return packageElement.getQualifiedName().toString();
     }
 
+    /**
+     * Returns the binary name of the type, i.e. the
+     * name returned by {@link Class#getName()} at runtime,
+     * e.g. {@code com.vimeo.Outer$Inner}.
+     *
+     * @param type the type to get the binary name of.
+     * @return the binary name of the type.
+     */
+    @NotNull
+    public static String getBinaryName(@NotNull TypeMirror type) {
+        TypeElement typeElement = (TypeElement) TypeUtils.getUtils().asElement(type);
+        return getUtils().getBinaryName(typeElement).toString();
+    }
+
+    /**
+     * Returns the top level type which declares the element, or the element itself if it is a top
+     * level type, e.g. {@code com.vimeo.Outer} for {@code com.vimeo.Outer.Inner}.
+     *
+     * @param element the element to get the top level type of.
+     * @return the top level type of the element.
+     */
+    @NotNull
+    public static Element getTopLevelElement(@NotNull Element element) {
+        while (element.getEnclosingElement() instanceof TypeElement) {
+            element = element.getEnclosingElement();
+        }
+        return element;
+    }
+
     public static boolean isEnum(@Nullable Element element) {
         return element != null && element.getKind() == ElementKind.ENUM;
     }
@@ -34,6 +34,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.processing.Filer;
 import javax.lang.model.element.Element;
@@ -99,10 +100,10 @@ public final class FileGenUtils {
     }
 
     static void writeToResource(@NotNull Filer filer, @NotNull String generatedPackageName,
-                                @NotNull String resourceName, @NotNull CharSequence content)
-            throws IOException {
-        FileObject file =
-                filer.createResource(StandardLocation.CLASS_OUTPUT, generatedPackageName, resourceName);
+                                @NotNull String resourceName, @NotNull CharSequence content,
+                                @NotNull Set<Element> originatingElements) throws IOException {
+        FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, generatedPackageName, resourceName,
+                                               originatingElements.toArray(new Element[originatingElements.size()]));
         file.delete();
         Writer writer = null;
         try {
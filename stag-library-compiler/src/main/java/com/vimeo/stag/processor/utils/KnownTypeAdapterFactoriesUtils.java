@@ -30,20 +30,38 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Enumeration;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 
 public final class KnownTypeAdapterFactoriesUtils {
 
     private static final String KNOWN_FACTORIES_RESOURCE = "StagTypeAdapterFactory.list";
+    private static final char PACKAGE_SEPARATOR = ':';
+    private static final char NAME_SEPARATOR = ',';
+
+    /**
+     * The names listed by the manifests found on the classpath, by the URL of the manifest. The
+     * processor is loaded once for many compilations by build daemons, and the manifests of the
+     * modules which did not change since the previous compilation are not read again.
+     */
+    @NotNull
+    private static final ConcurrentHashMap<String, ClasspathManifest> sClasspathManifests =
+            new ConcurrentHashMap<>();
 
     private KnownTypeAdapterFactoriesUtils() {
         throw new UnsupportedOperationException("This class is not instantiable");
@@ -51,18 +69,26 @@ public final class KnownTypeAdapterFactoriesUtils {
 
     public static Set<TypeMirror> loadKnownTypes(@NotNull ProcessingEnvironment processingEnv,
                                                  @NotNull String generatedPackageName) throws IOException {
-        Filer filer = processingEnv.getFiler();
-        LinkedHashSet<TypeMirror> knownTypes = new LinkedHashSet<>();
+        /*
+         * The manifest of each module lists the types of the modules it depends on as well as its
+         * own, so the same names are listed by many manifests. They are collected first so that
+         * each of them is resolved once.
+         */
+        Set<String> knownTypeNames = new LinkedHashSet<>();
+        CharSequence content =
+                FileGenUtils.readResource(processingEnv.getFiler(), generatedPackageName, KNOWN_FACTORIES_RESOURCE);
+        if (null != content) {
+            parseManifest(content, knownTypeNames);
+        }
+        loadKnownTypeNamesFromClasspath(generatedPackageName, knownTypeNames);
+
+        // Types which used to be present but are no longer available are filtered out
         Elements elementUtils = processingEnv.getElementUtils();
-        loadKnownTypesFromFiler(elementUtils, filer, generatedPackageName, knownTypes);
-        loadKnownTypesFromClasspath(elementUtils, knownTypes, generatedPackageName);
-
-        // Filter out types which used to be present but are no longer available:
-        Iterator<TypeMirror> iterator = knownTypes.iterator();
-        while (iterator.hasNext()) {
-            TypeMirror knownType = iterator.next();
-            if (knownType == null) {
-                iterator.remove();
+        LinkedHashSet<TypeMirror> knownTypes = new LinkedHashSet<>(knownTypeNames.size());
+        for (String knownTypeName : knownTypeNames) {
+            TypeElement element = elementUtils.getTypeElement(knownTypeName);
+            if (null != element) {
+                knownTypes.add(element.asType());
             }
         }
 
@@ -71,56 +97,137 @@ public final class KnownTypeAdapterFactoriesUtils {
 
     public static void writeKnownTypes(@NotNull ProcessingEnvironment processingEnv,
                                        @NotNull String generatedPackageName,
-                                       @NotNull Set<TypeMirror> knownTypes) throws IOException {
-        Filer filer = processingEnv.getFiler();
-        StringBuilder knownTypesBuilder = new StringBuilder();
+                                       @NotNull Set<TypeMirror> knownTypes,
+                                       @NotNull Set<Element> originatingElements) throws IOException {
+        Elements elementUtils = processingEnv.getElementUtils();
+        Map<String, List<String>> simpleNamesByPackage = new TreeMap<>();
         for (TypeMirror knownType : knownTypes) {
-            knownTypesBuilder.append(knownType).append("\n");
+            // Parameterized types were never resolved from the list, and are left out of it
+            if (!(knownType instanceof DeclaredType) ||
+                !((DeclaredType) knownType).getTypeArguments().isEmpty()) {
+                continue;
+            }
+            Element element = ((DeclaredType) knownType).asElement();
+            String packageName = elementUtils.getPackageOf(element).getQualifiedName().toString();
+            String qualifiedName = knownType.toString();
+            List<String> simpleNames = simpleNamesByPackage.get(packageName);
+            if (null == simpleNames) {
+                simpleNames = new ArrayList<>();
+                simpleNamesByPackage.put(packageName, simpleNames);
+            }
+            simpleNames.add(packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1));
         }
-        FileGenUtils.writeToResource(filer, generatedPackageName, KNOWN_FACTORIES_RESOURCE,
-                                     knownTypesBuilder.toString());
+        FileGenUtils.writeToResource(processingEnv.getFiler(), generatedPackageName, KNOWN_FACTORIES_RESOURCE,
+                                     formatManifest(simpleNamesByPackage), originatingElements);
     }
 
-    private static void loadKnownTypesFromFiler(@NotNull Elements elementUtils, @NotNull Filer filer,
-                                                @NotNull String generatedPackageName,
-                                                @NotNull Set<TypeMirror> resultSet) throws IOException {
-        CharSequence content =
-                FileGenUtils.readResource(filer, generatedPackageName, KNOWN_FACTORIES_RESOURCE);
-        if (content == null) {
-            return;
+    /**
+     * Returns the content of a manifest listing the types, which has a line per package, made of
+     * the name of the package followed by a colon and the simple names of its types, separated by
+     * commas, such as {@code com.vimeo.sample:User,Video,Video.Pictures}.
+     *
+     * @param simpleNamesByPackage the simple names of the types, nested types being
+     *                             qualified by their enclosing types, by their package.
+     */
+    @NotNull
+    public static String formatManifest(@NotNull Map<String, ? extends Collection<String>> simpleNamesByPackage) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, ? extends Collection<String>> entry : simpleNamesByPackage.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            builder.append(entry.getKey()).append(PACKAGE_SEPARATOR);
+            boolean isFirst = true;
+            for (String simpleName : entry.getValue()) {
+                if (!isFirst) {
+                    builder.append(NAME_SEPARATOR);
+                }
+                builder.append(simpleName);
+                isFirst = false;
+            }
+            builder.append('\n');
         }
-        String[] knownFactories = content.toString().split("[\\n\\r]+");
-        for (String knownFactory : knownFactories) {
-            TypeElement element = elementUtils.getTypeElement(knownFactory);
-            if (null != element) {
-                resultSet.add(element.asType());
+        return builder.toString();
+    }
+
+    /**
+     * Adds the qualified names of the types listed by the manifest to the set. Lines without a
+     * package, written by earlier versions, list the qualified name of a single type.
+     *
+     * @see #formatManifest(Map)
+     */
+    public static void parseManifest(@NotNull CharSequence content, @NotNull Set<String> qualifiedNames) {
+        for (String line : content.toString().split("[\\n\\r]+")) {
+            line = line.trim();
+            int packageEnd = line.indexOf(PACKAGE_SEPARATOR);
+            if (packageEnd < 0) {
+                if (!line.isEmpty()) {
+                    qualifiedNames.add(line);
+                }
+                continue;
+            }
+            String packagePrefix = packageEnd == 0 ? "" : line.substring(0, packageEnd) + ".";
+            int nameStart = packageEnd + 1;
+            while (nameStart < line.length()) {
+                int nameEnd = line.indexOf(NAME_SEPARATOR, nameStart);
+                if (nameEnd < 0) {
+                    nameEnd = line.length();
+                }
+                if (nameEnd > nameStart) {
+                    qualifiedNames.add(packagePrefix + line.substring(nameStart, nameEnd));
+                }
+                nameStart = nameEnd + 1;
             }
         }
     }
 
-    private static void loadKnownTypesFromClasspath(@NotNull Elements elementUtils,
-                                                    @NotNull Set<TypeMirror> resultSet,
-                                                    @NotNull String generatedPackageName) throws IOException {
+    private static void loadKnownTypeNamesFromClasspath(@NotNull String generatedPackageName,
+                                                        @NotNull Set<String> resultSet) throws IOException {
         ClassLoader classLoader = KnownTypeAdapterFactoriesUtils.class.getClassLoader();
         String resourcePath = generatedPackageName.replace('.', '/');
         Enumeration<URL> resources = classLoader.getResources(resourcePath + "/" + KNOWN_FACTORIES_RESOURCE);
         while (resources.hasMoreElements()) {
             URL typeAdapterFactoryUrl = resources.nextElement();
-            InputStream inputStream = typeAdapterFactoryUrl.openStream();
-            try {
-                BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream));
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                    TypeElement element = elementUtils.getTypeElement(line.trim());
-                    if (null != element) {
-                        resultSet.add(element.asType());
-                    }
+            URLConnection connection = typeAdapterFactoryUrl.openConnection();
+            long lastModified = connection.getLastModified();
+            String key = typeAdapterFactoryUrl.toString();
+            ClasspathManifest manifest = sClasspathManifests.get(key);
+            if (null == manifest || 0 == lastModified || manifest.mLastModified != lastModified) {
+                manifest = new ClasspathManifest(lastModified, readManifest(connection));
+                sClasspathManifests.put(key, manifest);
+            }
+            resultSet.addAll(manifest.mQualifiedNames);
+        }
+    }
 
-                }
-            } finally {
-                FileGenUtils.close(inputStream);
+    @NotNull
+    private static List<String> readManifest(@NotNull URLConnection connection) throws IOException {
+        InputStream inputStream = connection.getInputStream();
+        try {
+            BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, "UTF-8"));
+            StringBuilder content = new StringBuilder();
+            char[] buffer = new char[4096];
+            int count;
+            while ((count = bufferedReader.read(buffer)) != -1) {
+                content.append(buffer, 0, count);
             }
+            Set<String> qualifiedNames = new LinkedHashSet<>();
+            parseManifest(content, qualifiedNames);
+            return new ArrayList<>(qualifiedNames);
+        } finally {
+            FileGenUtils.close(inputStream);
         }
     }
 
-}
\ No newline at end of file
+    private static final class ClasspathManifest {
+
+        final long mLastModified;
+        @NotNull
+        final List<String> mQualifiedNames;
+
+        ClasspathManifest(long lastModified, @NotNull List<String> qualifiedNames) {
+            mLastModified = lastModified;
+            mQualifiedNames = qualifiedNames;
+        }
+    }
+}
@@ -5,6 +5,9 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.vimeo.stag.DoubleList;
+import com.vimeo.stag.IntList;
+import com.vimeo.stag.LongList;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -17,6 +20,7 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Currency;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +46,14 @@ public final class KnownTypeAdapterUtils {
     @NotNull
     private static final HashMap<String, String> SUPPORTED_PRIMITIVE_ARRAY = new HashMap<>();
 
+    @NotNull
+    private static final HashMap<String, String> INLINE_READ_CODE = new HashMap<>();
+
+    @NotNull
+    private static final HashSet<String> INLINE_NUMBER_FORMAT_CHECKED = new HashSet<>();
+
+    private static final String JSON_TOKEN = "com.google.gson.stream.JsonToken";
+
     static {
         KNOWN_TYPE_ADAPTERS.put(BitSet.class.getName(), "com.google.gson.internal.bind.TypeAdapters.BIT_SET");
         KNOWN_TYPE_ADAPTERS.put(Boolean.class.getName(), "com.google.gson.internal.bind.TypeAdapters.BOOLEAN");
@@ -75,6 +87,9 @@ public final class KnownTypeAdapterUtils {
         KNOWN_TYPE_ADAPTERS.put(JsonArray.class.getName(), "com.vimeo.stag.KnownTypeAdapters.JSON_ARRAY_TYPE_ADAPTER");
         KNOWN_TYPE_ADAPTERS.put(JsonPrimitive.class.getName(), "com.vimeo.stag.KnownTypeAdapters.JSON_PRIMITIVE_TYPE_ADAPTER");
         KNOWN_TYPE_ADAPTERS.put(JsonNull.class.getName(), "com.vimeo.stag.KnownTypeAdapters.JSON_NULL_TYPE_ADAPTER");
+        KNOWN_TYPE_ADAPTERS.put(IntList.class.getName(), "com.vimeo.stag.KnownTypeAdapters.INT_LIST");
+        KNOWN_TYPE_ADAPTERS.put(LongList.class.getName(), "com.vimeo.stag.KnownTypeAdapters.LONG_LIST");
+        KNOWN_TYPE_ADAPTERS.put(DoubleList.class.getName(), "com.vimeo.stag.KnownTypeAdapters.DOUBLE_LIST");
 
         SUPPORTED_COLLECTION_INFO.put(ArrayList.class.getName(), "com.vimeo.stag.KnownTypeAdapters.ArrayListInstantiator");
         SUPPORTED_COLLECTION_INFO.put(List.class.getName(), "com.vimeo.stag.KnownTypeAdapters.ListInstantiator");
@@ -88,6 +103,39 @@ public final class KnownTypeAdapterUtils {
         SUPPORTED_PRIMITIVE_ARRAY.put(float[].class.getSimpleName(), "com.vimeo.stag.KnownTypeAdapters.PrimitiveFloatArrayAdapter");
         SUPPORTED_PRIMITIVE_ARRAY.put(boolean[].class.getSimpleName(), "com.vimeo.stag.KnownTypeAdapters.PrimitiveBooleanArrayAdapter");
         SUPPORTED_PRIMITIVE_ARRAY.put(byte[].class.getSimpleName(), "com.vimeo.stag.KnownTypeAdapters.PrimitiveByteArrayAdapter");
+
+        /*
+         * The values read by these expressions are the ones read by the known type adapters
+         * of the same types, which they replace in the generated read methods. The expressions
+         * may use the JsonToken "jsonToken" peeked before the value, which is never NULL.
+         */
+        String booleanCode = "jsonToken == " + JSON_TOKEN + ".STRING ? " +
+                             "Boolean.parseBoolean(reader.nextString()) : reader.nextBoolean()";
+        INLINE_READ_CODE.put(boolean.class.getName(), booleanCode);
+        INLINE_READ_CODE.put(Boolean.class.getName(), booleanCode);
+        INLINE_READ_CODE.put(byte.class.getName(), "(byte) reader.nextInt()");
+        INLINE_READ_CODE.put(Byte.class.getName(), "(byte) reader.nextInt()");
+        INLINE_READ_CODE.put(short.class.getName(), "(short) reader.nextInt()");
+        INLINE_READ_CODE.put(Short.class.getName(), "(short) reader.nextInt()");
+        INLINE_READ_CODE.put(int.class.getName(), "reader.nextInt()");
+        INLINE_READ_CODE.put(Integer.class.getName(), "reader.nextInt()");
+        INLINE_READ_CODE.put(long.class.getName(), "reader.nextLong()");
+        INLINE_READ_CODE.put(Long.class.getName(), "reader.nextLong()");
+        INLINE_READ_CODE.put(float.class.getName(), "(float) reader.nextDouble()");
+        INLINE_READ_CODE.put(Float.class.getName(), "(float) reader.nextDouble()");
+        INLINE_READ_CODE.put(double.class.getName(), "reader.nextDouble()");
+        INLINE_READ_CODE.put(Double.class.getName(), "reader.nextDouble()");
+        INLINE_READ_CODE.put(String.class.getName(), "jsonToken == " + JSON_TOKEN + ".BOOLEAN ? " +
+                                                     "Boolean.toString(reader.nextBoolean()) : reader.nextString()");
+
+        INLINE_NUMBER_FORMAT_CHECKED.add(byte.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(Byte.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(short.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(Short.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(int.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(Integer.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(long.class.getName());
+        INLINE_NUMBER_FORMAT_CHECKED.add(Long.class.getName());
     }
 
     private KnownTypeAdapterUtils() {
@@ -180,4 +228,30 @@ public final class KnownTypeAdapterUtils {
         String outerClassType = TypeUtils.getOuterClassType(typeMirror);
         return SUPPORTED_PRIMITIVE_ARRAY.get(outerClassType);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the expression reading a value of the type directly from the
+     * {@link com.google.gson.stream.JsonReader} "reader", without boxing
+     * primitive values or calling a type adapter. This is only available for
+     * the primitive types other than char, their wrappers and {@link String}.
+     *
+     * @param typeMirror TypeMirror typeMirror
+     * @return the expression, or null if values of the type are read by an adapter.
+     */
+    @Nullable
+    public static String getInlineReadCode(@NotNull TypeMirror typeMirror) {
+        return INLINE_READ_CODE.get(typeMirror.toString());
+    }
+
+    /**
+     * Returns true if the expression returned by {@link #getInlineReadCode(TypeMirror)}
+     * throws a {@link NumberFormatException} for numbers out of the range of the type,
+     * which the adapter of the type reports as a {@link com.google.gson.JsonSyntaxException}.
+     *
+     * @param typeMirror TypeMirror typeMirror
+     * @return true if the exception has to be converted.
+     */
+    public static boolean isInlineReadNumberFormatChecked(@NotNull TypeMirror typeMirror) {
+        return INLINE_NUMBER_FORMAT_CHECKED.contains(typeMirror.toString());
+    }
+}
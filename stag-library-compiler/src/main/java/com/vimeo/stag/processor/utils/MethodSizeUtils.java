@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the methods generated for large models small enough to be compiled by the JIT.
+ * <p>
+ * HotSpot does not compile methods whose bytecode is larger than 8000 bytes
+ * ({@code -XX:+DontCompileHugeMethods}), which then always run in the interpreter. The
+ * generators estimate the bytecode size of the code they generate, slightly above the size
+ * javac actually produces, and move the code of oversized methods into helper methods.
+ */
+public final class MethodSizeUtils {
+
+    /**
+     * The bytecode size above which HotSpot does not compile a method.
+     */
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    /**
+     * The estimated bytecode size generated methods are kept under, which leaves room for
+     * the estimates being off.
+     */
+    public static final int MAX_METHOD_SIZE = HUGE_METHOD_LIMIT / 2;
+
+    private MethodSizeUtils() {
+        throw new UnsupportedOperationException("This class is not instantiable");
+    }
+
+    /**
+     * Splits the items into consecutive groups, each of them containing as many items as
+     * possible without their total size exceeding the maximum size. An item larger than the
+     * maximum size is put in a group of its own.
+     *
+     * @param items   the items to group, in order.
+     * @param sizes   the estimated size of each of the items.
+     * @param maxSize the maximum total size of a group.
+     * @param <T>     the type of the items.
+     * @return the groups, in the order of the items.
+     */
+    @NotNull
+    public static <T> List<List<T>> group(@NotNull List<T> items, @NotNull List<Integer> sizes, int maxSize) {
+        if (items.size() != sizes.size()) {
+            throw new IllegalArgumentException("Each of the items must have a size");
+        }
+        List<List<T>> groups = new ArrayList<>();
+        List<T> group = new ArrayList<>();
+        int groupSize = 0;
+        for (int idx = 0; idx < items.size(); idx++) {
+            int size = sizes.get(idx);
+            if (!group.isEmpty() && groupSize + size > maxSize) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupSize = 0;
+            }
+            group.add(items.get(idx));
+            groupSize += size;
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+}
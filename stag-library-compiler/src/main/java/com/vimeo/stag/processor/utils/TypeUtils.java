@@ -26,6 +26,7 @@ package com.vimeo.stag.processor.utils;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.vimeo.stag.LazyValue;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -40,6 +41,7 @@ import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.ArrayType;
@@ -166,6 +168,17 @@ public final class TypeUtils {
         return (typeMirror instanceof DeclaredType) && isAbstract(((DeclaredType) typeMirror).asElement());
     }
 
+    /**
+     * Determines whether or not the type is an enum.
+     *
+     * @param typeMirror the type to check.
+     * @return true if the type is declared as an enum, false otherwise.
+     */
+    public static boolean isEnum(@Nullable TypeMirror typeMirror) {
+        return (typeMirror instanceof DeclaredType) &&
+               ((DeclaredType) typeMirror).asElement().getKind() == ElementKind.ENUM;
+    }
+
     /**
      * Determines whether or not the Element is a parameterized type.
      * If the element is a parameterized type or contains parameterized type
@@ -355,6 +368,28 @@ public final class TypeUtils {
         return map;
     }
 
+    /**
+     * Resolves the types of the members of a generic class for one of its parameterizations.
+     * For instance, with the class Container{@literal <T>} holding a List{@literal <T>} field,
+     * the field is resolved to List{@literal <String>} for Container{@literal <String>}.
+     * Unlike {@link #getConcreteMembers}, this resolves type variables nested at any depth and
+     * in arrays, as well as the members inherited from generic super classes.
+     *
+     * @param concreteType the parameterization of the class.
+     * @param members      the member variables of the class, mapped to their declared types.
+     * @return a LinkedHashMap of the member variables mapped to their types in the
+     * parameterization, in the order of the provided members.
+     */
+    @NotNull
+    public static LinkedHashMap<Element, TypeMirror> getParameterizedMembers(@NotNull DeclaredType concreteType,
+                                                                             @NotNull Map<Element, TypeMirror> members) {
+        LinkedHashMap<Element, TypeMirror> map = new LinkedHashMap<>();
+        for (Element member : members.keySet()) {
+            map.put(member, sTypeUtils.asMemberOf(concreteType, member));
+        }
+        return map;
+    }
+
     private static boolean isPrimitive(@NotNull TypeMirror type, @NotNull Types utils) {
         try {
             utils.getPrimitiveType(type.getKind());
@@ -445,6 +480,20 @@ public final class TypeUtils {
                 outerClassType.equals(Collection.class.getName());
     }
 
+    /**
+     * Method to check if the {@link TypeMirror} is of {@link LazyValue} type
+     *
+     * @param type :TypeMirror type
+     * @return boolean
+     */
+    public static boolean isLazyValue(@Nullable TypeMirror type) {
+        if (type == null) {
+            return false;
+        }
+        String outerClassType = TypeUtils.getOuterClassType(type);
+        return outerClassType.equals(LazyValue.class.getName());
+    }
+
     /**
      * Method to check if the {@link TypeMirror} is of {@link Object}
      *
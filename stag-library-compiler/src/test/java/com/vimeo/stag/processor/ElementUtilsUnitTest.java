@@ -37,8 +37,10 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.type.TypeMirror;
 
 public class ElementUtilsUnitTest extends BaseUnitTest {
 
@@ -103,6 +105,20 @@ public class ElementUtilsUnitTest extends BaseUnitTest {
                 ElementUtils.getPackage(Utils.getTypeMirrorFromClass(Object.class)));
     }
 
+    @Test
+    public void testGetBinaryName() throws Exception {
+        Assert.assertEquals(String.class.getName(),
+                ElementUtils.getBinaryName(Utils.getTypeMirrorFromClass(String.class)));
+        Assert.assertEquals(DummyConcreteClass.class.getName(),
+                ElementUtils.getBinaryName(Utils.getTypeMirrorFromClass(DummyConcreteClass.class)));
+        Assert.assertEquals(DummyGenericClass.class.getName(),
+                ElementUtils.getBinaryName(Utils.getTypeMirrorFromClass(DummyGenericClass.class)));
+
+        TypeMirror nestedType = elements.getTypeElement(Map.Entry.class.getCanonicalName()).asType();
+        Assert.assertEquals(Map.Entry.class.getName(), ElementUtils.getBinaryName(nestedType));
+        Assert.assertNotEquals(Map.Entry.class.getCanonicalName(), ElementUtils.getBinaryName(nestedType));
+    }
+
     @Test
     public void testIsEnum() throws Exception {
         Assert.assertFalse(ElementUtils.isEnum(null));
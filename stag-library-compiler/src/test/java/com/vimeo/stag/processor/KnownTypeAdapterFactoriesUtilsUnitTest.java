@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor;
+
+import com.vimeo.stag.processor.utils.KnownTypeAdapterFactoriesUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class KnownTypeAdapterFactoriesUtilsUnitTest {
+
+    @Test
+    public void testFinalClass_isNotInstantiable() throws Exception {
+        Utils.testZeroArgumentConstructorFinalClass(KnownTypeAdapterFactoriesUtils.class);
+    }
+
+    @Test
+    public void testFormatManifest_groupsTypesByPackage() throws Exception {
+        Map<String, List<String>> simpleNamesByPackage = new LinkedHashMap<>();
+        simpleNamesByPackage.put("com.vimeo.sample", Arrays.asList("User", "Video", "Video.Pictures"));
+        simpleNamesByPackage.put("com.vimeo.empty", Collections.<String>emptyList());
+        simpleNamesByPackage.put("", Collections.singletonList("Root"));
+
+        Assert.assertEquals("com.vimeo.sample:User,Video,Video.Pictures\n:Root\n",
+                            KnownTypeAdapterFactoriesUtils.formatManifest(simpleNamesByPackage));
+    }
+
+    @Test
+    public void testParseManifest_readsFormattedManifest() throws Exception {
+        Set<String> qualifiedNames = new LinkedHashSet<>();
+        KnownTypeAdapterFactoriesUtils.parseManifest("com.vimeo.sample:User,Video,Video.Pictures\n:Root\n",
+                                                     qualifiedNames);
+
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("com.vimeo.sample.User", "com.vimeo.sample.Video",
+                                                              "com.vimeo.sample.Video.Pictures", "Root")),
+                            qualifiedNames);
+    }
+
+    @Test
+    public void testParseManifest_readsQualifiedNamesOfEarlierVersions() throws Exception {
+        Set<String> qualifiedNames = new LinkedHashSet<>();
+        KnownTypeAdapterFactoriesUtils.parseManifest("com.vimeo.sample.User\r\n\r\n  com.vimeo.sample.Video  \n" +
+                                                     "com.vimeo.sample:User,,Paging\n", qualifiedNames);
+
+        Assert.assertEquals(new LinkedHashSet<>(Arrays.asList("com.vimeo.sample.User", "com.vimeo.sample.Video",
+                                                              "com.vimeo.sample.Paging")), qualifiedNames);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor;
+
+import com.vimeo.stag.processor.utils.KnownTypeAdapterUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+public class KnownTypeAdapterUtilsUnitTest extends BaseUnitTest {
+
+    @Test
+    public void testGetInlineReadCode_readsPrimitivesAndWrappersAlike() throws Exception {
+        TypeMirror intType = types.getPrimitiveType(TypeKind.INT);
+        TypeMirror integerType = Utils.getTypeMirrorFromClass(Integer.class);
+
+        Assert.assertEquals("reader.nextInt()", KnownTypeAdapterUtils.getInlineReadCode(intType));
+        Assert.assertEquals("reader.nextInt()", KnownTypeAdapterUtils.getInlineReadCode(integerType));
+        Assert.assertEquals("(float) reader.nextDouble()",
+                            KnownTypeAdapterUtils.getInlineReadCode(types.getPrimitiveType(TypeKind.FLOAT)));
+        Assert.assertNotNull(KnownTypeAdapterUtils.getInlineReadCode(Utils.getTypeMirrorFromClass(String.class)));
+        Assert.assertNotNull(KnownTypeAdapterUtils.getInlineReadCode(Utils.getTypeMirrorFromClass(Boolean.class)));
+    }
+
+    @Test
+    public void testGetInlineReadCode_isNullForOtherTypes() throws Exception {
+        Assert.assertNull(KnownTypeAdapterUtils.getInlineReadCode(types.getPrimitiveType(TypeKind.CHAR)));
+        Assert.assertNull(KnownTypeAdapterUtils.getInlineReadCode(Utils.getTypeMirrorFromClass(Number.class)));
+        Assert.assertNull(KnownTypeAdapterUtils.getInlineReadCode(Utils.getTypeMirrorFromClass(Date.class)));
+        Assert.assertNull(KnownTypeAdapterUtils.getInlineReadCode(Utils.getTypeMirrorFromClass(List.class)));
+    }
+
+    @Test
+    public void testIsInlineReadNumberFormatChecked_onlyForIntegralTypes() throws Exception {
+        Assert.assertTrue(KnownTypeAdapterUtils.isInlineReadNumberFormatChecked(types.getPrimitiveType(TypeKind.LONG)));
+        Assert.assertTrue(KnownTypeAdapterUtils.isInlineReadNumberFormatChecked(
+                Utils.getTypeMirrorFromClass(Short.class)));
+        Assert.assertFalse(KnownTypeAdapterUtils.isInlineReadNumberFormatChecked(
+                types.getPrimitiveType(TypeKind.DOUBLE)));
+        Assert.assertFalse(KnownTypeAdapterUtils.isInlineReadNumberFormatChecked(
+                Utils.getTypeMirrorFromClass(String.class)));
+    }
+}
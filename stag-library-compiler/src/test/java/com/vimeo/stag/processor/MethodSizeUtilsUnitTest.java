@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor;
+
+import com.vimeo.stag.processor.utils.MethodSizeUtils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MethodSizeUtilsUnitTest {
+
+    @Test
+    public void testFinalClass_isNotInstantiable() throws Exception {
+        Utils.testZeroArgumentConstructorFinalClass(MethodSizeUtils.class);
+    }
+
+    @Test
+    public void testMaxMethodSize_isUnderHugeMethodLimit() throws Exception {
+        Assert.assertTrue(MethodSizeUtils.MAX_METHOD_SIZE < MethodSizeUtils.HUGE_METHOD_LIMIT);
+    }
+
+    @Test
+    public void testGroup_keepsGroupsUnderMaxSize() throws Exception {
+        List<List<String>> groups = MethodSizeUtils.group(Arrays.asList("a", "b", "c", "d", "e"),
+                                                          Arrays.asList(40, 40, 20, 60, 30), 100);
+
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Arrays.asList("d", "e")), groups);
+    }
+
+    @Test
+    public void testGroup_putsOversizedItemsInGroupsOfTheirOwn() throws Exception {
+        List<List<String>> groups = MethodSizeUtils.group(Arrays.asList("a", "b", "c"),
+                                                          Arrays.asList(10, 200, 10), 100);
+
+        Assert.assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b"),
+                                          Collections.singletonList("c")), groups);
+    }
+
+    @Test
+    public void testGroup_returnsSingleGroupWhenUnderMaxSize() throws Exception {
+        Assert.assertEquals(Collections.singletonList(Arrays.asList("a", "b")),
+                            MethodSizeUtils.group(Arrays.asList("a", "b"), Arrays.asList(50, 50), 100));
+        Assert.assertTrue(MethodSizeUtils.group(Collections.<String>emptyList(), Collections.<Integer>emptyList(),
+                                                100).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroup_requiresSizeOfEachItem() throws Exception {
+        MethodSizeUtils.group(Arrays.asList("a", "b"), Collections.singletonList(10), 100);
+    }
+}
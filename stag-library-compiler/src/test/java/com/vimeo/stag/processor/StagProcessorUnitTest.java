@@ -0,0 +1,357 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag.processor;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.testing.compile.JavaFileObjects;
+import com.vimeo.stag.UseStag;
+import com.vimeo.stag.processor.utils.MethodSizeUtils;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import static com.google.common.truth.Truth.assertAbout;
+import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StagProcessorUnitTest {
+
+    private static final String[] FIELD_TYPES = {"int", "Integer", "String", "boolean", "long", "Double",
+            "java.util.List<String>", "java.util.Map<String, Integer>", "NestedModel", "float[]"};
+
+    /**
+     * More than the 512 models held by a single shard of the {@code Stag.Factory}.
+     */
+    private static final int SHARDED_MODEL_COUNT = 600;
+
+    /**
+     * Without splitting their read and write methods, the adapters of these models would not even
+     * compile, since the methods would be larger than the 64KB allowed by the class file format.
+     * Beyond compiling, every method of the adapters must stay small enough to be compiled by the JIT.
+     */
+    @Test
+    public void testWideModels_compileWithoutError() throws Exception {
+        StringBuilder wideModel = new StringBuilder("package com.vimeo.stag.wide;\n" +
+                                                    "@com.vimeo.stag.UseStag\n" +
+                                                    "public class WideModel {\n");
+        for (int idx = 0; idx < 2500; idx++) {
+            String fieldType = FIELD_TYPES[idx % FIELD_TYPES.length];
+            if (idx % 7 == 3 && !Character.isLowerCase(fieldType.charAt(0))) {
+                wideModel.append("    @org.jetbrains.annotations.NotNull\n");
+            }
+            if (idx % 11 == 5) {
+                wideModel.append("    @com.google.gson.annotations.SerializedName(value = \"field_").append(idx)
+                        .append("\", alternate = {\"alternate_").append(idx).append("\"})\n");
+            }
+            wideModel.append("    public ").append(fieldType).append(" field").append(idx).append(";\n");
+        }
+        wideModel.append("}\n");
+
+        StringBuilder wideGenericModel = new StringBuilder("package com.vimeo.stag.wide;\n" +
+                                                           "@com.vimeo.stag.UseStag\n" +
+                                                           "public class WideGenericModel<T> {\n");
+        for (int idx = 0; idx < 1500; idx++) {
+            wideGenericModel.append("    public ").append(idx % 2 == 0 ? "T" : "java.util.List<T>")
+                    .append(" field").append(idx).append(";\n");
+        }
+        wideGenericModel.append("}\n");
+
+        JavaFileObject nestedModel = JavaFileObjects.forSourceString(
+                "com.vimeo.stag.wide.NestedModel", "package com.vimeo.stag.wide;\n" +
+                                                   "@com.vimeo.stag.UseStag\n" +
+                                                   "public class NestedModel {\n" +
+                                                   "    public String name;\n" +
+                                                   "    public WideGenericModel<String> stringModel;\n" +
+                                                   "}\n");
+
+        List<JavaFileObject> sources = Arrays.asList(
+                JavaFileObjects.forSourceString("com.vimeo.stag.wide.WideModel", wideModel.toString()),
+                JavaFileObjects.forSourceString("com.vimeo.stag.wide.WideGenericModel", wideGenericModel.toString()),
+                nestedModel);
+        assertAbout(javaSources())
+                .that(sources)
+                .processedWith(new StagProcessor(), new StagAdapterProcessor())
+                .compilesWithoutError();
+
+        File outputDirectory = Files.createTempDirectory("stag-wide").toFile();
+        try {
+            compile(sources, outputDirectory);
+            File[] classFiles = new File(outputDirectory, "com/vimeo/stag/wide").listFiles();
+            assertNotNull(classFiles);
+            Set<String> methods = new HashSet<>();
+            for (File classFile : classFiles) {
+                if (!classFile.getName().contains("$TypeAdapter") || !classFile.getName().endsWith(".class")) {
+                    continue;
+                }
+                for (Map.Entry<String, Integer> codeLength : getCodeLengths(classFile).entrySet()) {
+                    String method = classFile.getName() + "." + codeLength.getKey();
+                    methods.add(method);
+                    assertTrue(method + " is " + codeLength.getValue() + " bytes long",
+                               codeLength.getValue() < MethodSizeUtils.HUGE_METHOD_LIMIT);
+                }
+            }
+            // The methods which would be huge are split, rather than not generated
+            assertTrue(methods.toString(), methods.contains("WideModel$TypeAdapter.class.readFields1"));
+            assertTrue(methods.toString(), methods.contains("WideModel$TypeAdapter.class.checkNonNullFields0"));
+            assertTrue(methods.toString(), methods.contains("WideModel$TypeAdapter.class.getFieldIndex1"));
+            assertTrue(methods.toString(), methods.contains("WideGenericModel$TypeAdapter.class.readFields1"));
+        } finally {
+            delete(outputDirectory);
+        }
+    }
+
+    @Test
+    public void testCollidingJsonNames_failToCompile() throws Exception {
+        JavaFileObject model = JavaFileObjects.forSourceString(
+                "com.vimeo.stag.collision.CollidingModel", "package com.vimeo.stag.collision;\n" +
+                                                           "@com.vimeo.stag.UseStag\n" +
+                                                           "public class CollidingModel {\n" +
+                                                           "    public String a;\n" +
+                                                           "    @com.google.gson.annotations.SerializedName(" +
+                                                           "value = \"b\", alternate = {\"a\"})\n" +
+                                                           "    public String other;\n" +
+                                                           "}\n");
+
+        assertAbout(javaSources())
+                .that(Collections.singletonList(model))
+                .processedWith(new StagProcessor(), new StagAdapterProcessor())
+                .failsToCompile()
+                .withErrorContaining("com.vimeo.stag.collision.CollidingModel declares multiple JSON fields named a")
+                .in(model)
+                .onLine(6);
+    }
+
+    /**
+     * With more models than a shard holds, the {@code Stag.Factory} dispatches to the shards, which
+     * must create the type adapter of every model, including those referenced from other shards, and
+     * nothing for the classes which are not models.
+     */
+    @Test
+    public void testShardedFactory_createsTheModelsOnly() throws Exception {
+        List<JavaFileObject> sources = new ArrayList<>(SHARDED_MODEL_COUNT + 1);
+        for (int idx = 0; idx < SHARDED_MODEL_COUNT; idx++) {
+            String packageName = "com.vimeo.stag.shard." + (idx % 2 == 0 ? "even" : "odd");
+            String nextModel = "com.vimeo.stag.shard." + ((idx + 1) % 2 == 0 ? "even" : "odd") + ".Model" +
+                               ((idx + 1) % SHARDED_MODEL_COUNT);
+            sources.add(JavaFileObjects.forSourceString(
+                    packageName + ".Model" + idx, "package " + packageName + ";\n" +
+                                                  "@com.vimeo.stag.UseStag\n" +
+                                                  "public class Model" + idx + " {\n" +
+                                                  "    public int value;\n" +
+                                                  "    public " + nextModel + " next;\n" +
+                                                  "    public java.util.List<" + nextModel + "> list;\n" +
+                                                  "}\n"));
+        }
+        sources.add(JavaFileObjects.forSourceString(
+                "com.vimeo.stag.shard.even.NotAModel", "package com.vimeo.stag.shard.even;\n" +
+                                                       "public class NotAModel {\n" +
+                                                       "    public int value;\n" +
+                                                       "}\n"));
+
+        assertAbout(javaSources())
+                .that(sources)
+                .processedWith(new StagProcessor(), new StagAdapterProcessor())
+                .compilesWithoutError();
+
+        File outputDirectory = Files.createTempDirectory("stag-shards").toFile();
+        try {
+            ClassLoader classLoader = compile(sources, outputDirectory);
+            // The factory is split, rather than holding every model itself
+            assertNotNull(classLoader.loadClass("com.vimeo.stag.generated.Stag$Factory$Shard1"));
+
+            TypeAdapterFactory factory = (TypeAdapterFactory) classLoader.loadClass(
+                    "com.vimeo.stag.generated.Stag$Factory").newInstance();
+            Gson gson = new GsonBuilder().registerTypeAdapterFactory(factory).create();
+
+            assertNull(factory.create(gson, TypeToken.get(String.class)));
+            assertNull(factory.create(gson, TypeToken.get(Object.class)));
+            assertNull(factory.create(gson, TypeToken.get(
+                    classLoader.loadClass("com.vimeo.stag.shard.even.NotAModel"))));
+
+            for (int idx = 0; idx < SHARDED_MODEL_COUNT; idx++) {
+                Class<?> modelClass = classLoader.loadClass(
+                        "com.vimeo.stag.shard." + (idx % 2 == 0 ? "even" : "odd") + ".Model" + idx);
+                TypeAdapter<?> typeAdapter = factory.create(gson, TypeToken.get(modelClass));
+                assertNotNull(modelClass.getName(), typeAdapter);
+                assertTrue(modelClass.getName(), typeAdapter.getClass().getName().startsWith(modelClass.getName()));
+            }
+
+            Class<?> modelClass = classLoader.loadClass("com.vimeo.stag.shard.even.Model0");
+            String json = "{\"value\":1,\"next\":{\"value\":2,\"list\":[{\"value\":3}]}}";
+            assertEquals(json, gson.toJson(gson.fromJson(json, modelClass)));
+        } finally {
+            delete(outputDirectory);
+        }
+    }
+
+    /**
+     * Compiles the sources with the processors, as compile testing does not run the code it compiles.
+     */
+    @NotNull
+    private static ClassLoader compile(@NotNull List<JavaFileObject> sources,
+                                       @NotNull File outputDirectory) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory));
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(outputDirectory));
+        fileManager.setLocation(StandardLocation.CLASS_PATH, Arrays.asList(getClassPath(Gson.class),
+                                                                           getClassPath(UseStag.class),
+                                                                           getClassPath(NotNull.class)));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null, sources);
+        task.setProcessors(Arrays.asList(new StagProcessor(), new StagAdapterProcessor()));
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        fileManager.close();
+        return new URLClassLoader(new URL[]{outputDirectory.toURI().toURL()},
+                                  StagProcessorUnitTest.class.getClassLoader());
+    }
+
+    /**
+     * Reads the length of the bytecode of each method of the class file, by its name, keeping the
+     * longest of the overloads.
+     */
+    @NotNull
+    private static Map<String, Integer> getCodeLengths(@NotNull File classFile) throws Exception {
+        Map<String, Integer> codeLengths = new HashMap<>();
+        // Read from memory, where skipping never stops short
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(classFile.toPath())));
+        input.skipBytes(8);
+        int constantCount = input.readUnsignedShort();
+        String[] utf8Constants = new String[constantCount];
+        for (int idx = 1; idx < constantCount; idx++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case 1:
+                    utf8Constants[idx] = input.readUTF();
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                    input.skipBytes(2);
+                    break;
+                case 15:
+                    input.skipBytes(3);
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 18:
+                    input.skipBytes(4);
+                    break;
+                case 5:
+                case 6:
+                    input.skipBytes(8);
+                    idx++;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown constant " + tag + " in " + classFile);
+            }
+        }
+        input.skipBytes(6);
+        input.skipBytes(2 * input.readUnsignedShort());
+        skipMembers(input);
+        int methodCount = input.readUnsignedShort();
+        for (int idx = 0; idx < methodCount; idx++) {
+            input.skipBytes(2);
+            String name = utf8Constants[input.readUnsignedShort()];
+            input.skipBytes(2);
+            int attributeCount = input.readUnsignedShort();
+            for (int attributeIdx = 0; attributeIdx < attributeCount; attributeIdx++) {
+                String attributeName = utf8Constants[input.readUnsignedShort()];
+                int attributeLength = input.readInt();
+                if ("Code".equals(attributeName)) {
+                    input.skipBytes(4);
+                    int codeLength = input.readInt();
+                    Integer previousLength = codeLengths.get(name);
+                    codeLengths.put(name, null == previousLength ? codeLength : Math.max(previousLength,
+                                                                                          codeLength));
+                    input.skipBytes(attributeLength - 8);
+                } else {
+                    input.skipBytes(attributeLength);
+                }
+            }
+        }
+        return codeLengths;
+    }
+
+    private static void skipMembers(@NotNull DataInputStream input) throws Exception {
+        int memberCount = input.readUnsignedShort();
+        for (int idx = 0; idx < memberCount; idx++) {
+            input.skipBytes(6);
+            int attributeCount = input.readUnsignedShort();
+            for (int attributeIdx = 0; attributeIdx < attributeCount; attributeIdx++) {
+                input.skipBytes(2);
+                input.skipBytes(input.readInt());
+            }
+        }
+    }
+
+    @NotNull
+    private static File getClassPath(@NotNull Class<?> clazz) throws Exception {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private static void delete(@NotNull File file) {
+        File[] children = file.listFiles();
+        if (null != children) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+}
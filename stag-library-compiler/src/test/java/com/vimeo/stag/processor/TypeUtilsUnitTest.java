@@ -23,6 +23,7 @@
  */
 package com.vimeo.stag.processor;
 
+import com.vimeo.stag.LazyValue;
 import com.vimeo.stag.processor.dummy.DummyAbstractClass;
 import com.vimeo.stag.processor.dummy.DummyConcreteClass;
 import com.vimeo.stag.processor.dummy.DummyEnumClass;
@@ -50,6 +51,7 @@ import java.util.Vector;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
@@ -178,6 +180,45 @@ public class TypeUtilsUnitTest extends BaseUnitTest {
         }
     }
 
+    @Test
+    public void getParameterizedMembers_isCorrect() throws Exception {
+        TypeElement genericElement = (TypeElement) Utils.getElementFromClass(DummyGenericClass.class);
+        assertNotNull(genericElement);
+        Map<Element, TypeMirror> genericMembers = new LinkedHashMap<>();
+        for (Element element : genericElement.getEnclosedElements()) {
+            if (element instanceof VariableElement) {
+                genericMembers.put(element, element.asType());
+            }
+        }
+
+        TypeMirror stringType = Utils.getTypeMirrorFromClass(String.class);
+        assertNotNull(stringType);
+        TypeMirror listType = types.getDeclaredType((TypeElement) Utils.getElementFromClass(List.class), stringType);
+        DeclaredType concreteType = types.getDeclaredType(genericElement, listType);
+
+        Map<Element, TypeMirror> members = TypeUtils.getParameterizedMembers(concreteType, genericMembers);
+
+        Assert.assertEquals(genericMembers.keySet(), members.keySet());
+        for (Entry<Element, TypeMirror> entry : members.entrySet()) {
+            String name = entry.getKey().getSimpleName().toString();
+            if (name.equals("testString")) {
+                Assert.assertEquals(stringType.toString(), entry.getValue().toString());
+            } else if (name.equals("testObject")) {
+                Assert.assertEquals(listType.toString(), entry.getValue().toString());
+            } else if (name.equals("testList")) {
+                Assert.assertEquals(types.getDeclaredType((TypeElement) Utils.getElementFromClass(ArrayList.class),
+                                                          listType).toString(), entry.getValue().toString());
+            } else if (name.equals("testMap")) {
+                Assert.assertEquals(types.getDeclaredType((TypeElement) Utils.getElementFromClass(HashMap.class),
+                                                          stringType, listType).toString(),
+                                    entry.getValue().toString());
+            } else if (name.equals("testSet")) {
+                Assert.assertEquals(types.getDeclaredType((TypeElement) Utils.getElementFromClass(HashSet.class),
+                                                          listType).toString(), entry.getValue().toString());
+            }
+        }
+    }
+
     @Test
     public void isParameterizedType_isCorrect() throws Exception {
 
@@ -415,4 +456,26 @@ public class TypeUtilsUnitTest extends BaseUnitTest {
         Assert.assertFalse(TypeUtils.isSupportedMap(Utils.getTypeMirrorFromClass(DummyConcreteClass.class)));
         Assert.assertFalse(TypeUtils.isSupportedMap(Utils.getTypeMirrorFromClass(String.class)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIsLazyValue_supportsCorrectTypes() throws Exception {
+        // Check null
+        Assert.assertFalse(TypeUtils.isLazyValue(null));
+
+        // Check supported types
+        Assert.assertTrue(TypeUtils.isLazyValue(Utils.getTypeMirrorFromClass(LazyValue.class)));
+
+        // Check other types
+        Assert.assertFalse(TypeUtils.isLazyValue(Utils.getTypeMirrorFromClass(Object.class)));
+        Assert.assertFalse(TypeUtils.isLazyValue(Utils.getTypeMirrorFromClass(DummyGenericClass.class)));
+        Assert.assertFalse(TypeUtils.isLazyValue(Utils.getTypeMirrorFromClass(String.class)));
+    }
+
+    @Test
+    public void isEnum_isCorrect() throws Exception {
+        Assert.assertTrue(TypeUtils.isEnum(Utils.getTypeMirrorFromClass(DummyEnumClass.class)));
+        Assert.assertFalse(TypeUtils.isEnum(Utils.getTypeMirrorFromClass(DummyConcreteClass.class)));
+        Assert.assertFalse(TypeUtils.isEnum(types.getPrimitiveType(TypeKind.INT)));
+        Assert.assertFalse(TypeUtils.isEnum(null));
+    }
+}
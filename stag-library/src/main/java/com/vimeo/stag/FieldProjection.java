@@ -0,0 +1,139 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import com.google.gson.TypeAdapter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The set of JSON paths to read from a model, such as {@code "name"} or
+ * {@code "user.pictures.sizes"}. The segments of a path are JSON names, and a
+ * path selects the whole value it leads to. Lists and arrays are transparent,
+ * a path applies to each of their elements, and so are the keys of maps,
+ * a path applies to each of their values.
+ * <p/>
+ * The adapters generated by Stag skip the values of the names which are not
+ * selected, without decoding them, which leaves the corresponding fields unset.
+ * See {@link #apply(TypeAdapter)}.
+ */
+public final class FieldProjection {
+
+    /**
+     * The projection which selects every value.
+     */
+    public static final FieldProjection ALL = new FieldProjection(null);
+
+    private static final String SEPARATOR = "\\.";
+
+    /**
+     * The projections of the selected names, or null if every name is selected.
+     */
+    @Nullable
+    private final Map<String, FieldProjection> mChildren;
+
+    private FieldProjection(@Nullable Map<String, FieldProjection> children) {
+        mChildren = children;
+    }
+
+    /**
+     * Creates the projection selecting the provided paths.
+     *
+     * @param paths the dot separated JSON names leading to the selected values.
+     * @throws IllegalArgumentException if a path is empty or has an empty segment.
+     */
+    @NotNull
+    public static FieldProjection of(@NotNull String... paths) {
+        List<String[]> segments = new ArrayList<>(paths.length);
+        for (String path : paths) {
+            String[] pathSegments = path.split(SEPARATOR, -1);
+            for (String segment : pathSegments) {
+                if (segment.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid path: \"" + path + '"');
+                }
+            }
+            segments.add(pathSegments);
+        }
+        return of(segments, 0);
+    }
+
+    @NotNull
+    private static FieldProjection of(@NotNull List<String[]> paths, int depth) {
+        Map<String, List<String[]>> pathsByName = new LinkedHashMap<>();
+        for (String[] path : paths) {
+            if (path.length == depth) {
+                // The path ends here, which selects the whole value
+                return ALL;
+            }
+            List<String[]> namePaths = pathsByName.get(path[depth]);
+            if (null == namePaths) {
+                namePaths = new ArrayList<>();
+                pathsByName.put(path[depth], namePaths);
+            }
+            namePaths.add(path);
+        }
+
+        Map<String, FieldProjection> children = new HashMap<>(pathsByName.size() * 2);
+        for (Map.Entry<String, List<String[]>> entry : pathsByName.entrySet()) {
+            children.put(entry.getKey(), of(entry.getValue(), depth + 1));
+        }
+        return new FieldProjection(children);
+    }
+
+    /**
+     * Returns the projection of the value of the provided name, which is
+     * {@link #ALL} if the whole value is selected, or null if the name is not
+     * selected and its value should be skipped.
+     */
+    @Nullable
+    public FieldProjection get(@NotNull String name) {
+        if (null == mChildren) {
+            return this;
+        }
+        return mChildren.get(name);
+    }
+
+    /**
+     * Returns an adapter which reads with this projection, and writes like the
+     * provided adapter. The adapter is returned as it is if it does not support
+     * projections, in which case it reads every value.
+     * <p/>
+     * Adapters only support projections if they are generated by Stag, or
+     * if they are list, map or array adapters of {@link KnownTypeAdapters}.
+     */
+    @NotNull
+    public <T> TypeAdapter<T> apply(@NotNull TypeAdapter<T> typeAdapter) {
+        if (this == ALL || !(typeAdapter instanceof ProjectableTypeAdapter)) {
+            return typeAdapter;
+        }
+        return ((ProjectableTypeAdapter<T>) typeAdapter).project(this);
+    }
+}
@@ -24,6 +24,7 @@ import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.internal.LinkedTreeMap;
 import com.google.gson.internal.ObjectConstructor;
 import com.google.gson.internal.Streams;
@@ -36,12 +37,23 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -192,6 +204,12 @@ public final class KnownTypeAdapters {
     public static final TypeAdapter<ArrayList<Byte>> BYTE_ARRAY_LIST_ADAPTER =
             new ListTypeAdapter<>(BYTE, new ArrayListInstantiator<Byte>());
 
+    /**
+     * The initial capacity of the buffers the arrays are read into,
+     * which are doubled as needed and trimmed to size once the array is read.
+     */
+    private static final int INITIAL_ARRAY_CAPACITY = 16;
+
     public interface PrimitiveArrayConstructor<T> {
 
         T[] construct(int size);
@@ -202,7 +220,7 @@ public final class KnownTypeAdapters {
      * For primitive array types such as int[], long[] etc, use the next set of adapters
      * given below
      */
-    public static final class ArrayTypeAdapter<T> extends TypeAdapter<T[]> {
+    public static final class ArrayTypeAdapter<T> extends ProjectableTypeAdapter<T[]> {
 
         final TypeAdapter<T> mValueTypeAdapter;
         final PrimitiveArrayConstructor<T> mObjectCreator;
@@ -225,7 +243,7 @@ public final class KnownTypeAdapters {
         }
 
         @Override
-        public T[] read(JsonReader reader) throws IOException {
+        public T[] read(JsonReader reader, @NotNull FieldProjection projection) throws IOException {
             if (reader.peek() == com.google.gson.stream.JsonToken.NULL) {
                 reader.nextNull();
                 return null;
@@ -236,18 +254,72 @@ public final class KnownTypeAdapters {
             }
             reader.beginArray();
 
-            ArrayList<T> object = new ArrayList<>();
-            while (reader.hasNext()) {
-                object.add(mValueTypeAdapter.read(reader));
+            ScratchBuffer scratchBuffer = SCRATCH_BUFFER.get();
+            Object[] buffer;
+            if (scratchBuffer.mInUse) {
+                // A nested array is read by the value type adapter, so use a buffer of its own
+                scratchBuffer = null;
+                buffer = new Object[INITIAL_ARRAY_CAPACITY];
+            } else {
+                scratchBuffer.mInUse = true;
+                buffer = scratchBuffer.mBuffer;
             }
 
-            reader.endArray();
+            int size = 0;
+            try {
+                while (reader.hasNext()) {
+                    if (size == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, size * 2);
+                    }
+                    buffer[size++] = ProjectableTypeAdapter.read(mValueTypeAdapter, reader, projection);
+                }
 
-            T[] result = this.mObjectCreator.construct(object.size());
-            return object.toArray(result);
+                reader.endArray();
+
+                T[] result = this.mObjectCreator.construct(size);
+                System.arraycopy(buffer, 0, result, 0, size);
+                return result;
+            } finally {
+                if (null != scratchBuffer) {
+                    Arrays.fill(buffer, 0, size, null);
+                    if (buffer != scratchBuffer.mBuffer) {
+                        // The buffer was grown, and the one the read started with still holds the first elements
+                        Arrays.fill(scratchBuffer.mBuffer, null);
+                        if (buffer.length <= MAX_SCRATCH_BUFFER_CAPACITY) {
+                            scratchBuffer.mBuffer = buffer;
+                        }
+                    }
+                    scratchBuffer.mInUse = false;
+                }
+            }
         }
     }
 
+    /**
+     * The largest buffer kept by each thread for reading arrays, so that a single large array
+     * does not keep a large buffer alive for the lifetime of the thread.
+     */
+    private static final int MAX_SCRATCH_BUFFER_CAPACITY = 8192;
+
+    /**
+     * The buffer which {@link ArrayTypeAdapter} reads the elements of an array into before copying
+     * them into an array of the exact size. It is reused by every read of the thread, unless the
+     * read is nested in another one, and is cleared after each read to not hold on to the elements.
+     */
+    private static final ThreadLocal<ScratchBuffer> SCRATCH_BUFFER = new ThreadLocal<ScratchBuffer>() {
+        @Override
+        protected ScratchBuffer initialValue() {
+            return new ScratchBuffer();
+        }
+    };
+
+    private static final class ScratchBuffer {
+
+        @NotNull
+        Object[] mBuffer = new Object[INITIAL_ARRAY_CAPACITY];
+        boolean mInUse;
+    }
+
     /**
      * Type Adapter for Integer[] type. This can be directly accessed to read and write
      */
@@ -269,15 +341,31 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static int[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Integer> arrayList = INTEGER_ARRAY_LIST_ADAPTER.read(reader);
-            int[] result = null;
-            if (null != arrayList) {
-                result = new int[arrayList.size()];
-                for (int idx = 0; idx < arrayList.size(); idx++) {
-                    result[idx] = arrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            int[] buffer = new int[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
+                }
+                try {
+                    buffer[size++] = reader.nextInt();
+                } catch (NumberFormatException e) {
+                    throw new JsonSyntaxException(e);
                 }
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
@@ -302,15 +390,31 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static long[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Long> arrayList = LONG_ARRAY_LIST_ADAPTER.read(reader);
-            long[] result = null;
-            if (null != arrayList) {
-                result = new long[arrayList.size()];
-                for (int idx = 0; idx < arrayList.size(); idx++) {
-                    result[idx] = arrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            long[] buffer = new long[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
+                }
+                try {
+                    buffer[size++] = reader.nextLong();
+                } catch (NumberFormatException e) {
+                    throw new JsonSyntaxException(e);
                 }
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
@@ -335,15 +439,27 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static double[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Double> arrayList = DOUBLE_ARRAY_LIST_ADAPTER.read(reader);
-            double[] result = null;
-            if (null != arrayList) {
-                result = new double[arrayList.size()];
-                for (int idx = 0; idx < arrayList.size(); idx++) {
-                    result[idx] = arrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            double[] buffer = new double[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
                 }
+                buffer[size++] = reader.nextDouble();
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
@@ -368,15 +484,31 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static short[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Short> arrayList = SHORT_ARRAY_LIST_ADAPTER.read(reader);
-            short[] result = null;
-            if (null != arrayList) {
-                result = new short[arrayList.size()];
-                for (int idx = 0; idx < arrayList.size(); idx++) {
-                    result[idx] = arrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            short[] buffer = new short[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
+                }
+                try {
+                    buffer[size++] = (short) reader.nextInt();
+                } catch (NumberFormatException e) {
+                    throw new JsonSyntaxException(e);
                 }
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
@@ -401,15 +533,27 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static float[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Float> arrayList = FLOAT_ARRAY_LIST_ADAPTER.read(reader);
-            float[] result = null;
-            if (null != arrayList) {
-                result = new float[arrayList.size()];
-                for (int idx = 0; idx < arrayList.size(); idx++) {
-                    result[idx] = arrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            float[] buffer = new float[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
                 }
+                buffer[size++] = (float) reader.nextDouble();
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
@@ -434,15 +578,32 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static boolean[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Boolean> arrayList = BOOLEAN_ARRAY_LIST_ADAPTER.read(reader);
-            boolean[] result = null;
-            if (null != arrayList) {
-                result = new boolean[arrayList.size()];
-                for (int idx = 0; idx < arrayList.size(); idx++) {
-                    result[idx] = arrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            boolean[] buffer = new boolean[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
+                }
+                if (reader.peek() == JsonToken.STRING) {
+                    // Matches the lenient parsing of Gson's boolean type adapter
+                    buffer[size++] = Boolean.parseBoolean(reader.nextString());
+                } else {
+                    buffer[size++] = reader.nextBoolean();
                 }
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
@@ -467,21 +628,243 @@ public final class KnownTypeAdapters {
 
         @Nullable
         public static byte[] read(@NotNull JsonReader reader) throws IOException {
-            ArrayList<Byte> byteArrayList = BYTE_ARRAY_LIST_ADAPTER.read(reader);
-            byte[] result = null;
-            if (null != byteArrayList) {
-                result = new byte[byteArrayList.size()];
-                for (int idx = 0; idx < byteArrayList.size(); idx++) {
-                    result[idx] = byteArrayList.get(idx);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            byte[] buffer = new byte[INITIAL_ARRAY_CAPACITY];
+            int size = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, size * 2);
+                }
+                try {
+                    buffer[size++] = (byte) reader.nextInt();
+                } catch (NumberFormatException e) {
+                    throw new JsonSyntaxException(e);
                 }
             }
-            return result;
+            reader.endArray();
+            return size == buffer.length ? buffer : Arrays.copyOf(buffer, size);
         }
     }
 
+    /**
+     * Type Adapter for {@link IntList}, which reads and writes its elements without boxing them.
+     */
+    public static final TypeAdapter<IntList> INT_LIST = new TypeAdapter<IntList>() {
+        @Override
+        public void write(JsonWriter writer, IntList value) throws IOException {
+            writer.beginArray();
+            for (int idx = 0; idx < value.size(); idx++) {
+                writer.value(value.getInt(idx));
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public IntList read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            IntList list = new IntList();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                try {
+                    list.addInt(reader.nextInt());
+                } catch (NumberFormatException e) {
+                    throw new JsonSyntaxException(e);
+                }
+            }
+            reader.endArray();
+            list.trimToSize();
+            return list;
+        }
+    }.nullSafe();
+
+    /**
+     * Type Adapter for {@link LongList}, which reads and writes its elements without boxing them.
+     */
+    public static final TypeAdapter<LongList> LONG_LIST = new TypeAdapter<LongList>() {
+        @Override
+        public void write(JsonWriter writer, LongList value) throws IOException {
+            writer.beginArray();
+            for (int idx = 0; idx < value.size(); idx++) {
+                writer.value(value.getLong(idx));
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public LongList read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            LongList list = new LongList();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                try {
+                    list.addLong(reader.nextLong());
+                } catch (NumberFormatException e) {
+                    throw new JsonSyntaxException(e);
+                }
+            }
+            reader.endArray();
+            list.trimToSize();
+            return list;
+        }
+    }.nullSafe();
+
+    /**
+     * Type Adapter for {@link DoubleList}, which reads and writes its elements without boxing them.
+     */
+    public static final TypeAdapter<DoubleList> DOUBLE_LIST = new TypeAdapter<DoubleList>() {
+        @Override
+        public void write(JsonWriter writer, DoubleList value) throws IOException {
+            writer.beginArray();
+            for (int idx = 0; idx < value.size(); idx++) {
+                double element = value.getDouble(idx);
+                if (Double.isNaN(element) || Double.isInfinite(element)) {
+                    // Unlike value(double), value(Number) writes them when the writer is lenient, as Gson does
+                    writer.value(Double.valueOf(element));
+                } else {
+                    writer.value(element);
+                }
+            }
+            writer.endArray();
+        }
+
+        @Override
+        public DoubleList read(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            DoubleList list = new DoubleList();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                list.addDouble(reader.nextDouble());
+            }
+            reader.endArray();
+            list.trimToSize();
+            return list;
+        }
+    }.nullSafe();
+
     static final TypeAdapter<String> STRING_NULL_SAFE_TYPE_ADAPTER =
             com.google.gson.internal.bind.TypeAdapters.STRING.nullSafe();
 
+    /**
+     * Type Adapter for {@link LazyValue}. Reading a value only captures its JSON, by
+     * copying its tokens into a compact string, which is decoded with the provided
+     * adapter when the value is first accessed. Values which have not been decoded
+     * are written by copying the captured JSON back.
+     */
+    public static final class LazyValueTypeAdapter<T> extends TypeAdapter<LazyValue<T>> {
+
+        private final TypeAdapter<T> valueTypeAdapter;
+
+        public LazyValueTypeAdapter(TypeAdapter<T> valueTypeAdapter) {
+            this.valueTypeAdapter = valueTypeAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter writer, LazyValue<T> value) throws IOException {
+            if (null == value) {
+                writer.nullValue();
+                return;
+            }
+            String json = value.getJson();
+            if (null != json) {
+                JsonReader reader = new JsonReader(new StringReader(json));
+                reader.setLenient(true);
+                copyValue(reader, writer);
+                return;
+            }
+            T decodedValue = value.get();
+            if (null == decodedValue) {
+                writer.nullValue();
+            } else {
+                valueTypeAdapter.write(writer, decodedValue);
+            }
+        }
+
+        @Override
+        public LazyValue<T> read(JsonReader reader) throws IOException {
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return null;
+            }
+            StringWriter stringWriter = new StringWriter();
+            JsonWriter writer = new JsonWriter(stringWriter);
+            writer.setLenient(true);
+            copyValue(reader, writer);
+            return new LazyValue<>(stringWriter.toString(), valueTypeAdapter);
+        }
+
+        /**
+         * Copies the next value of the reader to the writer, token by token.
+         */
+        private static void copyValue(@NotNull JsonReader reader, @NotNull JsonWriter writer) throws IOException {
+            int depth = 0;
+            do {
+                switch (reader.peek()) {
+                    case BEGIN_ARRAY:
+                        reader.beginArray();
+                        writer.beginArray();
+                        depth++;
+                        break;
+                    case END_ARRAY:
+                        reader.endArray();
+                        writer.endArray();
+                        depth--;
+                        break;
+                    case BEGIN_OBJECT:
+                        reader.beginObject();
+                        writer.beginObject();
+                        depth++;
+                        break;
+                    case END_OBJECT:
+                        reader.endObject();
+                        writer.endObject();
+                        depth--;
+                        break;
+                    case NAME:
+                        writer.name(reader.nextName());
+                        break;
+                    case STRING:
+                        writer.value(reader.nextString());
+                        break;
+                    case NUMBER:
+                        writer.value(new LazilyParsedNumber(reader.nextString()));
+                        break;
+                    case BOOLEAN:
+                        writer.value(reader.nextBoolean());
+                        break;
+                    case NULL:
+                        reader.nextNull();
+                        writer.nullValue();
+                        break;
+                    case END_DOCUMENT:
+                    default:
+                        throw new IllegalStateException("Unexpected end of the JSON value");
+                }
+            } while (depth > 0);
+        }
+    }
+
     /**
      * Type Adapter for char[] type. This can be directly accessed to read and write
      */
@@ -590,7 +973,7 @@ public final class KnownTypeAdapters {
     /**
      * Type Adapter for {@link Collection}
      */
-    public static final class ListTypeAdapter<V, T extends Collection<V>> extends TypeAdapter<T> {
+    public static final class ListTypeAdapter<V, T extends Collection<V>> extends ProjectableTypeAdapter<T> {
 
         private final TypeAdapter<V> valueTypeAdapter;
         private final ObjectConstructor<T> objectConstructor;
@@ -612,7 +995,7 @@ public final class KnownTypeAdapters {
         }
 
         @Override
-        public T read(JsonReader reader) throws IOException {
+        public T read(JsonReader reader, @NotNull FieldProjection projection) throws IOException {
             if (reader.peek() == JsonToken.NULL) {
                 reader.nextNull();
                 return null;
@@ -626,7 +1009,7 @@ public final class KnownTypeAdapters {
             T collection = objectConstructor.construct();
             reader.beginArray();
             while (reader.hasNext()) {
-                collection.add(valueTypeAdapter.read(reader));
+                collection.add(ProjectableTypeAdapter.read(valueTypeAdapter, reader, projection));
             }
             reader.endArray();
             return collection;
@@ -637,15 +1020,24 @@ public final class KnownTypeAdapters {
      * Type Adapter for {@link Map}. The constructor expects {@link ObjectConstructor} which is
      * used to instantiate maps of particular types eg, {@link HashMap} {@link LinkedHashMap} etc
      */
-    public static final class MapTypeAdapter<K, V, T extends Map<K, V>> extends TypeAdapter<T> {
+    public static final class MapTypeAdapter<K, V, T extends Map<K, V>> extends ProjectableTypeAdapter<T> {
 
         private final ObjectConstructor<T> objectConstructor;
         private final TypeAdapter<V> valueTypeAdapter;
         private final TypeAdapter<K> keyTypeAdapter;
+        private final boolean hasPrimitiveKeys;
+        private final boolean hasFloatingPointKeys;
+        @Nullable
+        private final StringValueTypeAdapter<K> stringValueKeyTypeAdapter;
 
+        @SuppressWarnings("unchecked")
         public MapTypeAdapter(TypeAdapter<K> keyTypeAdapter, TypeAdapter<V> valueTypeAdapter,
                               ObjectConstructor<T> objectConstructor) {
             this.keyTypeAdapter = keyTypeAdapter;
+            this.hasPrimitiveKeys = PRIMITIVE_KEY_TYPE_ADAPTERS.contains(keyTypeAdapter);
+            this.hasFloatingPointKeys = FLOATING_POINT_KEY_TYPE_ADAPTERS.contains(keyTypeAdapter);
+            this.stringValueKeyTypeAdapter = keyTypeAdapter instanceof StringValueTypeAdapter ?
+                    (StringValueTypeAdapter<K>) keyTypeAdapter : null;
             this.valueTypeAdapter = valueTypeAdapter;
             this.objectConstructor = objectConstructor;
         }
@@ -656,6 +1048,74 @@ public final class KnownTypeAdapters {
                 writer.nullValue();
                 return;
             }
+
+            if (hasPrimitiveKeys || hasFloatingPointKeys || null != stringValueKeyTypeAdapter) {
+                /*
+                 * The key adapter writes the key as a primitive, so it can be converted to
+                 * a name directly, the same way as keyToString would have converted it.
+                 */
+                writer.beginObject();
+                for (Map.Entry<K, V> entry : value.entrySet()) {
+                    writer.name(getName(writer, entry.getKey()));
+                    valueTypeAdapter.write(writer, entry.getValue());
+                }
+                writer.endObject();
+                return;
+            }
+
+            /*
+             * Otherwise the key adapter is unknown, and the keys are captured as strings,
+             * which is only possible as long as the key adapter writes primitives.
+             * Whether the map is written as an object or as an array of entries is only
+             * known once all the keys are written, so the entries are buffered.
+             */
+            KeyWriter keyWriter = new KeyWriter();
+            int size = value.size();
+            List<String> keys = new ArrayList<>(size);
+            List<V> values = new ArrayList<>(size);
+            for (Map.Entry<K, V> entry : value.entrySet()) {
+                String key = keyWriter.capture(keyTypeAdapter, entry.getKey());
+                if (null == key) {
+                    writeComplexKeys(writer, value);
+                    return;
+                }
+                keys.add(key);
+                values.add(entry.getValue());
+            }
+
+            writer.beginObject();
+            for (int i = 0; i < keys.size(); i++) {
+                writer.name(keys.get(i));
+                valueTypeAdapter.write(writer, values.get(i));
+            }
+            writer.endObject();
+        }
+
+        /**
+         * Returns the name of a key whose adapter writes it as a primitive. Like the
+         * adapter would, a floating point key is only written as NaN or an infinity
+         * if the writer is lenient.
+         */
+        @NotNull
+        private String getName(@NotNull JsonWriter writer, @Nullable K key) {
+            if (null != stringValueKeyTypeAdapter) {
+                String name = stringValueKeyTypeAdapter.toStringValue(key);
+                return null != name ? name : "null";
+            }
+            if (hasFloatingPointKeys && null != key && !writer.isLenient()) {
+                double doubleValue = ((Number) key).doubleValue();
+                if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                    throw new IllegalArgumentException("JSON forbids NaN and infinities: " + key);
+                }
+            }
+            return String.valueOf(key);
+        }
+
+        /**
+         * Writes the map using the trees of its keys, as an array of
+         * entries if any of the keys is an array or an object.
+         */
+        private void writeComplexKeys(JsonWriter writer, T value) throws IOException {
             boolean hasComplexKeys = false;
             List<JsonElement> keys = new ArrayList<>(value.size());
 
@@ -688,7 +1148,7 @@ public final class KnownTypeAdapters {
         }
 
         @Override
-        public T read(JsonReader in) throws IOException {
+        public T read(JsonReader in, @NotNull FieldProjection projection) throws IOException {
             JsonToken peek = in.peek();
             if (peek == JsonToken.NULL) {
                 in.nextNull();
@@ -702,7 +1162,7 @@ public final class KnownTypeAdapters {
                 while (in.hasNext()) {
                     in.beginArray(); // entry array
                     K key = keyTypeAdapter.read(in);
-                    V value = valueTypeAdapter.read(in);
+                    V value = ProjectableTypeAdapter.read(valueTypeAdapter, in, projection);
                     V replaced = map.put(key, value);
                     if (replaced != null) {
                         throw new JsonSyntaxException("duplicate key: " + key);
@@ -715,7 +1175,7 @@ public final class KnownTypeAdapters {
                 while (in.hasNext()) {
                     JsonReaderInternalAccess.INSTANCE.promoteNameToValue(in);
                     K key = keyTypeAdapter.read(in);
-                    V value = valueTypeAdapter.read(in);
+                    V value = ProjectableTypeAdapter.read(valueTypeAdapter, in, projection);
                     V replaced = map.put(key, value);
                     if (replaced != null) {
                         throw new JsonSyntaxException("duplicate key: " + key);
@@ -746,15 +1206,237 @@ public final class KnownTypeAdapters {
         }
     }
 
+    /**
+     * The type adapters which write their values as they are, such that the name of a map key is
+     * its {@link String#valueOf(Object)}, and which {@link MapTypeAdapter} can write directly.
+     */
+    private static final Set<TypeAdapter<?>> PRIMITIVE_KEY_TYPE_ADAPTERS = new HashSet<>();
+
+    static {
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.STRING);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(STRING_NULL_SAFE_TYPE_ADAPTER);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.CHARACTER);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.BOOLEAN);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.BYTE);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.SHORT);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.INTEGER);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(TypeAdapters.LONG);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(BYTE);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(SHORT);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(INTEGER);
+        PRIMITIVE_KEY_TYPE_ADAPTERS.add(LONG);
+    }
+
+    /**
+     * The type adapters which write their values as numbers, which {@link MapTypeAdapter} can
+     * write directly once it checked that they are not NaN or infinities.
+     */
+    private static final Set<TypeAdapter<?>> FLOATING_POINT_KEY_TYPE_ADAPTERS = new HashSet<>();
+
+    static {
+        FLOATING_POINT_KEY_TYPE_ADAPTERS.add(TypeAdapters.FLOAT);
+        FLOATING_POINT_KEY_TYPE_ADAPTERS.add(TypeAdapters.DOUBLE);
+        FLOATING_POINT_KEY_TYPE_ADAPTERS.add(FLOAT);
+        FLOATING_POINT_KEY_TYPE_ADAPTERS.add(DOUBLE);
+    }
+
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(@NotNull char[] buffer, int offset, int counter) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    /**
+     * A {@link JsonWriter} which captures a single primitive value written to it as a map key,
+     * converted to a string the same way as {@link MapTypeAdapter} converts the tree of a key.
+     */
+    private static final class KeyWriter extends JsonWriter {
+
+        @Nullable
+        private String mKey;
+        private boolean mIsComplex;
+
+        KeyWriter() {
+            super(UNWRITABLE_WRITER);
+        }
+
+        /**
+         * Writes the key with the type adapter, and returns it as a string,
+         * or null if the type adapter wrote it as an array or an object.
+         */
+        @Nullable
+        <K> String capture(@NotNull TypeAdapter<K> keyTypeAdapter, @Nullable K key) throws IOException {
+            mKey = null;
+            mIsComplex = false;
+            keyTypeAdapter.write(this, key);
+            return mIsComplex ? null : mKey;
+        }
+
+        @Override
+        public JsonWriter beginArray() throws IOException {
+            mIsComplex = true;
+            return this;
+        }
+
+        @Override
+        public JsonWriter endArray() throws IOException {
+            return this;
+        }
+
+        @Override
+        public JsonWriter beginObject() throws IOException {
+            mIsComplex = true;
+            return this;
+        }
+
+        @Override
+        public JsonWriter endObject() throws IOException {
+            return this;
+        }
+
+        @Override
+        public JsonWriter name(String name) throws IOException {
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(String value) throws IOException {
+            mKey = null != value ? value : "null";
+            return this;
+        }
+
+        @Override
+        public JsonWriter jsonValue(String value) throws IOException {
+            // Raw JSON can't be converted to a name without parsing it, so use the tree instead
+            mIsComplex = true;
+            return this;
+        }
+
+        @Override
+        public JsonWriter nullValue() throws IOException {
+            mKey = "null";
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(boolean value) throws IOException {
+            mKey = Boolean.toString(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(Boolean value) throws IOException {
+            mKey = String.valueOf(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(double value) throws IOException {
+            if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+                throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+            }
+            mKey = String.valueOf(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(long value) throws IOException {
+            mKey = String.valueOf(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(Number value) throws IOException {
+            if (null != value && !isLenient()) {
+                double doubleValue = value.doubleValue();
+                if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                    throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+                }
+            }
+            mKey = String.valueOf(value);
+            return this;
+        }
+
+        @Override
+        public void flush() throws IOException {
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
     /**
      * Type Adapter for {@link Object}
+     * <p>
+     * Values are written with the adapter Gson provides for their runtime class. Those
+     * adapters are cached in a copy-on-write identity map, so that once the classes
+     * of the written values have been seen, writing them takes no lock and allocates
+     * nothing, unlike {@link Gson#getAdapter(Class)} which creates a TypeToken per call.
+     * <p>
+     * By default, objects are read into {@link LinkedTreeMap} instances and numbers into
+     * {@link Double} instances, like Gson does. An adapter created as compact instead reads
+     * integral numbers which fit into a long as {@link Long} instances, other numbers as
+     * {@link Double} instances, and objects of up to {@link CompactMap#MAX_COMPACT_SIZE}
+     * members into maps backed by a single array, which take a fraction of the memory.
      */
     public static final class ObjectTypeAdapter extends TypeAdapter<Object> {
 
+        /**
+         * The maximum number of classes whose adapter is cached, since every
+         * new entry copies the map. Values of other classes are still written,
+         * with the adapter looked up from Gson.
+         */
+        static final int MAX_CACHED_TYPE_ADAPTERS = 64;
+
         private final Gson gson;
 
+        private final boolean mCompact;
+
+        @NotNull
+        private volatile Map<Class<?>, TypeAdapter<Object>> mTypeAdapters =
+                new IdentityHashMap<>();
+
         public ObjectTypeAdapter(Gson gson) {
+            this(gson, false);
+        }
+
+        /**
+         * @param gson    the Gson instance providing the adapters of the written values.
+         * @param compact true to read numbers as longs or doubles, and small objects
+         *                into array backed maps.
+         */
+        public ObjectTypeAdapter(Gson gson, boolean compact) {
             this.gson = gson;
+            mCompact = compact;
+        }
+
+        @SuppressWarnings("unchecked")
+        @NotNull
+        private TypeAdapter<Object> getTypeAdapter(@NotNull Class<?> clazz) {
+            Map<Class<?>, TypeAdapter<Object>> typeAdapters = mTypeAdapters;
+            TypeAdapter<Object> typeAdapter = typeAdapters.get(clazz);
+            if (null == typeAdapter) {
+                typeAdapter = (TypeAdapter<Object>) gson.getAdapter(clazz);
+                if (typeAdapters.size() < MAX_CACHED_TYPE_ADAPTERS) {
+                    // A concurrent copy may drop this entry, in which case it is looked up again later
+                    Map<Class<?>, TypeAdapter<Object>> newTypeAdapters = new IdentityHashMap<>(typeAdapters);
+                    newTypeAdapters.put(clazz, typeAdapter);
+                    mTypeAdapters = newTypeAdapters;
+                }
+            }
+            return typeAdapter;
         }
 
         @Override
@@ -762,25 +1444,33 @@ public final class KnownTypeAdapters {
             JsonToken token = in.peek();
             switch (token) {
                 case BEGIN_ARRAY:
-                    List<Object> list = new ArrayList<>();
+                    ArrayList<Object> list = new ArrayList<>();
                     in.beginArray();
                     while (in.hasNext()) {
                         list.add(read(in));
                     }
                     in.endArray();
+                    if (mCompact) {
+                        list.trimToSize();
+                    }
                     return list;
                 case BEGIN_OBJECT:
-                    Map<String, Object> map = new LinkedTreeMap<>();
+                    Map<String, Object> map = mCompact ? new CompactMap() : new LinkedTreeMap<String, Object>();
                     in.beginObject();
                     while (in.hasNext()) {
                         map.put(in.nextName(), read(in));
+                        if (map.size() > CompactMap.MAX_COMPACT_SIZE && map instanceof CompactMap) {
+                            Map<String, Object> largeMap = new LinkedTreeMap<>();
+                            largeMap.putAll(map);
+                            map = largeMap;
+                        }
                     }
                     in.endObject();
                     return map;
                 case STRING:
                     return in.nextString();
                 case NUMBER:
-                    return in.nextDouble();
+                    return mCompact ? parseNumber(in.nextString()) : in.nextDouble();
                 case BOOLEAN:
                     return in.nextBoolean();
                 case NULL:
@@ -795,7 +1485,6 @@ public final class KnownTypeAdapters {
             }
         }
 
-        @SuppressWarnings("unchecked")
         @Override
         public void write(JsonWriter out, Object value) throws IOException {
             if (value == null) {
@@ -803,7 +1492,7 @@ public final class KnownTypeAdapters {
                 return;
             }
 
-            TypeAdapter<Object> typeAdapter = (TypeAdapter<Object>) gson.getAdapter(value.getClass());
+            TypeAdapter<Object> typeAdapter = getTypeAdapter(value.getClass());
             if (typeAdapter instanceof ObjectTypeAdapter) {
                 out.beginObject();
                 out.endObject();
@@ -812,11 +1501,181 @@ public final class KnownTypeAdapters {
 
             typeAdapter.write(out, value);
         }
+
+        /**
+         * Returns the number as a {@link Long} if it is integral and fits into
+         * a long, or as a {@link Double} otherwise.
+         */
+        @NotNull
+        private static Number parseNumber(@NotNull String value) {
+            for (int i = 0, length = value.length(); i < length; i++) {
+                char c = value.charAt(i);
+                if (c == '.' || c == 'e' || c == 'E') {
+                    return Double.parseDouble(value);
+                }
+            }
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                return Double.parseDouble(value);
+            }
+        }
+    }
+
+    /**
+     * A mutable map of String keys which keeps its keys and values, in insertion order,
+     * in a single array, and looks keys up linearly. This is much more compact than
+     * hash or tree based maps, and as fast for the few members of small JSON objects.
+     */
+    static final class CompactMap extends AbstractMap<String, Object> {
+
+        /**
+         * The number of members up to which objects are read into compact maps.
+         */
+        static final int MAX_COMPACT_SIZE = 8;
+
+        /**
+         * The keys at even indices, each followed by its value.
+         */
+        @NotNull
+        private Object[] mKeysAndValues = new Object[4];
+        private int mSize;
+
+        private int indexOfKey(@Nullable Object key) {
+            for (int i = 0, end = mSize * 2; i < end; i += 2) {
+                Object currentKey = mKeysAndValues[i];
+                if (key == null ? currentKey == null : key.equals(currentKey)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int size() {
+            return mSize;
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return indexOfKey(key) >= 0;
+        }
+
+        @Override
+        public Object get(@Nullable Object key) {
+            int index = indexOfKey(key);
+            return index >= 0 ? mKeysAndValues[index + 1] : null;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            int index = indexOfKey(key);
+            if (index >= 0) {
+                Object previous = mKeysAndValues[index + 1];
+                mKeysAndValues[index + 1] = value;
+                return previous;
+            }
+            index = mSize * 2;
+            if (index == mKeysAndValues.length) {
+                mKeysAndValues = Arrays.copyOf(mKeysAndValues, index * 2);
+            }
+            mKeysAndValues[index] = key;
+            mKeysAndValues[index + 1] = value;
+            mSize++;
+            return null;
+        }
+
+        @Override
+        public Object remove(@Nullable Object key) {
+            int index = indexOfKey(key);
+            if (index < 0) {
+                return null;
+            }
+            Object previous = mKeysAndValues[index + 1];
+            removeAt(index);
+            return previous;
+        }
+
+        void removeAt(int index) {
+            int end = mSize * 2;
+            System.arraycopy(mKeysAndValues, index + 2, mKeysAndValues, index, end - index - 2);
+            mKeysAndValues[end - 2] = null;
+            mKeysAndValues[end - 1] = null;
+            mSize--;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(mKeysAndValues, 0, mSize * 2, null);
+            mSize = 0;
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public int size() {
+                    return mSize;
+                }
+
+                @Override
+                public void clear() {
+                    CompactMap.this.clear();
+                }
+
+                @NotNull
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int mNextIndex;
+                        private int mLastIndex = -1;
+
+                        @Override
+                        public boolean hasNext() {
+                            return mNextIndex < mSize * 2;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            mLastIndex = mNextIndex;
+                            mNextIndex += 2;
+                            final int index = mLastIndex;
+                            return new SimpleEntry<String, Object>((String) mKeysAndValues[index],
+                                                                   mKeysAndValues[index + 1]) {
+                                @Override
+                                public Object setValue(Object value) {
+                                    mKeysAndValues[index + 1] = value;
+                                    return super.setValue(value);
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (mLastIndex < 0) {
+                                throw new IllegalStateException();
+                            }
+                            removeAt(mLastIndex);
+                            mNextIndex = mLastIndex;
+                            mLastIndex = -1;
+                        }
+                    };
+                }
+            };
+        }
     }
 
     public static final TypeAdapter<JsonElement> JSON_ELEMENT_TYPE_ADAPTER =
             com.google.gson.internal.bind.TypeAdapters.JSON_ELEMENT.nullSafe();
 
+    /**
+     * Type adapter for {@link JsonObject}. Values which are not JSON objects
+     * are skipped without being read into a tree, and read as null.
+     */
     public static final TypeAdapter<JsonObject> JSON_OBJECT_TYPE_ADAPTER = new TypeAdapter<JsonObject>() {
         @Override
         public void write(JsonWriter out, JsonObject value) throws IOException {
@@ -825,11 +1684,24 @@ public final class KnownTypeAdapters {
 
         @Override
         public JsonObject read(JsonReader in) throws IOException {
-            JsonElement jsonElement = JSON_ELEMENT_TYPE_ADAPTER.read(in);
-            return jsonElement != null && jsonElement.isJsonObject() ? jsonElement.getAsJsonObject() : null;
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                in.skipValue();
+                return null;
+            }
+            JsonObject jsonObject = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                jsonObject.add(in.nextName(), TypeAdapters.JSON_ELEMENT.read(in));
+            }
+            in.endObject();
+            return jsonObject;
         }
     }.nullSafe();
 
+    /**
+     * Type adapter for {@link JsonArray}. Values which are not JSON arrays
+     * are skipped without being read into a tree, and read as null.
+     */
     public static final TypeAdapter<JsonArray> JSON_ARRAY_TYPE_ADAPTER = new TypeAdapter<JsonArray>() {
         @Override
         public void write(JsonWriter out, JsonArray value) throws IOException {
@@ -838,11 +1710,24 @@ public final class KnownTypeAdapters {
 
         @Override
         public JsonArray read(JsonReader in) throws IOException {
-            JsonElement jsonElement = JSON_ELEMENT_TYPE_ADAPTER.read(in);
-            return jsonElement != null && jsonElement.isJsonArray() ? jsonElement.getAsJsonArray() : null;
+            if (in.peek() != JsonToken.BEGIN_ARRAY) {
+                in.skipValue();
+                return null;
+            }
+            JsonArray jsonArray = new JsonArray();
+            in.beginArray();
+            while (in.hasNext()) {
+                jsonArray.add(TypeAdapters.JSON_ELEMENT.read(in));
+            }
+            in.endArray();
+            return jsonArray;
         }
     }.nullSafe();
 
+    /**
+     * Type adapter for {@link JsonPrimitive}. JSON objects and arrays are
+     * skipped without being read into a tree, and read as null.
+     */
     public static final TypeAdapter<JsonPrimitive> JSON_PRIMITIVE_TYPE_ADAPTER =
             new TypeAdapter<JsonPrimitive>() {
 
@@ -853,12 +1738,24 @@ public final class KnownTypeAdapters {
 
                 @Override
                 public JsonPrimitive read(JsonReader in) throws IOException {
-                    JsonElement jsonElement = JSON_ELEMENT_TYPE_ADAPTER.read(in);
-                    return jsonElement != null &&
-                           jsonElement.isJsonPrimitive() ? jsonElement.getAsJsonPrimitive() : null;
+                    switch (in.peek()) {
+                        case STRING:
+                            return new JsonPrimitive(in.nextString());
+                        case NUMBER:
+                            return new JsonPrimitive(new LazilyParsedNumber(in.nextString()));
+                        case BOOLEAN:
+                            return new JsonPrimitive(in.nextBoolean());
+                        default:
+                            in.skipValue();
+                            return null;
+                    }
                 }
             }.nullSafe();
 
+    /**
+     * Type adapter for {@link JsonNull}. Since a JSON null is read as null,
+     * every other value is skipped without being read into a tree.
+     */
     public static final TypeAdapter<JsonNull> JSON_NULL_TYPE_ADAPTER = new TypeAdapter<JsonNull>() {
 
         @Override
@@ -868,8 +1765,8 @@ public final class KnownTypeAdapters {
 
         @Override
         public JsonNull read(JsonReader in) throws IOException {
-            JsonElement jsonElement = JSON_ELEMENT_TYPE_ADAPTER.read(in);
-            return jsonElement != null && jsonElement.isJsonNull() ? jsonElement.getAsJsonNull() : null;
+            in.skipValue();
+            return null;
         }
     }.nullSafe();
 }
\ No newline at end of file
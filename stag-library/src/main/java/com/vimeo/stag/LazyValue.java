@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * A value which is decoded from JSON the first time it is accessed.
+ * <p/>
+ * Model fields of type {@code LazyValue<T>} are not decoded when the model is
+ * read. Stag instead captures the JSON of the field, and decodes it with the
+ * adapter of {@code T} the first time {@link #get()} is called. This saves the
+ * time and memory spent decoding fields which are never read. Values which
+ * have not been decoded are written back as the JSON they were read from.
+ * <p/>
+ * Instances are thread safe, and decode their JSON at most once.
+ *
+ * @param <T> the type of the value.
+ */
+public final class LazyValue<T> {
+
+    @Nullable
+    private final TypeAdapter<T> mTypeAdapter;
+
+    /**
+     * The JSON of the value, until it is decoded.
+     */
+    @Nullable
+    private volatile String mJson;
+
+    @Nullable
+    private T mValue;
+
+    LazyValue(@NotNull String json, @NotNull TypeAdapter<T> typeAdapter) {
+        mJson = json;
+        mTypeAdapter = typeAdapter;
+    }
+
+    private LazyValue(@Nullable T value) {
+        mValue = value;
+        mTypeAdapter = null;
+    }
+
+    /**
+     * Creates a lazy value which is already decoded, to be set on a model.
+     */
+    @NotNull
+    public static <T> LazyValue<T> of(@Nullable T value) {
+        return new LazyValue<>(value);
+    }
+
+    /**
+     * Returns the value, decoding it first if needed.
+     *
+     * @throws JsonSyntaxException if the captured JSON could not be decoded.
+     */
+    @Nullable
+    public T get() {
+        if (null == mJson) {
+            return mValue;
+        }
+        synchronized (this) {
+            String json = mJson;
+            if (null != json) {
+                try {
+                    // The JSON was captured as leniently as Gson reads, so it may hold NaN and the like
+                    JsonReader reader = new JsonReader(new StringReader(json));
+                    reader.setLenient(true);
+                    //noinspection ConstantConditions
+                    mValue = mTypeAdapter.read(reader);
+                } catch (IOException e) {
+                    throw new JsonSyntaxException(e);
+                }
+                mJson = null;
+            }
+            return mValue;
+        }
+    }
+
+    /**
+     * Returns true if the value has been decoded, or was never encoded.
+     */
+    public boolean isDecoded() {
+        return null == mJson;
+    }
+
+    /**
+     * Returns the captured JSON of the value, or null if it has been decoded.
+     */
+    @Nullable
+    String getJson() {
+        return mJson;
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A {@link java.util.List} of {@link Long} backed by a {@code long[]}, which
+ * stores its elements without boxing them. Model fields of this type are
+ * read and written by Stag without boxing either, so it can be used in
+ * place of a {@code List<Long>} to reduce the memory used by large lists.
+ * <p/>
+ * The primitive accessors {@link #getLong(int)}, {@link #setLong(int, long)}
+ * and {@link #addLong(long)} should be preferred, since the methods of the
+ * {@link java.util.List} interface box the elements they return. Null
+ * elements are not supported.
+ */
+public final class LongList extends AbstractList<Long> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    @NotNull
+    private long[] mValues;
+    private int mSize;
+
+    public LongList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        mValues = new long[initialCapacity];
+    }
+
+    /**
+     * Creates a list containing a copy of the provided values.
+     */
+    public LongList(@NotNull long[] values) {
+        mValues = Arrays.copyOf(values, values.length);
+        mSize = values.length;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return mValues[index];
+    }
+
+    public long setLong(int index, long value) {
+        checkIndex(index);
+        long previous = mValues[index];
+        mValues[index] = value;
+        return previous;
+    }
+
+    public void addLong(long value) {
+        ensureCapacity(mSize + 1);
+        mValues[mSize++] = value;
+        modCount++;
+    }
+
+    public void addLong(int index, long value) {
+        if (index < 0 || index > mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+        ensureCapacity(mSize + 1);
+        System.arraycopy(mValues, index, mValues, index + 1, mSize - index);
+        mValues[index] = value;
+        mSize++;
+        modCount++;
+    }
+
+    public long removeLongAt(int index) {
+        checkIndex(index);
+        long previous = mValues[index];
+        System.arraycopy(mValues, index + 1, mValues, index, mSize - index - 1);
+        mSize--;
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Returns a copy of the elements of this list.
+     */
+    @NotNull
+    public long[] toLongArray() {
+        return Arrays.copyOf(mValues, mSize);
+    }
+
+    /**
+     * Increases the capacity of this list, if necessary,
+     * so that it can hold at least the provided number of elements.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > mValues.length) {
+            int newCapacity = Math.max(minCapacity, mValues.length + (mValues.length >> 1) + 1);
+            mValues = Arrays.copyOf(mValues, newCapacity);
+        }
+    }
+
+    /**
+     * Reduces the capacity of this list to its size.
+     */
+    public void trimToSize() {
+        if (mSize < mValues.length) {
+            mValues = Arrays.copyOf(mValues, mSize);
+        }
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long element) {
+        return setLong(index, element);
+    }
+
+    @Override
+    public void add(int index, Long element) {
+        addLong(index, element);
+    }
+
+    @Override
+    public Long remove(int index) {
+        return removeLongAt(index);
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+        modCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * A {@link TypeAdapter} which can read with a {@link FieldProjection}, skipping
+ * the values the projection does not select. The adapters generated by Stag
+ * extend this class, and pass the projections of their fields on to the
+ * adapters of the fields.
+ *
+ * @param <T> the type read and written by the adapter.
+ */
+public abstract class ProjectableTypeAdapter<T> extends TypeAdapter<T> {
+
+    @Override
+    public T read(JsonReader reader) throws IOException {
+        return read(reader, FieldProjection.ALL);
+    }
+
+    /**
+     * Reads the values selected by the provided projection.
+     *
+     * @param reader     the reader to read from.
+     * @param projection the projection of the value, {@link FieldProjection#ALL} to read all of it.
+     * @return the value read.
+     * @throws IOException if the value could not be read.
+     */
+    public abstract T read(JsonReader reader, @NotNull FieldProjection projection) throws IOException;
+
+    /**
+     * Reads a value with the provided adapter and projection. The projection
+     * is ignored if the adapter does not support projections.
+     */
+    public static <T> T read(@NotNull TypeAdapter<T> typeAdapter, @NotNull JsonReader reader,
+                             @NotNull FieldProjection projection) throws IOException {
+        if (projection != FieldProjection.ALL && typeAdapter instanceof ProjectableTypeAdapter) {
+            return ((ProjectableTypeAdapter<T>) typeAdapter).read(reader, projection);
+        }
+        return typeAdapter.read(reader);
+    }
+
+    @NotNull
+    TypeAdapter<T> project(@NotNull final FieldProjection projection) {
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter writer, T value) throws IOException {
+                ProjectableTypeAdapter.this.write(writer, value);
+            }
+
+            @Override
+            public T read(JsonReader reader) throws IOException {
+                return ProjectableTypeAdapter.this.read(reader, projection);
+            }
+        };
+    }
+}
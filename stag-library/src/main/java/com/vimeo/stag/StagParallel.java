@@ -0,0 +1,340 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decodes large JSON arrays and newline delimited JSON on several threads.
+ * <p/>
+ * The input is first split into chunks of whole records, which are then decoded in
+ * parallel on a {@link ForkJoinPool}, each by a reader of its own. The adapters
+ * generated by Stag hold no state once constructed, so they can be shared by the
+ * threads. Adapters which are not thread safe should not be used.
+ */
+public final class StagParallel {
+
+    /**
+     * The smallest chunk of input decoded by a task, as smaller chunks
+     * are not worth the cost of scheduling them.
+     */
+    private static final int MIN_CHUNK_LENGTH = 64 * 1024;
+
+    /**
+     * The number of chunks per thread of the pool, so that threads which are
+     * done early can take some of the work of the others.
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private StagParallel() {
+        throw new UnsupportedOperationException("This class is not instantiable");
+    }
+
+    /**
+     * Reads the elements of the top level JSON array.
+     *
+     * @param json        the JSON array.
+     * @param typeAdapter the thread safe adapter of the elements.
+     * @param pool        the pool decoding the chunks of the array.
+     * @return the elements of the array, in order.
+     * @throws JsonSyntaxException if the JSON is not an array, or is malformed.
+     */
+    @NotNull
+    public static <T> List<T> readArray(@NotNull String json, @NotNull TypeAdapter<T> typeAdapter,
+                                        @NotNull ForkJoinPool pool) {
+        int length = json.length();
+        int start = skipWhitespace(json, 0);
+        if (start == length || json.charAt(start) != '[') {
+            throw new JsonSyntaxException("Expected an array");
+        }
+
+        /*
+         * Scans the structure of the array to find the commas separating its elements,
+         * and splits it at the first such comma past the length of each chunk.
+         */
+        int chunkLength = getChunkLength(length, pool);
+        List<Integer> boundaries = new ArrayList<>();
+        boundaries.add(start);
+        int chunkStart = start;
+        int depth = 0;
+        boolean inString = false;
+        int end = -1;
+        for (int i = start; i < length && end < 0; i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                    inString = true;
+                    break;
+                case '[':
+                case '{':
+                    depth++;
+                    break;
+                case ']':
+                case '}':
+                    depth--;
+                    if (depth == 0) {
+                        end = i;
+                    }
+                    break;
+                case ',':
+                    if (depth == 1 && i - chunkStart >= chunkLength) {
+                        boundaries.add(i);
+                        chunkStart = i;
+                    }
+                    break;
+            }
+        }
+        if (end < 0) {
+            throw new JsonSyntaxException("Unterminated array");
+        }
+        if (skipWhitespace(json, end + 1) != length) {
+            throw new JsonSyntaxException("Unexpected content after the array at " + (end + 1));
+        }
+        boundaries.add(end);
+
+        // Each chunk is read as an array of its own, without the separators at its bounds
+        List<Chunk<T>> chunks = new ArrayList<>(boundaries.size() - 1);
+        for (int i = 1; i < boundaries.size(); i++) {
+            chunks.add(new Chunk<T>(boundaries.get(i - 1) + 1, boundaries.get(i)));
+        }
+        return decode(json, chunks, typeAdapter, true, pool);
+    }
+
+    /**
+     * Reads the values of newline delimited JSON, which has one value per line.
+     *
+     * @param json        the lines of JSON.
+     * @param typeAdapter the thread safe adapter of the values.
+     * @param pool        the pool decoding the chunks of lines.
+     * @return the values, in order.
+     * @throws JsonSyntaxException if the JSON of a line is malformed, or a line holds more than one value.
+     */
+    @NotNull
+    public static <T> List<T> readLines(@NotNull String json, @NotNull TypeAdapter<T> typeAdapter,
+                                        @NotNull ForkJoinPool pool) {
+        // Strings cannot contain raw newlines, so every newline ends a value
+        int length = json.length();
+        int chunkLength = getChunkLength(length, pool);
+        List<Chunk<T>> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < length) {
+            int end = start + chunkLength < length ? json.indexOf('\n', start + chunkLength) : -1;
+            end = end < 0 ? length : end + 1;
+            chunks.add(new Chunk<T>(start, end));
+            start = end;
+        }
+        return decode(json, chunks, typeAdapter, false, pool);
+    }
+
+    private static int getChunkLength(int length, @NotNull ForkJoinPool pool) {
+        return Math.max(MIN_CHUNK_LENGTH, length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+    }
+
+    private static int skipWhitespace(@NotNull String json, int index) {
+        while (index < json.length() && Character.isWhitespace(json.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    @NotNull
+    private static <T> List<T> decode(@NotNull String json, @NotNull List<Chunk<T>> chunks,
+                                      @NotNull TypeAdapter<T> typeAdapter, boolean isArray,
+                                      @NotNull ForkJoinPool pool) {
+        pool.invoke(new DecodeTask<>(json, chunks, typeAdapter, isArray, 0, chunks.size()));
+
+        int size = 0;
+        for (Chunk<T> chunk : chunks) {
+            size += chunk.mValues.size();
+        }
+        List<T> values = new ArrayList<>(size);
+        for (Chunk<T> chunk : chunks) {
+            values.addAll(chunk.mValues);
+        }
+        return values;
+    }
+
+    private static final class Chunk<T> {
+
+        final int mStart;
+        final int mEnd;
+
+        /**
+         * The values decoded from the chunk, set by the task which decoded it.
+         */
+        List<T> mValues;
+
+        Chunk(int start, int end) {
+            mStart = start;
+            mEnd = end;
+        }
+    }
+
+    /**
+     * Decodes a range of chunks, by splitting it in halves until single chunks remain.
+     */
+    private static final class DecodeTask<T> extends RecursiveAction {
+
+        @NotNull
+        private final String mJson;
+
+        @NotNull
+        private final List<Chunk<T>> mChunks;
+
+        @NotNull
+        private final TypeAdapter<T> mTypeAdapter;
+
+        private final boolean mIsArray;
+        private final int mFrom;
+        private final int mTo;
+
+        DecodeTask(@NotNull String json, @NotNull List<Chunk<T>> chunks, @NotNull TypeAdapter<T> typeAdapter,
+                   boolean isArray, int from, int to) {
+            mJson = json;
+            mChunks = chunks;
+            mTypeAdapter = typeAdapter;
+            mIsArray = isArray;
+            mFrom = from;
+            mTo = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (mTo - mFrom > 1) {
+                int middle = (mFrom + mTo) >>> 1;
+                invokeAll(new DecodeTask<>(mJson, mChunks, mTypeAdapter, mIsArray, mFrom, middle),
+                          new DecodeTask<>(mJson, mChunks, mTypeAdapter, mIsArray, middle, mTo));
+                return;
+            }
+            if (mTo > mFrom) {
+                Chunk<T> chunk = mChunks.get(mFrom);
+                try {
+                    chunk.mValues = decode(chunk);
+                } catch (IOException e) {
+                    throw StagStreams.wrap(e);
+                }
+            }
+        }
+
+        @NotNull
+        private List<T> decode(@NotNull Chunk<T> chunk) throws IOException {
+            List<T> values = new ArrayList<>();
+            if (mIsArray) {
+                JsonReader reader = new JsonReader(new ChunkReader(mJson, chunk.mStart, chunk.mEnd, true));
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    values.add(mTypeAdapter.read(reader));
+                }
+                reader.endArray();
+                return values;
+            }
+
+            // Each line is read by a strict reader of its own, which rejects more than one value per line
+            int lineStart = chunk.mStart;
+            while (lineStart < chunk.mEnd) {
+                int lineEnd = mJson.indexOf('\n', lineStart);
+                lineEnd = lineEnd < 0 || lineEnd >= chunk.mEnd ? chunk.mEnd : lineEnd + 1;
+                if (skipWhitespace(mJson, lineStart) < lineEnd) {
+                    JsonReader reader = new JsonReader(new ChunkReader(mJson, lineStart, lineEnd, false));
+                    values.add(mTypeAdapter.read(reader));
+                    if (reader.peek() != JsonToken.END_DOCUMENT) {
+                        throw new JsonSyntaxException("Expected a single value on the line at " + lineStart);
+                    }
+                }
+                lineStart = lineEnd;
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Reads a range of the JSON without copying it, optionally enclosed in brackets.
+     */
+    private static final class ChunkReader extends Reader {
+
+        @NotNull
+        private final String mJson;
+
+        private final int mEnd;
+        private int mPosition;
+        private boolean mHasOpeningBracket;
+        private boolean mHasClosingBracket;
+
+        ChunkReader(@NotNull String json, int start, int end, boolean enclose) {
+            mJson = json;
+            mPosition = start;
+            mEnd = end;
+            mHasOpeningBracket = enclose;
+            mHasClosingBracket = enclose;
+        }
+
+        @Override
+        public int read(@NotNull char[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (mHasOpeningBracket) {
+                mHasOpeningBracket = false;
+                buffer[offset] = '[';
+                return 1;
+            }
+            int count = Math.min(length, mEnd - mPosition);
+            if (count > 0) {
+                mJson.getChars(mPosition, mPosition + count, buffer, offset);
+                mPosition += count;
+                return count;
+            }
+            if (mHasClosingBracket) {
+                mHasClosingBracket = false;
+                buffer[offset] = ']';
+                return 1;
+            }
+            return -1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
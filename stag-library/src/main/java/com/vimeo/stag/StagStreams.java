@@ -0,0 +1,205 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the elements of a JSON array one at a time, so that arrays which do not
+ * fit in memory can be processed with the adapters generated by Stag.
+ */
+public final class StagStreams {
+
+    private static final String ROOT = "$";
+
+    private StagStreams() {
+        throw new UnsupportedOperationException("This class is not instantiable");
+    }
+
+    /**
+     * Returns an iterator over the elements of the array the reader is positioned on.
+     *
+     * @see #iterate(JsonReader, TypeAdapter, String)
+     */
+    @NotNull
+    public static <T> Iterator<T> iterate(@NotNull JsonReader reader, @NotNull TypeAdapter<T> typeAdapter) {
+        return iterate(reader, typeAdapter, ROOT);
+    }
+
+    /**
+     * Returns an iterator over the elements of the array at the provided path of the value
+     * the reader is positioned on, such as {@code "$.data"} for the array of the
+     * {@code "data"} name of the object, or {@code "$"} for the value itself.
+     * <p/>
+     * Elements are read with the adapter as the iterator advances, and the values
+     * which precede the array are skipped. The iterator is empty if the path does not
+     * exist or leads to null. Once the iterator is exhausted, the reader is positioned
+     * after the array, or after the value in which the path was not found, so the rest
+     * of the JSON can still be read. The caller is responsible for closing the reader.
+     * <p/>
+     * The iterator throws {@link JsonSyntaxException} if the JSON is malformed or
+     * if the path leads to a value which is not an array, and {@link JsonIOException}
+     * if the reader fails.
+     *
+     * @param reader      the reader to read the array from.
+     * @param typeAdapter the adapter reading the elements of the array.
+     * @param path        the path of the array, {@code "$"} followed by the names leading to it,
+     *                    each preceded by a dot.
+     * @throws IllegalArgumentException if the path is not valid.
+     */
+    @NotNull
+    public static <T> Iterator<T> iterate(@NotNull JsonReader reader, @NotNull TypeAdapter<T> typeAdapter,
+                                          @NotNull String path) {
+        String[] names;
+        if (path.equals(ROOT)) {
+            names = new String[0];
+        } else if (path.startsWith(ROOT + '.')) {
+            names = path.substring(ROOT.length() + 1).split("\\.", -1);
+            for (String name : names) {
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid path: \"" + path + '"');
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid path: \"" + path + '"');
+        }
+        return new ArrayIterator<>(reader, typeAdapter, names);
+    }
+
+    private static final class ArrayIterator<T> implements Iterator<T> {
+
+        private static final int STATE_NOT_STARTED = 0;
+        private static final int STATE_IN_ARRAY = 1;
+        private static final int STATE_DONE = 2;
+
+        @NotNull
+        private final JsonReader mReader;
+
+        @NotNull
+        private final TypeAdapter<T> mTypeAdapter;
+
+        @NotNull
+        private final String[] mNames;
+
+        private int mState = STATE_NOT_STARTED;
+
+        ArrayIterator(@NotNull JsonReader reader, @NotNull TypeAdapter<T> typeAdapter, @NotNull String[] names) {
+            mReader = reader;
+            mTypeAdapter = typeAdapter;
+            mNames = names;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                if (mState == STATE_NOT_STARTED) {
+                    mState = beginArray() ? STATE_IN_ARRAY : STATE_DONE;
+                }
+                if (mState == STATE_IN_ARRAY && !mReader.hasNext()) {
+                    mReader.endArray();
+                    mState = STATE_DONE;
+                }
+                return mState == STATE_IN_ARRAY;
+            } catch (IOException e) {
+                throw wrap(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return mTypeAdapter.read(mReader);
+            } catch (IOException e) {
+                throw wrap(e);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Moves the reader into the array at the path, and returns false if there is none.
+         */
+        private boolean beginArray() throws IOException {
+            for (String name : mNames) {
+                if (mReader.peek() != JsonToken.BEGIN_OBJECT) {
+                    mReader.skipValue();
+                    return false;
+                }
+                mReader.beginObject();
+                boolean found = false;
+                while (!found && mReader.hasNext()) {
+                    if (name.equals(mReader.nextName())) {
+                        found = true;
+                    } else {
+                        mReader.skipValue();
+                    }
+                }
+                if (!found) {
+                    mReader.endObject();
+                    return false;
+                }
+            }
+
+            JsonToken token = mReader.peek();
+            if (token == JsonToken.NULL) {
+                mReader.nextNull();
+                return false;
+            }
+            if (token != JsonToken.BEGIN_ARRAY) {
+                throw new JsonSyntaxException("Expected an array but was " + token + " at path " + mReader.getPath());
+            }
+            mReader.beginArray();
+            return true;
+        }
+
+    }
+
+    /**
+     * Wraps an exception thrown while reading JSON into the unchecked exception Gson would throw.
+     */
+    @NotNull
+    static RuntimeException wrap(@NotNull IOException e) {
+        if (e instanceof MalformedJsonException) {
+            return new JsonSyntaxException(e);
+        }
+        return new JsonIOException(e);
+    }
+}
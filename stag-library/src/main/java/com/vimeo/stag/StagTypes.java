@@ -0,0 +1,243 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * Builds the {@link Type} instances of generic types, which the code generated by Stag
+ * uses to get the adapters of these types from Gson, rather than declaring an anonymous
+ * subclass of {@link com.google.gson.reflect.TypeToken} for each of them. Every such
+ * subclass is a class to load, and its type is resolved reflectively when it is created.
+ * <p/>
+ * The types are equal to, and have the same hash code as, the types of the JDK and of Gson.
+ */
+public final class StagTypes {
+
+    private static final Type[] EMPTY_TYPES = new Type[0];
+
+    private StagTypes() {
+        throw new UnsupportedOperationException("This class is not instantiable");
+    }
+
+    /**
+     * Returns the type of the raw type parameterized by the type arguments,
+     * such as {@code List<String>} for {@code List.class} and {@code String.class}.
+     */
+    @NotNull
+    public static ParameterizedType newParameterizedType(@NotNull Class<?> rawType, @NotNull Type... typeArguments) {
+        return new ParameterizedTypeImpl(null, rawType, typeArguments);
+    }
+
+    /**
+     * Returns the type of the raw type parameterized by the type arguments, which is
+     * a member of the owner type, such as {@code Outer<String>.Inner<Integer>}.
+     */
+    @NotNull
+    public static ParameterizedType newParameterizedTypeWithOwner(@Nullable Type ownerType,
+                                                                  @NotNull Class<?> rawType,
+                                                                  @NotNull Type... typeArguments) {
+        return new ParameterizedTypeImpl(ownerType, rawType, typeArguments);
+    }
+
+    /**
+     * Returns the type of the arrays of the component type, such as {@code List<String>[]}.
+     */
+    @NotNull
+    public static GenericArrayType arrayOf(@NotNull Type componentType) {
+        return new GenericArrayTypeImpl(componentType);
+    }
+
+    /**
+     * Returns the wildcard type {@code ? extends bound}.
+     */
+    @NotNull
+    public static WildcardType subtypeOf(@NotNull Type bound) {
+        return new WildcardTypeImpl(new Type[]{bound}, EMPTY_TYPES);
+    }
+
+    /**
+     * Returns the wildcard type {@code ? super bound}.
+     */
+    @NotNull
+    public static WildcardType supertypeOf(@NotNull Type bound) {
+        return new WildcardTypeImpl(new Type[]{Object.class}, new Type[]{bound});
+    }
+
+    @NotNull
+    private static String typeToString(@NotNull Type type) {
+        return type instanceof Class ? ((Class<?>) type).getName() : type.toString();
+    }
+
+    private static final class ParameterizedTypeImpl implements ParameterizedType {
+
+        @Nullable
+        private final Type mOwnerType;
+        @NotNull
+        private final Class<?> mRawType;
+        @NotNull
+        private final Type[] mTypeArguments;
+
+        ParameterizedTypeImpl(@Nullable Type ownerType, @NotNull Class<?> rawType, @NotNull Type[] typeArguments) {
+            if (typeArguments.length != rawType.getTypeParameters().length) {
+                throw new IllegalArgumentException(rawType.getName() + " takes " +
+                                                   rawType.getTypeParameters().length + " type arguments, not " +
+                                                   typeArguments.length);
+            }
+            mOwnerType = null != ownerType ? ownerType : rawType.getEnclosingClass();
+            mRawType = rawType;
+            mTypeArguments = typeArguments.clone();
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return mTypeArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return mRawType;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return mOwnerType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ParameterizedType)) {
+                return false;
+            }
+            ParameterizedType that = (ParameterizedType) other;
+            Type thatOwnerType = that.getOwnerType();
+            return mRawType.equals(that.getRawType()) &&
+                   (null == mOwnerType ? null == thatOwnerType : mOwnerType.equals(thatOwnerType)) &&
+                   Arrays.equals(mTypeArguments, that.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(mTypeArguments) ^ mRawType.hashCode() ^
+                   (null == mOwnerType ? 0 : mOwnerType.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(typeToString(mRawType));
+            if (mTypeArguments.length > 0) {
+                builder.append('<');
+                for (int idx = 0; idx < mTypeArguments.length; idx++) {
+                    if (idx > 0) {
+                        builder.append(", ");
+                    }
+                    builder.append(typeToString(mTypeArguments[idx]));
+                }
+                builder.append('>');
+            }
+            return builder.toString();
+        }
+    }
+
+    private static final class GenericArrayTypeImpl implements GenericArrayType {
+
+        @NotNull
+        private final Type mComponentType;
+
+        GenericArrayTypeImpl(@NotNull Type componentType) {
+            mComponentType = componentType;
+        }
+
+        @Override
+        public Type getGenericComponentType() {
+            return mComponentType;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof GenericArrayType &&
+                   mComponentType.equals(((GenericArrayType) other).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return mComponentType.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return typeToString(mComponentType) + "[]";
+        }
+    }
+
+    private static final class WildcardTypeImpl implements WildcardType {
+
+        @NotNull
+        private final Type[] mUpperBounds;
+        @NotNull
+        private final Type[] mLowerBounds;
+
+        WildcardTypeImpl(@NotNull Type[] upperBounds, @NotNull Type[] lowerBounds) {
+            mUpperBounds = upperBounds;
+            mLowerBounds = lowerBounds;
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return mUpperBounds.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return mLowerBounds.clone();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof WildcardType &&
+                   Arrays.equals(mUpperBounds, ((WildcardType) other).getUpperBounds()) &&
+                   Arrays.equals(mLowerBounds, ((WildcardType) other).getLowerBounds());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(mUpperBounds) ^ Arrays.hashCode(mLowerBounds);
+        }
+
+        @Override
+        public String toString() {
+            if (mLowerBounds.length == 1) {
+                return "? super " + typeToString(mLowerBounds[0]);
+            }
+            return mUpperBounds[0] == Object.class ? "?" : "? extends " + typeToString(mUpperBounds[0]);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ * <p/>
+ * Copyright (c) 2016 Vimeo
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.vimeo.stag;
+
+import com.google.gson.TypeAdapter;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implemented by the {@link TypeAdapter}s which write each value as a JSON
+ * string, such as the adapters Stag generates for enums. The map adapters of
+ * {@link KnownTypeAdapters} write the keys of such adapters straight to the
+ * names of the object, rather than buffering them to find out what they write.
+ *
+ * @param <T> the type written by the adapter.
+ */
+public interface StringValueTypeAdapter<T> {
+
+    /**
+     * Returns the string the adapter writes for the provided value.
+     *
+     * @param value the value to convert, may be null.
+     * @return the string written for the value, null if the adapter writes a null.
+     */
+    @Nullable
+    String toStringValue(@Nullable T value);
+}
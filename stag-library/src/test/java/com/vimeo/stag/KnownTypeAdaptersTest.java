@@ -1,18 +1,33 @@
 package com.vimeo.stag;
 
+import com.google.gson.Gson;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.internal.bind.TypeAdapters;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
+import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class KnownTypeAdaptersTest {
 
@@ -204,4 +219,567 @@ public class KnownTypeAdaptersTest {
             Assert.assertEquals(jsonArray.get(i), readValue.get(i));
         }
     }
+
+    /**
+     * Test for {@link KnownTypeAdapters.PrimitiveIntegerArrayAdapter}
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForPrimitiveIntegerArrayAdapter() throws Exception {
+        //large enough to grow the buffer the array is read into several times
+        int[] value = new int[1000];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = i * 31 - 500;
+        }
+
+        StringWriter stringWriter = new StringWriter();
+        KnownTypeAdapters.PrimitiveIntegerArrayAdapter.write(new JsonWriter(stringWriter), value);
+        String jsonString = stringWriter.toString();
+
+        int[] readValue = KnownTypeAdapters.PrimitiveIntegerArrayAdapter.read(
+                new JsonReader(new StringReader(jsonString)));
+
+        Assert.assertArrayEquals(value, readValue);
+        Assert.assertArrayEquals(new int[0], KnownTypeAdapters.PrimitiveIntegerArrayAdapter.read(
+                new JsonReader(new StringReader("[]"))));
+        Assert.assertNull(KnownTypeAdapters.PrimitiveIntegerArrayAdapter.read(
+                new JsonReader(new StringReader("null"))));
+    }
+
+    /**
+     * Test for {@link KnownTypeAdapters.PrimitiveLongArrayAdapter},
+     * {@link KnownTypeAdapters.PrimitiveDoubleArrayAdapter} and
+     * {@link KnownTypeAdapters.PrimitiveByteArrayAdapter}
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForPrimitiveNumberArrayAdapters() throws Exception {
+        long[] longValue = {Long.MIN_VALUE, 0, Long.MAX_VALUE};
+        StringWriter stringWriter = new StringWriter();
+        KnownTypeAdapters.PrimitiveLongArrayAdapter.write(new JsonWriter(stringWriter), longValue);
+        Assert.assertArrayEquals(longValue, KnownTypeAdapters.PrimitiveLongArrayAdapter.read(
+                new JsonReader(new StringReader(stringWriter.toString()))));
+
+        double[] doubleValue = new double[17];
+        for (int i = 0; i < doubleValue.length; i++) {
+            doubleValue[i] = i / 3.0;
+        }
+        stringWriter = new StringWriter();
+        KnownTypeAdapters.PrimitiveDoubleArrayAdapter.write(new JsonWriter(stringWriter), doubleValue);
+        Assert.assertArrayEquals(doubleValue, KnownTypeAdapters.PrimitiveDoubleArrayAdapter.read(
+                new JsonReader(new StringReader(stringWriter.toString()))), 0);
+
+        byte[] byteValue = {Byte.MIN_VALUE, 0, Byte.MAX_VALUE};
+        stringWriter = new StringWriter();
+        KnownTypeAdapters.PrimitiveByteArrayAdapter.write(new JsonWriter(stringWriter), byteValue);
+        Assert.assertArrayEquals(byteValue, KnownTypeAdapters.PrimitiveByteArrayAdapter.read(
+                new JsonReader(new StringReader(stringWriter.toString()))));
+    }
+
+    /**
+     * Test for {@link KnownTypeAdapters.PrimitiveBooleanArrayAdapter}
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForPrimitiveBooleanArrayAdapter() throws Exception {
+        boolean[] readValue = KnownTypeAdapters.PrimitiveBooleanArrayAdapter.read(
+                new JsonReader(new StringReader("[true, false, \"true\"]")));
+
+        Assert.assertArrayEquals(new boolean[]{true, false, true}, readValue);
+    }
+
+    /**
+     * Test for {@link KnownTypeAdapters#INT_LIST}, {@link KnownTypeAdapters#LONG_LIST} and
+     * {@link KnownTypeAdapters#DOUBLE_LIST}
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForPrimitiveListTypeAdapters() throws Exception {
+        IntList intList = new IntList();
+        for (int i = 0; i < 100; i++) {
+            intList.addInt(i * i);
+        }
+
+        StringWriter stringWriter = new StringWriter();
+        KnownTypeAdapters.INT_LIST.write(new JsonWriter(stringWriter), intList);
+        IntList readIntList = KnownTypeAdapters.INT_LIST.read(new JsonReader(new StringReader(stringWriter.toString())));
+
+        Assert.assertEquals(intList, readIntList);
+        Assert.assertArrayEquals(intList.toIntArray(), readIntList.toIntArray());
+
+        LongList longList = new LongList(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE});
+        stringWriter = new StringWriter();
+        KnownTypeAdapters.LONG_LIST.write(new JsonWriter(stringWriter), longList);
+        LongList readLongList = KnownTypeAdapters.LONG_LIST.read(new JsonReader(new StringReader(stringWriter.toString())));
+
+        Assert.assertEquals(3, readLongList.size());
+        Assert.assertEquals(Long.MAX_VALUE, readLongList.getLong(2));
+        Assert.assertEquals(longList, readLongList);
+
+        DoubleList doubleList = new DoubleList(new double[]{1.5, -0.0, Double.NaN, Double.MAX_VALUE,
+                Double.MIN_VALUE, Double.NEGATIVE_INFINITY});
+        stringWriter = new StringWriter();
+        //NaN and the infinities are only written and read leniently, as Gson does
+        JsonWriter writer = new JsonWriter(stringWriter);
+        writer.setLenient(true);
+        KnownTypeAdapters.DOUBLE_LIST.write(writer, doubleList);
+        JsonReader reader = new JsonReader(new StringReader(stringWriter.toString()));
+        reader.setLenient(true);
+        DoubleList readDoubleList = KnownTypeAdapters.DOUBLE_LIST.read(reader);
+
+        Assert.assertEquals(6, readDoubleList.size());
+        Assert.assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(readDoubleList.getDouble(1)));
+        Assert.assertTrue(Double.isNaN(readDoubleList.getDouble(2)));
+        //the elements are compared as boxed Doubles, so NaN equals itself and -0.0 does not equal 0.0
+        Assert.assertEquals(doubleList, readDoubleList);
+        Assert.assertEquals(doubleList.hashCode(), readDoubleList.hashCode());
+        readDoubleList.setDouble(1, 0.0);
+        Assert.assertNotEquals(doubleList, readDoubleList);
+    }
+
+    /**
+     * Test for {@link KnownTypeAdapters.MapTypeAdapter#write(JsonWriter, Map)}
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForMapTypeAdapterWrite() throws Exception {
+        //keys written directly by a primitive key adapter
+        LinkedHashMap<Integer, String> integerKeys = new LinkedHashMap<>();
+        integerKeys.put(1, "one");
+        integerKeys.put(null, "none");
+        TypeAdapter<LinkedHashMap<Integer, String>> integerKeysAdapter =
+                new KnownTypeAdapters.MapTypeAdapter<>(KnownTypeAdapters.INTEGER, TypeAdapters.STRING,
+                                                       new KnownTypeAdapters.LinkedHashMapInstantiator<Integer, String>());
+        Assert.assertEquals("{\"1\":\"one\",\"null\":\"none\"}", integerKeysAdapter.toJson(integerKeys));
+
+        //floating point keys written directly, NaN and the infinities only if the writer is lenient
+        LinkedHashMap<Double, String> doubleKeys = new LinkedHashMap<>();
+        doubleKeys.put(1.5, "one and a half");
+        doubleKeys.put(Double.NaN, "not a number");
+        TypeAdapter<LinkedHashMap<Double, String>> doubleKeysAdapter =
+                new KnownTypeAdapters.MapTypeAdapter<>(KnownTypeAdapters.DOUBLE, TypeAdapters.STRING,
+                                                       new KnownTypeAdapters.LinkedHashMapInstantiator<Double, String>());
+        try {
+            doubleKeysAdapter.toJson(doubleKeys);
+            Assert.fail("NaN was written by a strict writer");
+        } catch (IllegalArgumentException expected) {
+            Assert.assertEquals("JSON forbids NaN and infinities: NaN", expected.getMessage());
+        }
+        StringWriter doubleKeysJson = new StringWriter();
+        JsonWriter lenientWriter = new JsonWriter(doubleKeysJson);
+        lenientWriter.setLenient(true);
+        doubleKeysAdapter.write(lenientWriter, doubleKeys);
+        Assert.assertEquals("{\"1.5\":\"one and a half\",\"NaN\":\"not a number\"}", doubleKeysJson.toString());
+
+        LinkedHashMap<Float, String> floatKeys = new LinkedHashMap<>();
+        floatKeys.put(0.25f, "a quarter");
+        floatKeys.put(null, "none");
+        TypeAdapter<LinkedHashMap<Float, String>> floatKeysAdapter =
+                new KnownTypeAdapters.MapTypeAdapter<>(KnownTypeAdapters.FLOAT, TypeAdapters.STRING,
+                                                       new KnownTypeAdapters.LinkedHashMapInstantiator<Float, String>());
+        Assert.assertEquals("{\"0.25\":\"a quarter\",\"null\":\"none\"}", floatKeysAdapter.toJson(floatKeys));
+
+        //keys written directly by their string values, without writing them with the key adapter
+        LinkedHashMap<Boolean, Integer> answerKeys = new LinkedHashMap<>();
+        answerKeys.put(true, 1);
+        answerKeys.put(false, 0);
+        answerKeys.put(null, -1);
+        TypeAdapter<LinkedHashMap<Boolean, Integer>> answerKeysAdapter =
+                new KnownTypeAdapters.MapTypeAdapter<>(new AnswerTypeAdapter(), KnownTypeAdapters.INTEGER,
+                                                       new KnownTypeAdapters.LinkedHashMapInstantiator<Boolean, Integer>());
+        Assert.assertEquals("{\"yes\":1,\"no\":0,\"null\":-1}", answerKeysAdapter.toJson(answerKeys));
+
+        //keys captured from any other key adapter writing primitives
+        TypeAdapter<Integer> hexAdapter = new TypeAdapter<Integer>() {
+            @Override
+            public void write(JsonWriter out, Integer value) throws IOException {
+                out.value(Integer.toHexString(value));
+            }
+
+            @Override
+            public Integer read(JsonReader in) throws IOException {
+                return Integer.parseInt(in.nextString(), 16);
+            }
+        };
+        LinkedHashMap<Integer, Double> hexKeys = new LinkedHashMap<>();
+        hexKeys.put(255, 1.5);
+        hexKeys.put(16, 2.0);
+        TypeAdapter<LinkedHashMap<Integer, Double>> hexKeysAdapter =
+                new KnownTypeAdapters.MapTypeAdapter<>(hexAdapter, KnownTypeAdapters.DOUBLE,
+                                                       new KnownTypeAdapters.LinkedHashMapInstantiator<Integer, Double>());
+        Assert.assertEquals("{\"ff\":1.5,\"10\":2.0}", hexKeysAdapter.toJson(hexKeys));
+
+        //complex keys are written as an array of entries
+        TypeAdapter<ArrayList<Integer>> listAdapter =
+                new KnownTypeAdapters.ListTypeAdapter<>(KnownTypeAdapters.INTEGER,
+                                                        new KnownTypeAdapters.ArrayListInstantiator<Integer>());
+        LinkedHashMap<ArrayList<Integer>, Integer> complexKeys = new LinkedHashMap<>();
+        complexKeys.put(Utils.createIntegerDummyList(), 1);
+        TypeAdapter<LinkedHashMap<ArrayList<Integer>, Integer>> complexKeysAdapter =
+                new KnownTypeAdapters.MapTypeAdapter<>(listAdapter, KnownTypeAdapters.INTEGER,
+                                                       new KnownTypeAdapters.LinkedHashMapInstantiator<ArrayList<Integer>, Integer>());
+        String complexJson = complexKeysAdapter.toJson(complexKeys);
+        Assert.assertEquals("[[" + listAdapter.toJson(Utils.createIntegerDummyList()) + ",1]]", complexJson);
+        Assert.assertEquals(complexKeys, complexKeysAdapter.fromJson(complexJson));
+    }
+
+    /**
+     * Writes booleans as "yes" and "no", only through {@link #toStringValue(Boolean)}.
+     */
+    private static final class AnswerTypeAdapter extends TypeAdapter<Boolean>
+            implements StringValueTypeAdapter<Boolean> {
+
+        @Override
+        public String toStringValue(Boolean value) {
+            return null == value ? null : value ? "yes" : "no";
+        }
+
+        @Override
+        public void write(JsonWriter out, Boolean value) throws IOException {
+            throw new AssertionError("The key was written with the key adapter");
+        }
+
+        @Override
+        public Boolean read(JsonReader in) throws IOException {
+            return "yes".equals(in.nextString());
+        }
+    }
+
+    /**
+     * Test for {@link KnownTypeAdapters.ArrayTypeAdapter}, including arrays nested in arrays
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForArrayTypeAdapter() throws Exception {
+        TypeAdapter<String[]> stringArrayAdapter =
+                new KnownTypeAdapters.ArrayTypeAdapter<>(TypeAdapters.STRING,
+                                                         new KnownTypeAdapters.PrimitiveArrayConstructor<String>() {
+                                                             @Override
+                                                             public String[] construct(int size) {
+                                                                 return new String[size];
+                                                             }
+                                                         });
+        TypeAdapter<String[][]> nestedArrayAdapter =
+                new KnownTypeAdapters.ArrayTypeAdapter<>(stringArrayAdapter,
+                                                         new KnownTypeAdapters.PrimitiveArrayConstructor<String[]>() {
+                                                             @Override
+                                                             public String[][] construct(int size) {
+                                                                 return new String[size][];
+                                                             }
+                                                         });
+
+        String[][] value = new String[40][];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = new String[i];
+            for (int j = 0; j < i; j++) {
+                value[i][j] = i + "." + j;
+            }
+        }
+
+        String jsonString = nestedArrayAdapter.toJson(value);
+        Assert.assertArrayEquals(value, nestedArrayAdapter.fromJson(jsonString));
+
+        //a failed read must not prevent the following ones
+        try {
+            stringArrayAdapter.fromJson("[\"a\", {}]");
+            Assert.fail();
+        } catch (Exception expected) {
+        }
+        Assert.assertArrayEquals(new String[]{"a", "b"}, stringArrayAdapter.fromJson("[\"a\", \"b\"]"));
+        Assert.assertArrayEquals(new String[0], stringArrayAdapter.fromJson("[]"));
+    }
+
+    /**
+     * Test that {@link KnownTypeAdapters.ArrayTypeAdapter} does not keep the elements of an array
+     * larger than the buffer it keeps for the thread reachable after reading it
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testForArrayTypeAdapter_doesNotRetainElements() throws Exception {
+        final List<WeakReference<Object>> elements = new ArrayList<>();
+        TypeAdapter<Object> elementAdapter = new TypeAdapter<Object>() {
+            @Override
+            public void write(JsonWriter out, Object value) throws IOException {
+                out.value(0);
+            }
+
+            @Override
+            public Object read(JsonReader in) throws IOException {
+                in.skipValue();
+                Object element = new Object();
+                elements.add(new WeakReference<>(element));
+                return element;
+            }
+        };
+        TypeAdapter<Object[]> arrayAdapter =
+                new KnownTypeAdapters.ArrayTypeAdapter<>(elementAdapter,
+                                                         new KnownTypeAdapters.PrimitiveArrayConstructor<Object>() {
+                                                             @Override
+                                                             public Object[] construct(int size) {
+                                                                 return new Object[size];
+                                                             }
+                                                         });
+
+        StringBuilder json = new StringBuilder("[0");
+        for (int i = 1; i < 10000; i++) {
+            json.append(",0");
+        }
+        json.append(']');
+        Assert.assertEquals(10000, arrayAdapter.fromJson(json.toString()).length);
+
+        for (int i = 0; i < 50 && !isCleared(elements); i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertTrue(isCleared(elements));
+    }
+
+    private static boolean isCleared(@NotNull List<WeakReference<Object>> references) {
+        for (WeakReference<Object> reference : references) {
+            if (null != reference.get()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    public void testForObjectTypeAdapterWrite() throws Exception {
+        KnownTypeAdapters.ObjectTypeAdapter objectTypeAdapter = new KnownTypeAdapters.ObjectTypeAdapter(new Gson());
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("string", "value");
+        map.put("integer", 1);
+        map.put("boolean", true);
+        map.put("list", Arrays.asList(1.5, "two"));
+
+        //the cached adapters are used for every subsequent write
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("null", objectTypeAdapter.toJson(null));
+            Assert.assertEquals("\"value\"", objectTypeAdapter.toJson("value"));
+            Assert.assertEquals("2", objectTypeAdapter.toJson(2));
+            Assert.assertEquals("{}", objectTypeAdapter.toJson(new Object()));
+            Assert.assertEquals("{\"string\":\"value\",\"integer\":1,\"boolean\":true,\"list\":[1.5,\"two\"]}",
+                                objectTypeAdapter.toJson(map));
+        }
+
+        //values of classes beyond the cache capacity are still written
+        for (int i = 1; i <= KnownTypeAdapters.ObjectTypeAdapter.MAX_CACHED_TYPE_ADAPTERS; i++) {
+            Object value = Array.newInstance(Integer.class, new int[i]);
+            Assert.assertEquals("[]", objectTypeAdapter.toJson(value));
+        }
+        Assert.assertEquals("[1]", objectTypeAdapter.toJson(new long[]{1L}));
+        Assert.assertEquals("[\"a\"]", objectTypeAdapter.toJson(new String[]{"a"}));
+    }
+
+    @Test
+    public void testForObjectTypeAdapterRead() throws Exception {
+        String jsonString = "{\"int\":1,\"long\":12345678901,\"double\":1.5,\"exponent\":1e2," +
+                            "\"large\":123456789012345678901,\"list\":[1,\"a\",null,true],\"nested\":{\"a\":{}}}";
+
+        Object value = new KnownTypeAdapters.ObjectTypeAdapter(new Gson()).fromJson(jsonString);
+        Map<?, ?> map = (Map<?, ?>) value;
+        Assert.assertEquals(1.0, map.get("int"));
+        Assert.assertEquals(1.5, map.get("double"));
+
+        KnownTypeAdapters.ObjectTypeAdapter compactAdapter = new KnownTypeAdapters.ObjectTypeAdapter(new Gson(), true);
+        Map<?, ?> compactMap = (Map<?, ?>) compactAdapter.fromJson(jsonString);
+        Assert.assertTrue(compactMap instanceof KnownTypeAdapters.CompactMap);
+        Assert.assertEquals(1L, compactMap.get("int"));
+        Assert.assertEquals(12345678901L, compactMap.get("long"));
+        Assert.assertEquals(1.5, compactMap.get("double"));
+        Assert.assertEquals(100.0, compactMap.get("exponent"));
+        Assert.assertEquals(1.2345678901234568E20, compactMap.get("large"));
+        Assert.assertEquals(Arrays.asList(1L, "a", null, true), compactMap.get("list"));
+        Assert.assertEquals(new ArrayList<>(Arrays.asList("int", "long", "double", "exponent", "large", "list", "nested")),
+                            new ArrayList<>(compactMap.keySet()));
+        Assert.assertEquals("{\"int\":1,\"long\":12345678901,\"double\":1.5,\"exponent\":100.0," +
+                            "\"large\":1.2345678901234568E20,\"list\":[1,\"a\",null,true],\"nested\":{\"a\":{}}}",
+                            compactAdapter.toJson(compactMap));
+
+        //larger objects are read into regular maps
+        StringBuilder largeObject = new StringBuilder("{");
+        for (int i = 0; i <= KnownTypeAdapters.CompactMap.MAX_COMPACT_SIZE; i++) {
+            largeObject.append(i == 0 ? "" : ",").append("\"key").append(i).append("\":").append(i);
+        }
+        Map<?, ?> largeMap = (Map<?, ?>) compactAdapter.fromJson(largeObject.append("}").toString());
+        Assert.assertFalse(largeMap instanceof KnownTypeAdapters.CompactMap);
+        Assert.assertEquals(KnownTypeAdapters.CompactMap.MAX_COMPACT_SIZE + 1, largeMap.size());
+        Assert.assertEquals(0L, largeMap.get("key0"));
+
+        //compact maps are regular mutable maps
+        Map<String, Object> expected = new LinkedHashMap<>();
+        Map<String, Object> actual = new KnownTypeAdapters.CompactMap();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(expected.put("key" + i % 7, i), actual.put("key" + i % 7, i));
+        }
+        Assert.assertEquals(expected.remove("key3"), actual.remove("key3"));
+        Assert.assertNull(actual.remove("missing"));
+        Iterator<Map.Entry<String, Object>> iterator = actual.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Object> entry = iterator.next();
+            if (entry.getKey().equals("key1")) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getKey());
+                expected.put(entry.getKey(), entry.getKey());
+            }
+        }
+        expected.remove("key1");
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.hashCode(), actual.hashCode());
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        actual.clear();
+        Assert.assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void testForJsonElementTypeAdaptersRead() throws Exception {
+        String jsonString = "[{\"a\":[1,{\"b\":null}],\"c\":\"d\"},[1,2.5,\"e\",true,null,{}],\"f\",3,false,null]";
+        JsonArray expected = new JsonParser().parse(jsonString).getAsJsonArray();
+
+        List<TypeAdapter<? extends JsonElement>> typeAdapters = Arrays.asList(KnownTypeAdapters.JSON_OBJECT_TYPE_ADAPTER,
+                                                                            KnownTypeAdapters.JSON_ARRAY_TYPE_ADAPTER,
+                                                                            KnownTypeAdapters.JSON_PRIMITIVE_TYPE_ADAPTER,
+                                                                            KnownTypeAdapters.JSON_NULL_TYPE_ADAPTER);
+        for (TypeAdapter<? extends JsonElement> typeAdapter : typeAdapters) {
+            JsonReader reader = new JsonReader(new StringReader(jsonString));
+            reader.beginArray();
+            for (JsonElement expectedElement : expected) {
+                JsonElement readValue = typeAdapter.read(reader);
+                //mismatched values are skipped, and the following ones are still read
+                boolean matches = (typeAdapter == KnownTypeAdapters.JSON_OBJECT_TYPE_ADAPTER && expectedElement.isJsonObject()) ||
+                                  (typeAdapter == KnownTypeAdapters.JSON_ARRAY_TYPE_ADAPTER && expectedElement.isJsonArray()) ||
+                                  (typeAdapter == KnownTypeAdapters.JSON_PRIMITIVE_TYPE_ADAPTER && expectedElement.isJsonPrimitive());
+                Assert.assertEquals(matches ? expectedElement : null, readValue);
+            }
+            reader.endArray();
+            Assert.assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+        }
+    }
+
+    @Test
+    public void testForLazyValueTypeAdapter() throws Exception {
+        TypeAdapter<LazyValue<List<Integer>>> lazyTypeAdapter = new KnownTypeAdapters.LazyValueTypeAdapter<>(
+                new KnownTypeAdapters.ListTypeAdapter<>(KnownTypeAdapters.INTEGER, new KnownTypeAdapters.ListInstantiator<Integer>()));
+        TypeAdapter<List<LazyValue<List<Integer>>>> listTypeAdapter = new KnownTypeAdapters.ListTypeAdapter<>(lazyTypeAdapter,
+                new KnownTypeAdapters.ListInstantiator<LazyValue<List<Integer>>>());
+
+        List<LazyValue<List<Integer>>> values = listTypeAdapter.fromJson("[[1, 2],\n[ ],null,{\"a\": [true, \"b\", null, 1.50]}]");
+        Assert.assertEquals(4, values.size());
+        Assert.assertNull(values.get(2));
+
+        //undecoded values are written back as they were read
+        Assert.assertFalse(values.get(0).isDecoded());
+        Assert.assertEquals("[[1,2],[],null,{\"a\":[true,\"b\",null,1.50]}]", listTypeAdapter.toJson(values));
+
+        Assert.assertEquals(Arrays.asList(1, 2), values.get(0).get());
+        Assert.assertTrue(values.get(0).isDecoded());
+        Assert.assertTrue(values.get(1).get().isEmpty());
+        //mismatched values are decoded like the value adapter reads them
+        Assert.assertNull(values.get(3).get());
+
+        values.get(0).get().add(3);
+        values.set(1, LazyValue.of(Collections.singletonList(4)));
+        values.set(2, LazyValue.<List<Integer>>of(null));
+        Assert.assertEquals("[[1,2,3],[4],null,null]", listTypeAdapter.toJson(values));
+
+        //malformed JSON is only reported when the value is decoded
+        LazyValue<List<Integer>> malformed = lazyTypeAdapter.fromJson("[1, \"a\"]");
+        Assert.assertFalse(malformed.isDecoded());
+        try {
+            malformed.get();
+            Assert.fail();
+        } catch (JsonSyntaxException expected) {
+        }
+    }
+
+    @Test
+    public void testForLazyValueTypeAdapter_lenient() throws Exception {
+        TypeAdapter<LazyValue<Double>> lazyTypeAdapter =
+                new KnownTypeAdapters.LazyValueTypeAdapter<>(KnownTypeAdapters.DOUBLE);
+
+        //the values read leniently, as Gson reads them, are decoded as leniently
+        JsonReader reader = new JsonReader(new StringReader("NaN"));
+        reader.setLenient(true);
+        LazyValue<Double> value = lazyTypeAdapter.read(reader);
+        Assert.assertFalse(value.isDecoded());
+
+        Assert.assertTrue(Double.isNaN(value.get()));
+
+        //the values written back before they are decoded are decoded as leniently
+        reader = new JsonReader(new StringReader("-Infinity"));
+        reader.setLenient(true);
+        value = lazyTypeAdapter.read(reader);
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        writer.setLenient(true);
+        lazyTypeAdapter.write(writer, value);
+        reader = new JsonReader(new StringReader(stringWriter.toString()));
+        reader.setLenient(true);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, lazyTypeAdapter.read(reader).get(), 0);
+    }
+
+    @Test
+    public void testForFieldProjection() throws Exception {
+        FieldProjection projection = FieldProjection.of("a", "b.c", "b.d.e", "f.g", "f");
+        Assert.assertSame(FieldProjection.ALL, projection.get("a"));
+        Assert.assertSame(FieldProjection.ALL, projection.get("f"));
+        Assert.assertNull(projection.get("c"));
+        Assert.assertSame(FieldProjection.ALL, projection.get("b").get("c"));
+        Assert.assertSame(FieldProjection.ALL, projection.get("b").get("d").get("e"));
+        Assert.assertNull(projection.get("b").get("e"));
+        Assert.assertSame(FieldProjection.ALL, FieldProjection.ALL.get("a"));
+
+        try {
+            FieldProjection.of("a.");
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // Reads the names of the object which are selected
+        ProjectableTypeAdapter<List<String>> namesTypeAdapter = new ProjectableTypeAdapter<List<String>>() {
+            @Override
+            public List<String> read(JsonReader reader, @NotNull FieldProjection projection) throws IOException {
+                List<String> names = new ArrayList<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (null != projection.get(name)) {
+                        names.add(name);
+                    }
+                    reader.skipValue();
+                }
+                reader.endObject();
+                return names;
+            }
+
+            @Override
+            public void write(JsonWriter out, List<String> value) throws IOException {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        TypeAdapter<List<List<String>>> listTypeAdapter = FieldProjection.of("a", "c").apply(
+                new KnownTypeAdapters.ListTypeAdapter<>(namesTypeAdapter, new KnownTypeAdapters.ListInstantiator<List<String>>()));
+        Assert.assertEquals(Arrays.asList(Arrays.asList("a", "c"), Collections.singletonList("a")),
+                            listTypeAdapter.fromJson("[{\"a\": 1, \"b\": 2, \"c\": 3}, {\"a\": [], \"d\": {}}]"));
+
+        TypeAdapter<Map<String, List<String>>> mapTypeAdapter = FieldProjection.of("b").apply(
+                new KnownTypeAdapters.MapTypeAdapter<>(TypeAdapters.STRING, namesTypeAdapter,
+                                                       new KnownTypeAdapters.MapInstantiator<String, List<String>>()));
+        Assert.assertEquals(Collections.singletonList("b"),
+                            mapTypeAdapter.fromJson("{\"x\": {\"a\": 1, \"b\": 2}}").get("x"));
+
+        Assert.assertEquals(Arrays.asList("a", "b"), namesTypeAdapter.fromJson("{\"a\": 1, \"b\": 2}"));
+        Assert.assertSame(namesTypeAdapter, FieldProjection.ALL.apply(namesTypeAdapter));
+        Assert.assertSame(TypeAdapters.STRING, FieldProjection.of("a").apply(TypeAdapters.STRING));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.vimeo.stag;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.TypeAdapters;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class StagParallelTest {
+
+    private static final int COUNT = 50000;
+
+    private static final TypeAdapter<List<String>> LIST_TYPE_ADAPTER =
+            new KnownTypeAdapters.ListTypeAdapter<>(TypeAdapters.STRING, new KnownTypeAdapters.ListInstantiator<String>());
+
+    /**
+     * Returns the values read from the JSON, which contain the
+     * characters delimiting the values of arrays and lines.
+     */
+    private static List<List<String>> getValues() {
+        List<List<String>> values = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            List<String> value = new ArrayList<>();
+            value.add(String.valueOf(i));
+            value.add(i % 2 == 0 ? "],[\"," : "\\\n{");
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Test
+    public void testReadArray_readsElementsInOrder() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<List<String>> values = getValues();
+            TypeAdapter<List<List<String>>> typeAdapter =
+                    new KnownTypeAdapters.ListTypeAdapter<>(LIST_TYPE_ADAPTER, new KnownTypeAdapters.ListInstantiator<List<String>>());
+            String json = ' ' + typeAdapter.toJson(values) + '\n';
+            Assert.assertTrue(json.length() > 4 * 64 * 1024);
+
+            Assert.assertEquals(values, StagParallel.readArray(json, LIST_TYPE_ADAPTER, pool));
+            Assert.assertEquals(Collections.emptyList(), StagParallel.readArray("[ ]", LIST_TYPE_ADAPTER, pool));
+            Assert.assertEquals(Collections.singletonList(null), StagParallel.readArray("[null]", LIST_TYPE_ADAPTER, pool));
+
+            for (String invalidJson : new String[]{"", "{}", "[[]", "[[]]]", "[[],]", json.substring(0, json.length() / 2) + ']'}) {
+                try {
+                    StagParallel.readArray(invalidJson, LIST_TYPE_ADAPTER, pool);
+                    Assert.fail(invalidJson);
+                } catch (JsonSyntaxException expected) {
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadLines_readsValuesInOrder() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<List<String>> values = getValues();
+            StringBuilder json = new StringBuilder();
+            for (List<String> value : values) {
+                json.append(LIST_TYPE_ADAPTER.toJson(value)).append('\n');
+            }
+            Assert.assertTrue(json.length() > 4 * 64 * 1024);
+
+            Assert.assertEquals(values, StagParallel.readLines(json.toString(), LIST_TYPE_ADAPTER, pool));
+            Assert.assertEquals(values.subList(0, 2),
+                                StagParallel.readLines(json.substring(0, json.indexOf("\n[\"2\"") + 1) + "\n \n",
+                                                       LIST_TYPE_ADAPTER, pool));
+            Assert.assertEquals(Collections.emptyList(), StagParallel.readLines("", LIST_TYPE_ADAPTER, pool));
+
+            try {
+                StagParallel.readLines("[\"a\"]\n[\"b\"", LIST_TYPE_ADAPTER, pool);
+                Assert.fail();
+            } catch (RuntimeException expected) {
+            }
+
+            //the lines are read strictly, and hold a single value each
+            for (String malformed : new String[]{"[\"a\"]\n['b']\n", "[\"a\"] [\"b\"]\n", "[\"a\"]\n[b]"}) {
+                try {
+                    StagParallel.readLines(malformed, LIST_TYPE_ADAPTER, pool);
+                    Assert.fail(malformed);
+                } catch (JsonSyntaxException expected) {
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.vimeo.stag;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.TypeAdapters;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class StagStreamsTest {
+
+    private static <T> List<T> readAll(String json, TypeAdapter<T> typeAdapter, String path) {
+        List<T> values = new ArrayList<>();
+        Iterator<T> iterator = StagStreams.iterate(new JsonReader(new StringReader(json)), typeAdapter, path);
+        while (iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        return values;
+    }
+
+    @Test
+    public void testIterate_readsTopLevelArray() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("[1, 2, null, 3]"));
+        Iterator<Integer> iterator = StagStreams.iterate(reader, KnownTypeAdapters.INTEGER);
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(Integer.valueOf(1), iterator.next());
+        Assert.assertEquals(Integer.valueOf(2), iterator.next());
+        Assert.assertNull(iterator.next());
+        Assert.assertEquals(Integer.valueOf(3), iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+        reader.close();
+
+        Assert.assertEquals(Collections.emptyList(), readAll("[]", KnownTypeAdapters.INTEGER, "$"));
+        Assert.assertEquals(Collections.emptyList(), readAll("null", KnownTypeAdapters.INTEGER, "$"));
+    }
+
+    @Test
+    public void testIterate_readsArrayAtPath() throws Exception {
+        String json = "{\"paging\": {\"next\": [5]}, \"page\": {\"data\": [9]}, \"data\": [\"a\", \"b\"], \"total\": 2}";
+        Assert.assertEquals(Arrays.asList("a", "b"), readAll(json, TypeAdapters.STRING, "$.data"));
+        Assert.assertEquals(Collections.singletonList("9"), readAll(json, TypeAdapters.STRING, "$.page.data"));
+        Assert.assertEquals(Collections.emptyList(), readAll(json, TypeAdapters.STRING, "$.missing"));
+        Assert.assertEquals(Collections.emptyList(), readAll(json, TypeAdapters.STRING, "$.data.missing"));
+        Assert.assertEquals(Collections.emptyList(), readAll("{\"data\": null}", TypeAdapters.STRING, "$.data"));
+
+        // The rest of the JSON can still be read once the array is read
+        JsonReader reader = new JsonReader(new StringReader(json));
+        Iterator<String> iterator = StagStreams.iterate(reader, TypeAdapters.STRING, "$.data");
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        Assert.assertEquals("total", reader.nextName());
+        Assert.assertEquals(2, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    public void testIterate_failsOnInvalidInput() throws Exception {
+        try {
+            readAll("{\"data\": {}}", TypeAdapters.STRING, "$.data");
+            Assert.fail();
+        } catch (JsonSyntaxException expected) {
+        }
+
+        try {
+            readAll("[1, 2", KnownTypeAdapters.INTEGER, "$");
+            Assert.fail();
+        } catch (RuntimeException expected) {
+        }
+
+        for (String path : new String[]{"", "data", "$.", "$..data", "$data"}) {
+            try {
+                StagStreams.iterate(new JsonReader(new StringReader("[]")), TypeAdapters.STRING, path);
+                Assert.fail(path);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+}
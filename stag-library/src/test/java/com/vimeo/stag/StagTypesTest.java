@@ -0,0 +1,66 @@
+package com.vimeo.stag;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class StagTypesTest {
+
+    private static void assertSameType(Type expected, Type actual) {
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(actual, expected);
+        Assert.assertEquals(expected.hashCode(), actual.hashCode());
+        Assert.assertEquals(TypeToken.get(expected), TypeToken.get(actual));
+    }
+
+    @Test
+    public void testNewParameterizedType_equalsTypeOfTypeToken() throws Exception {
+        assertSameType(new TypeToken<List<String>>() {}.getType(),
+                       StagTypes.newParameterizedType(List.class, String.class));
+        assertSameType(new TypeToken<Map<String, List<Integer>>>() {}.getType(),
+                       StagTypes.newParameterizedType(Map.class, String.class,
+                                                      StagTypes.newParameterizedType(List.class, Integer.class)));
+        assertSameType(new TypeToken<Map.Entry<String, Integer>>() {}.getType(),
+                       StagTypes.newParameterizedType(Map.Entry.class, String.class, Integer.class));
+        Assert.assertEquals("java.util.Map<java.lang.String, java.util.List<java.lang.Integer>>",
+                            StagTypes.newParameterizedType(Map.class, String.class,
+                                                           StagTypes.newParameterizedType(List.class,
+                                                                                          Integer.class))
+                                    .toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNewParameterizedType_wrongTypeArgumentCount_throwsException() throws Exception {
+        StagTypes.newParameterizedType(Map.class, String.class);
+    }
+
+    @Test
+    public void testArrayOf_equalsTypeOfTypeToken() throws Exception {
+        assertSameType(new TypeToken<List<String>[]>() {}.getType(),
+                       StagTypes.arrayOf(StagTypes.newParameterizedType(List.class, String.class)));
+    }
+
+    @Test
+    public void testWildcards_equalTypesOfTypeToken() throws Exception {
+        assertSameType(new TypeToken<List<? extends Number>>() {}.getType(),
+                       StagTypes.newParameterizedType(List.class, StagTypes.subtypeOf(Number.class)));
+        assertSameType(new TypeToken<List<? super Integer>>() {}.getType(),
+                       StagTypes.newParameterizedType(List.class, StagTypes.supertypeOf(Integer.class)));
+        assertSameType(new TypeToken<List<?>>() {}.getType(),
+                       StagTypes.newParameterizedType(List.class, StagTypes.subtypeOf(Object.class)));
+    }
+
+    @Test
+    public void testNewParameterizedType_getsAdapterFromGson() throws Exception {
+        Gson gson = new Gson();
+        TypeToken<?> typeToken = TypeToken.get(StagTypes.newParameterizedType(List.class, Integer.class));
+        Assert.assertEquals(Arrays.asList(1, 2), gson.getAdapter(typeToken).fromJson("[1, 2]"));
+    }
+}